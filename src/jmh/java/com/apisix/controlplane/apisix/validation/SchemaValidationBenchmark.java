@@ -0,0 +1,83 @@
+package com.apisix.controlplane.apisix.validation;
+
+import com.apisix.controlplane.apisix.model.RouteSpec;
+import com.apisix.controlplane.apisix.model.UpstreamSpec;
+import com.apisix.controlplane.benchmark.BenchmarkSpecs;
+import com.apisix.controlplane.benchmark.BenchmarkSpecs.SpecSize;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validating specs against the default APISIX schemas, with the validation result cache off (every call
+ * validates) and on (every call after the first is a hash and a cache hit).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SchemaValidationBenchmark {
+
+    @Param({"SMALL", "LARGE", "HUGE"})
+    private SpecSize size;
+
+    @Param({"false", "true"})
+    private boolean cache;
+
+    private ForkJoinPool pool;
+    private ApisixSchemaValidator validator;
+    private RouteSpec route;
+    private UpstreamSpec upstream;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = BenchmarkSpecs.objectMapper();
+        ApisixSchemaRegistry registry = new ApisixSchemaRegistry(objectMapper, new DefaultResourceLoader(),
+                "3.14", List.of("3.14=classpath:/control_plane_schema.json"), "");
+        pool = new ForkJoinPool(1);
+        validator = new ApisixSchemaValidator(registry, objectMapper, pool, 100, false,
+                cache, 50_000, 3_600_000);
+        route = BenchmarkSpecs.route(size);
+        upstream = BenchmarkSpecs.upstream(size);
+
+        // Compiles the schemas outside the measurement, and keeps the fixtures on the valid path
+        List<String> errors = new ArrayList<>(validator.validateRoute(route));
+        errors.addAll(validator.validateUpstream(upstream));
+        if (!errors.isEmpty()) {
+            throw new IllegalStateException(size + " fixtures are not valid APISIX specs: " + errors);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public List<String> validateRoute() {
+        return validator.validateRoute(route);
+    }
+
+    @Benchmark
+    public List<String> validateUpstream() {
+        return validator.validateUpstream(upstream);
+    }
+}
@@ -0,0 +1,265 @@
+package com.apisix.controlplane.benchmark;
+
+import com.apisix.controlplane.apisix.model.HealthCheck;
+import com.apisix.controlplane.apisix.model.KeepalivePool;
+import com.apisix.controlplane.apisix.model.RouteSpec;
+import com.apisix.controlplane.apisix.model.ServiceSpec;
+import com.apisix.controlplane.apisix.model.TimeoutConfig;
+import com.apisix.controlplane.apisix.model.UpstreamNode;
+import com.apisix.controlplane.apisix.model.UpstreamSpec;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Spec fixtures shared by the benchmarks. Every spec is valid against the default APISIX schemas, so the
+ * benchmarks measure the paths taken by real deploys rather than early validation failures.
+ * <p>
+ * SMALL is a typical hand-written route, LARGE one generated from an OpenAPI document with a handful of
+ * plugins, and HUGE the biggest specs seen in practice (hundreds of hosts, CIDRs and upstream nodes).
+ */
+public final class BenchmarkSpecs {
+
+    public enum SpecSize { SMALL, LARGE, HUGE }
+
+    private BenchmarkSpecs() {
+    }
+
+    /**
+     * An ObjectMapper configured like the application's (Spring Boot's defaults).
+     */
+    public static ObjectMapper objectMapper() {
+        return Jackson2ObjectMapperBuilder.json().build();
+    }
+
+    public static RouteSpec route(SpecSize size) {
+        return switch (size) {
+            case SMALL -> RouteSpec.builder()
+                    .name("list-orders")
+                    .uri("/v1/orders")
+                    .methods(List.of("GET"))
+                    .serviceId("svc-orders")
+                    .plugins(plugins(Map.of("limit-count", limitCount())))
+                    .build();
+            case LARGE -> RouteSpec.builder()
+                    .name("GET /v1/Orders/{orderId}/Items (legacy)")
+                    .desc("Order items, proxied to the legacy order service")
+                    .labels(labels(5))
+                    .uri("/v1/orders/*")
+                    .methods(List.of("GET"))
+                    .hosts(hosts(5))
+                    .vars(vars(5))
+                    .serviceId("svc-orders")
+                    .priority(10)
+                    .timeout(TimeoutConfig.builder().connect(3.0).read(30.0).send(30.0).build())
+                    .plugins(largePlugins(10))
+                    .build();
+            case HUGE -> RouteSpec.builder()
+                    .name("GET /v1/Orders/{orderId}/Items/{itemId}/Fulfilments (partner gateway, all regions)")
+                    .desc("Partner fulfilment lookups across every regional host")
+                    .labels(labels(20))
+                    .uri("/v1/orders/*")
+                    .methods(List.of("POST"))
+                    .hosts(hosts(200))
+                    .remoteAddrs(cidrs(100))
+                    .vars(vars(50))
+                    .serviceId("svc-orders")
+                    .priority(10)
+                    .enableWebsocket(false)
+                    .timeout(TimeoutConfig.builder().connect(3.0).read(60.0).send(60.0).build())
+                    .plugins(hugePlugins())
+                    .build();
+        };
+    }
+
+    public static ServiceSpec service(SpecSize size) {
+        return switch (size) {
+            case SMALL -> ServiceSpec.builder()
+                    .name("orders")
+                    .plugins(plugins(Map.of("prometheus", Map.of())))
+                    .build();
+            case LARGE -> ServiceSpec.builder()
+                    .name("orders")
+                    .desc("Order management")
+                    .labels(labels(5))
+                    .hosts(hosts(5))
+                    .plugins(largePlugins(10))
+                    .build();
+            case HUGE -> ServiceSpec.builder()
+                    .name("orders")
+                    .desc("Order management, all regions")
+                    .labels(labels(20))
+                    .hosts(hosts(200))
+                    .enableWebsocket(false)
+                    .plugins(hugePlugins())
+                    .build();
+        };
+    }
+
+    public static UpstreamSpec upstream(SpecSize size) {
+        return switch (size) {
+            case SMALL -> UpstreamSpec.builder()
+                    .name("orders")
+                    .type("roundrobin")
+                    .nodes(nodes(1))
+                    .build();
+            case LARGE -> UpstreamSpec.builder()
+                    .name("orders")
+                    .desc("Order service pods")
+                    .labels(labels(5))
+                    .type("roundrobin")
+                    .scheme("http")
+                    .passHost("pass")
+                    .nodes(nodes(10))
+                    .retries(2)
+                    .timeout(TimeoutConfig.builder().connect(3.0).read(30.0).send(30.0).build())
+                    .keepalivePool(KeepalivePool.builder().idleTimeout(60.0).requests(1000).size(320).build())
+                    .checks(healthChecks())
+                    .build();
+            case HUGE -> UpstreamSpec.builder()
+                    .name("orders")
+                    .desc("Order service pods, all regions")
+                    .labels(labels(20))
+                    .type("chash")
+                    .hashOn("header")
+                    .key("x-tenant-id")
+                    .scheme("http")
+                    .passHost("pass")
+                    .nodes(nodes(300))
+                    .retries(3)
+                    .retryTimeout(10.0)
+                    .timeout(TimeoutConfig.builder().connect(3.0).read(60.0).send(60.0).build())
+                    .keepalivePool(KeepalivePool.builder().idleTimeout(60.0).requests(1000).size(320).build())
+                    .checks(healthChecks())
+                    .build();
+        };
+    }
+
+    private static Map<String, Object> largePlugins(int headers) {
+        Map<String, Object> plugins = new LinkedHashMap<>();
+        plugins.put("limit-count", limitCount());
+        plugins.put("key-auth", Map.of("hide_credentials", true));
+        plugins.put("cors", Map.of(
+                "allow_origins", "https://app.example.com,https://admin.example.com",
+                "allow_methods", "GET,POST,PUT,DELETE",
+                "allow_headers", "Authorization,Content-Type",
+                "max_age", 3600));
+        plugins.put("proxy-rewrite", Map.of(
+                "regex_uri", List.of("^/v1/orders/(.*)", "/orders/$1"),
+                "headers", Map.of("set", headers("X-Upstream-", headers))));
+        plugins.put("response-rewrite", Map.of("headers", Map.of("set", headers("X-Gateway-", headers))));
+        plugins.put("request-id", Map.of("header_name", "X-Request-Id", "include_in_response", true));
+        plugins.put("prometheus", Map.of());
+        return plugins;
+    }
+
+    private static Map<String, Object> hugePlugins() {
+        Map<String, Object> plugins = largePlugins(100);
+        plugins.put("ip-restriction", Map.of("whitelist", cidrs(500)));
+        plugins.put("limit-req", Map.of("rate", 100, "burst", 50, "key", "remote_addr", "rejected_code", 429));
+        plugins.put("limit-conn", Map.of("conn", 500, "burst", 100, "default_conn_delay", 0.1, "key", "remote_addr"));
+        plugins.put("uri-blocker", Map.of("block_rules", patterns(100)));
+        plugins.put("consumer-restriction", Map.of("whitelist", consumers(200)));
+        return plugins;
+    }
+
+    private static Map<String, Object> limitCount() {
+        return Map.of("count", 100, "time_window", 60, "key", "remote_addr", "rejected_code", 429);
+    }
+
+    private static Map<String, Object> plugins(Map<String, Object> plugins) {
+        return new LinkedHashMap<>(plugins);
+    }
+
+    private static HealthCheck healthChecks() {
+        return HealthCheck.builder()
+                .active(HealthCheck.ActiveHealthCheck.builder()
+                        .type("http")
+                        .httpPath("/healthz")
+                        .timeout(1.0)
+                        .concurrency(10)
+                        .healthy(HealthCheck.HealthyConfig.builder().interval(2).successes(2).build())
+                        .unhealthy(HealthCheck.UnhealthyConfig.builder().interval(1).httpFailures(3).build())
+                        .build())
+                .passive(HealthCheck.PassiveHealthCheck.builder()
+                        .type("http")
+                        .healthy(HealthCheck.HealthyConfig.builder().httpStatuses(List.of(200, 201, 204)).successes(3).build())
+                        .unhealthy(HealthCheck.UnhealthyConfig.builder().httpStatuses(List.of(500, 502, 503)).httpFailures(3).build())
+                        .build())
+                .build();
+    }
+
+    private static List<UpstreamNode> nodes(int count) {
+        List<UpstreamNode> nodes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            nodes.add(UpstreamNode.builder()
+                    .host("10." + (i / 250) + "." + (i % 250) + ".10")
+                    .port(8080)
+                    .weight(100)
+                    .priority(0)
+                    .metadata(Map.of("zone", "zone-" + (i % 3)))
+                    .build());
+        }
+        return nodes;
+    }
+
+    private static Map<String, String> labels(int count) {
+        Map<String, String> labels = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            labels.put("label-" + i, "value-" + i);
+        }
+        return labels;
+    }
+
+    private static Map<String, String> headers(String prefix, int count) {
+        Map<String, String> headers = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            headers.put(prefix + i, "value-" + i);
+        }
+        return headers;
+    }
+
+    private static List<String> hosts(int count) {
+        List<String> hosts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            hosts.add("api-" + i + ".region-" + (i % 10) + ".example.com");
+        }
+        return hosts;
+    }
+
+    private static List<String> cidrs(int count) {
+        List<String> cidrs = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            cidrs.add("10." + (i / 250) + "." + (i % 250) + ".0/24");
+        }
+        return cidrs;
+    }
+
+    private static List<Object> vars(int count) {
+        List<Object> vars = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            vars.add(List.of("http_x_header_" + i, "~~", "^value-" + i + "(-.*)?$"));
+        }
+        return vars;
+    }
+
+    private static List<String> patterns(int count) {
+        List<String> patterns = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            patterns.add("^/internal/debug-" + i + "/.*");
+        }
+        return patterns;
+    }
+
+    private static List<String> consumers(int count) {
+        List<String> consumers = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            consumers.add("partner_" + i);
+        }
+        return consumers;
+    }
+}
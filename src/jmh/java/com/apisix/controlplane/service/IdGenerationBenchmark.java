@@ -0,0 +1,56 @@
+package com.apisix.controlplane.service;
+
+import com.apisix.controlplane.entity.Upstream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generating APISIX route and upstream IDs, done for every route of every deploy and undeploy.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IdGenerationBenchmark {
+
+    /**
+     * An already clean name, and a generated one that every sanitizing step has to rewrite.
+     */
+    @Param({"list-orders", "GET /v1/Orders/{orderId}/Items (legacy)"})
+    private String name;
+
+    private Upstream upstream;
+
+    @Setup
+    public void setUp() {
+        upstream = Upstream.builder()
+                .environmentId("3f2b8c1e-5d4a-4b7e-9c0f-1a2b3c4d5e6f")
+                .name(name)
+                .build();
+    }
+
+    @Benchmark
+    public String generateRouteId() {
+        return ApisixIntegrationService.generateRouteId("org-1", "env-1", "orders", name, 42);
+    }
+
+    @Benchmark
+    public String generateUpstreamApisixId() {
+        // The ID is cached on the entity after the first call
+        upstream.setApisixId(null);
+        return upstream.generateApisixId();
+    }
+}
@@ -0,0 +1,63 @@
+package com.apisix.controlplane.service;
+
+import com.apisix.controlplane.apisix.model.RouteSpec;
+import com.apisix.controlplane.apisix.model.ServiceSpec;
+import com.apisix.controlplane.benchmark.BenchmarkSpecs;
+import com.apisix.controlplane.benchmark.BenchmarkSpecs.SpecSize;
+import com.apisix.controlplane.entity.Api;
+import com.apisix.controlplane.entity.ServiceRevision;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building the APISIX service and route payloads pushed on every deploy.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PayloadBenchmark {
+
+    @Param({"SMALL", "LARGE", "HUGE"})
+    private SpecSize size;
+
+    private ApisixIntegrationService integrationService;
+    private RouteSpec route;
+    private ServiceSpec service;
+    private ServiceRevision revision;
+    private Api api;
+
+    @Setup
+    public void setUp() {
+        // Payload building only uses the ObjectMapper
+        integrationService = new ApisixIntegrationService(null, null, null, null, null, BenchmarkSpecs.objectMapper());
+        route = BenchmarkSpecs.route(size);
+        service = BenchmarkSpecs.service(size);
+        revision = ServiceRevision.builder().id("rev-1").revisionNumber(3).build();
+        api = Api.builder().id("api-1").orgId("org-1").name("orders").build();
+    }
+
+    @Benchmark
+    public Map<String, Object> buildRoutePayload() {
+        return integrationService.buildRoutePayload(route);
+    }
+
+    @Benchmark
+    public Map<String, Object> buildServicePayload() {
+        return integrationService.buildServicePayload("cp-ups-0a1b2c3d-orders", service, revision, api);
+    }
+}
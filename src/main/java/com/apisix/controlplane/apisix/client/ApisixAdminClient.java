@@ -0,0 +1,95 @@
+package com.apisix.controlplane.apisix.client;
+
+import lombok.Getter;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.util.Map;
+
+/**
+ * Admin API client bound to a single APISIX environment.
+ * <p>
+ * Instances are created and cached by {@link ApisixAdminClientRegistry}; each one owns a
+ * dedicated Reactor Netty connection pool for its admin URL. All calls target
+ * {@code /apisix/admin/{resource}/{id}} and surface non-2xx answers as {@link ApisixAdminException}.
+ * Every call goes through the {@link ApisixCircuitBreaker} of the admin URL.
+ */
+public class ApisixAdminClient {
+
+    public static final String ROUTES = "routes";
+    public static final String SERVICES = "services";
+    public static final String UPSTREAMS = "upstreams";
+    public static final String CONSUMERS = "consumers";
+    public static final String CONSUMER_GROUPS = "consumer_groups";
+
+    @Getter
+    private final String environmentId;
+
+    @Getter
+    private final String adminUrl;
+
+    private final WebClient webClient;
+    private final ConnectionProvider connectionProvider;
+    private final ApisixCircuitBreaker circuitBreaker;
+
+    ApisixAdminClient(String environmentId, String adminUrl, WebClient webClient,
+                      ConnectionProvider connectionProvider, ApisixCircuitBreaker circuitBreaker) {
+        this.environmentId = environmentId;
+        this.adminUrl = adminUrl;
+        this.webClient = webClient;
+        this.connectionProvider = connectionProvider;
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    /**
+     * Create or replace a resource.
+     */
+    public Mono<String> put(String resource, String id, Object payload) {
+        return circuitBreaker.guard(webClient.put()
+                .uri("/apisix/admin/{resource}/{id}", resource, id)
+                .bodyValue(payload)
+                .retrieve()
+                .onStatus(status -> status.is4xxClientError() || status.is5xxServerError(), this::toError)
+                .bodyToMono(String.class));
+    }
+
+    /**
+     * Delete a resource. A 404 is treated as success since the resource is already gone.
+     */
+    public Mono<String> delete(String resource, String id) {
+        return circuitBreaker.guard(webClient.delete()
+                .uri("/apisix/admin/{resource}/{id}", resource, id)
+                .retrieve()
+                .onStatus(status -> status.value() == 404, resp -> Mono.empty())
+                .onStatus(status -> status.is4xxClientError() || status.is5xxServerError(), this::toError)
+                .bodyToMono(String.class));
+    }
+
+    /**
+     * List one page of a resource type. {@code page} is 1-based; APISIX accepts page sizes of 10 to 500.
+     */
+    @SuppressWarnings("unchecked")
+    public Mono<ApisixListPage> list(String resource, int page, int pageSize) {
+        return circuitBreaker.guard(webClient.get()
+                .uri(uri -> uri.path("/apisix/admin/{resource}")
+                        .queryParam("page", page)
+                        .queryParam("page_size", pageSize)
+                        .build(resource))
+                .retrieve()
+                .onStatus(status -> status.is4xxClientError() || status.is5xxServerError(), this::toError)
+                .bodyToMono(Map.class)
+                .map(body -> ApisixListPage.from((Map<String, Object>) body)));
+    }
+
+    void dispose() {
+        connectionProvider.disposeLater().subscribe();
+    }
+
+    private Mono<Throwable> toError(ClientResponse resp) {
+        return resp.bodyToMono(String.class)
+                .defaultIfEmpty("")
+                .map(body -> new ApisixAdminException(resp.statusCode().value(), body));
+    }
+}
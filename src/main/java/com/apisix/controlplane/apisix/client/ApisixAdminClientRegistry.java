@@ -0,0 +1,149 @@
+package com.apisix.controlplane.apisix.client;
+
+import com.apisix.controlplane.entity.Environment;
+import io.netty.channel.ChannelOption;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Shared registry of {@link ApisixAdminClient}s keyed by {@link Environment} ID.
+ * <p>
+ * Each environment gets one client with its own connection pool, built on first use and reused
+ * by every service that talks to that gateway. A cached client is rebuilt when the environment's
+ * admin URL changes, and dropped via {@link #invalidate(String)} when the environment is removed.
+ * <p>
+ * Circuit breakers are keyed by admin URL rather than environment, so environments sharing a gateway
+ * share its breaker, and a breaker's state survives client rebuilds.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ApisixAdminClientRegistry {
+
+    private final WebClient.Builder webClientBuilder;
+
+    private final Map<String, ApisixAdminClient> clients = new ConcurrentHashMap<>();
+    private final Map<String, ApisixCircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+
+    @Value("${apisix.admin.key}")
+    private String adminKey;
+
+    @Value("${apisix.admin.timeout:30000}")
+    private int timeout;
+
+    @Value("${apisix.admin.connect-timeout:5000}")
+    private int connectTimeout;
+
+    @Value("${apisix.admin.keep-alive:true}")
+    private boolean keepAlive;
+
+    @Value("${apisix.admin.pool.max-connections:50}")
+    private int maxConnections;
+
+    @Value("${apisix.admin.pool.max-idle-time:30000}")
+    private long maxIdleTime;
+
+    @Value("${apisix.admin.pool.max-life-time:300000}")
+    private long maxLifeTime;
+
+    @Value("${apisix.admin.pool.pending-acquire-timeout:10000}")
+    private long pendingAcquireTimeout;
+
+    @Value("${apisix.admin.pool.evict-interval:60000}")
+    private long evictInterval;
+
+    @Value("${apisix.admin.circuit-breaker.failure-threshold:5}")
+    private int failureThreshold;
+
+    @Value("${apisix.admin.circuit-breaker.open-duration:30000}")
+    private long openDuration;
+
+    @Value("${apisix.admin.circuit-breaker.half-open-permits:1}")
+    private int halfOpenPermits;
+
+    @Value("${apisix.admin.bulkhead.max-concurrent-calls:64}")
+    private int maxConcurrentCalls;
+
+    /**
+     * Get the admin client for an environment, creating it on first use.
+     */
+    public ApisixAdminClient forEnvironment(Environment environment) {
+        return clients.compute(environment.getId(), (envId, existing) -> {
+            if (existing != null && existing.getAdminUrl().equals(environment.getApisixAdminUrl())) {
+                return existing;
+            }
+            if (existing != null) {
+                log.info("Admin URL of environment {} changed, rebuilding APISIX client", envId);
+                existing.dispose();
+            }
+            return createClient(environment);
+        });
+    }
+
+    /**
+     * Drop the cached client for an environment and release its connection pool.
+     */
+    public void invalidate(String environmentId) {
+        ApisixAdminClient removed = clients.remove(environmentId);
+        if (removed != null) {
+            removed.dispose();
+            log.info("Invalidated APISIX client for environment {}", environmentId);
+        }
+    }
+
+    /**
+     * Circuit breakers of every admin URL called so far.
+     */
+    public Collection<ApisixCircuitBreaker> getCircuitBreakers() {
+        return List.copyOf(circuitBreakers.values());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        clients.values().forEach(ApisixAdminClient::dispose);
+        clients.clear();
+    }
+
+    private ApisixAdminClient createClient(Environment environment) {
+        ConnectionProvider provider = ConnectionProvider.builder("apisix-admin-" + environment.getId())
+                .maxConnections(maxConnections)
+                .maxIdleTime(Duration.ofMillis(maxIdleTime))
+                .maxLifeTime(Duration.ofMillis(maxLifeTime))
+                .pendingAcquireTimeout(Duration.ofMillis(pendingAcquireTimeout))
+                .evictInBackground(Duration.ofMillis(evictInterval))
+                .build();
+
+        HttpClient httpClient = HttpClient.create(provider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeout)
+                .option(ChannelOption.SO_KEEPALIVE, keepAlive)
+                .keepAlive(keepAlive)
+                .responseTimeout(Duration.ofMillis(timeout));
+
+        WebClient webClient = webClientBuilder.clone()
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .baseUrl(environment.getApisixAdminUrl())
+                .defaultHeader("X-API-KEY", adminKey)
+                .build();
+
+        log.info("Created APISIX client for environment {} at {} (max connections: {})",
+                environment.getId(), environment.getApisixAdminUrl(), maxConnections);
+        ApisixCircuitBreaker circuitBreaker = circuitBreakers.computeIfAbsent(environment.getApisixAdminUrl(),
+                url -> new ApisixCircuitBreaker(url, failureThreshold, Duration.ofMillis(openDuration),
+                        halfOpenPermits, maxConcurrentCalls));
+        return new ApisixAdminClient(environment.getId(), environment.getApisixAdminUrl(), webClient, provider,
+                circuitBreaker);
+    }
+}
@@ -0,0 +1,20 @@
+package com.apisix.controlplane.apisix.client;
+
+import lombok.Getter;
+
+/**
+ * Raised when the APISIX Admin API answers with a 4xx/5xx status.
+ * Carries the status code and raw response body so callers can react to specific conflicts.
+ */
+@Getter
+public class ApisixAdminException extends RuntimeException {
+
+    private final int statusCode;
+    private final String responseBody;
+
+    public ApisixAdminException(int statusCode, String responseBody) {
+        super("APISIX returned " + statusCode + ": " + responseBody);
+        this.statusCode = statusCode;
+        this.responseBody = responseBody;
+    }
+}
@@ -0,0 +1,188 @@
+package com.apisix.controlplane.apisix.client;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Circuit breaker and concurrency bulkhead for one APISIX admin URL.
+ * <p>
+ * After {@code failureThreshold} consecutive failures (connection errors, timeouts, 5xx) the circuit opens
+ * and calls fail fast with {@link ApisixUnavailableException}. Once {@code openDuration} has passed, up to
+ * {@code halfOpenPermits} probe calls are let through: a successful probe closes the circuit, a failed one
+ * re-opens it. 4xx answers mean the gateway is up and never count as failures.
+ * <p>
+ * The bulkhead caps in-flight calls per admin URL and rejects the excess immediately, so a slow gateway
+ * cannot tie up callers that are shared with healthy environments.
+ */
+@Slf4j
+public class ApisixCircuitBreaker {
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private enum Permit {
+        CALL,
+        PROBE,
+        REJECTED
+    }
+
+    @Getter
+    private final String adminUrl;
+
+    private final int failureThreshold;
+    private final Duration openDuration;
+    private final int halfOpenPermits;
+
+    @Getter
+    private final int maxConcurrentCalls;
+
+    private final Semaphore bulkhead;
+    private final AtomicLong rejectedCalls = new AtomicLong();
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private int probesInFlight;
+    private Instant openedAt;
+
+    ApisixCircuitBreaker(String adminUrl, int failureThreshold, Duration openDuration,
+                         int halfOpenPermits, int maxConcurrentCalls) {
+        this.adminUrl = adminUrl;
+        this.failureThreshold = failureThreshold;
+        this.openDuration = openDuration;
+        this.halfOpenPermits = halfOpenPermits;
+        this.maxConcurrentCalls = maxConcurrentCalls;
+        this.bulkhead = new Semaphore(maxConcurrentCalls);
+    }
+
+    /**
+     * Run an admin call through the bulkhead and circuit. Nothing is sent if either rejects it.
+     */
+    public <T> Mono<T> guard(Mono<T> call) {
+        return Mono.defer(() -> {
+            if (!bulkhead.tryAcquire()) {
+                rejectedCalls.incrementAndGet();
+                return Mono.error(new ApisixUnavailableException(adminUrl,
+                        "too many concurrent admin calls (limit " + maxConcurrentCalls + ")"));
+            }
+            Permit permit = acquirePermit();
+            if (permit == Permit.REJECTED) {
+                bulkhead.release();
+                rejectedCalls.incrementAndGet();
+                return Mono.error(new ApisixUnavailableException(adminUrl,
+                        "circuit open after repeated failures, retry after " + getRetryAt()));
+            }
+
+            boolean probe = permit == Permit.PROBE;
+            AtomicBoolean recorded = new AtomicBoolean();
+            return call
+                    .doOnSuccess(value -> {
+                        if (recorded.compareAndSet(false, true)) {
+                            onComplete(probe, null);
+                        }
+                    })
+                    .doOnError(e -> {
+                        if (recorded.compareAndSet(false, true)) {
+                            onComplete(probe, e);
+                        }
+                    })
+                    .doFinally(signal -> {
+                        bulkhead.release();
+                        if (signal == SignalType.CANCEL && recorded.compareAndSet(false, true)) {
+                            onCancel(probe);
+                        }
+                    });
+        });
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public synchronized int getConsecutiveFailures() {
+        return consecutiveFailures;
+    }
+
+    public synchronized Instant getOpenedAt() {
+        return state == State.CLOSED ? null : openedAt;
+    }
+
+    /**
+     * When an open circuit starts letting probes through, or null if it is not open.
+     */
+    public synchronized Instant getRetryAt() {
+        return state == State.OPEN ? openedAt.plus(openDuration) : null;
+    }
+
+    public int getInFlightCalls() {
+        return maxConcurrentCalls - bulkhead.availablePermits();
+    }
+
+    public long getRejectedCalls() {
+        return rejectedCalls.get();
+    }
+
+    private synchronized Permit acquirePermit() {
+        if (state == State.OPEN) {
+            if (Instant.now().isBefore(openedAt.plus(openDuration))) {
+                return Permit.REJECTED;
+            }
+            state = State.HALF_OPEN;
+            probesInFlight = 0;
+            log.info("Circuit for APISIX at {} half-open, probing", adminUrl);
+        }
+        if (state == State.HALF_OPEN) {
+            if (probesInFlight >= halfOpenPermits) {
+                return Permit.REJECTED;
+            }
+            probesInFlight++;
+            return Permit.PROBE;
+        }
+        return Permit.CALL;
+    }
+
+    private synchronized void onComplete(boolean probe, Throwable error) {
+        if (probe) {
+            probesInFlight--;
+        }
+        if (!isFailure(error)) {
+            consecutiveFailures = 0;
+            if (probe && state == State.HALF_OPEN) {
+                state = State.CLOSED;
+                log.info("Circuit for APISIX at {} closed", adminUrl);
+            }
+            return;
+        }
+
+        consecutiveFailures++;
+        if ((probe && state == State.HALF_OPEN) || (state == State.CLOSED && consecutiveFailures >= failureThreshold)) {
+            state = State.OPEN;
+            openedAt = Instant.now();
+            log.warn("Circuit for APISIX at {} opened after {} consecutive failures (last: {})",
+                    adminUrl, consecutiveFailures, error.getMessage());
+        }
+    }
+
+    private synchronized void onCancel(boolean probe) {
+        if (probe) {
+            probesInFlight--;
+        }
+    }
+
+    private boolean isFailure(Throwable error) {
+        if (error == null) {
+            return false;
+        }
+        return !(error instanceof ApisixAdminException ex) || ex.getStatusCode() >= 500;
+    }
+}
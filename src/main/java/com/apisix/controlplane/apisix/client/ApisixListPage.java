@@ -0,0 +1,31 @@
+package com.apisix.controlplane.apisix.client;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One page of an Admin API list call: the total number of resources and the stored value of each item on the page.
+ */
+public record ApisixListPage(long total, List<Map<String, Object>> items) {
+
+    /**
+     * Parse {@code {"total": n, "list": [{"key": ..., "value": {...}}, ...]}}.
+     * APISIX encodes an empty list as an empty object, so anything other than an array is treated as no items.
+     */
+    @SuppressWarnings("unchecked")
+    static ApisixListPage from(Map<String, Object> body) {
+        Object total = body.get("total");
+        Object list = body.get("list");
+        List<Map<String, Object>> items = new ArrayList<>();
+        if (list instanceof Collection<?> entries) {
+            for (Object entry : entries) {
+                if (entry instanceof Map<?, ?> map && map.get("value") instanceof Map<?, ?> value) {
+                    items.add((Map<String, Object>) value);
+                }
+            }
+        }
+        return new ApisixListPage(total instanceof Number n ? n.longValue() : items.size(), items);
+    }
+}
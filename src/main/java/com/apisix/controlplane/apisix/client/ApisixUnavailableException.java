@@ -0,0 +1,17 @@
+package com.apisix.controlplane.apisix.client;
+
+import lombok.Getter;
+
+/**
+ * Raised without contacting APISIX when the admin API's circuit is open or its bulkhead is full.
+ */
+@Getter
+public class ApisixUnavailableException extends RuntimeException {
+
+    private final String adminUrl;
+
+    public ApisixUnavailableException(String adminUrl, String reason) {
+        super("APISIX admin API at " + adminUrl + " is unavailable: " + reason);
+        this.adminUrl = adminUrl;
+    }
+}
@@ -0,0 +1,282 @@
+package com.apisix.controlplane.apisix.validation;
+
+import com.apisix.controlplane.exception.BusinessException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.networknt.schema.JsonSchemaFactory;
+import com.networknt.schema.SpecVersion;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compiled APISIX JSON Schemas for every configured APISIX version.
+ * <p>
+ * Versions are configured as {@code version=location} pairs in {@code apisix.schema.versions}, each location
+ * pointing at a {@code control_plane_schema.json} as exported by that APISIX release. A version is parsed and
+ * compiled on first use and kept for the life of the process, so replicas only pay for the versions their
+ * environments actually run.
+ * <p>
+ * Plugin schemas ({@code plugins.<name>.schema}) are only compiled for the plugins specs actually configure,
+ * one plugin at a time; see {@link ApisixSchemas#plugin(String)}.
+ * <p>
+ * When {@code apisix.schema.snapshot-dir} is set, the sub-schemas the control plane uses are written there
+ * after the first compile, and later starts load that small snapshot instead of the full schema document.
+ * A snapshot is ignored when the SHA-256 of its source document changed.
+ */
+@Component
+@Slf4j
+public class ApisixSchemaRegistry {
+
+    private static final int SNAPSHOT_FORMAT = 3;
+    private static final List<String> SECTIONS = List.of("route", "upstream", "service");
+
+    private final ObjectMapper objectMapper;
+    private final ResourceLoader resourceLoader;
+    private final String defaultVersion;
+    private final Map<String, String> locations = new LinkedHashMap<>();
+    private final Path snapshotDir;
+
+    private final Map<String, ApisixSchemas> compiled = new ConcurrentHashMap<>();
+    private final AtomicLong generations = new AtomicLong();
+
+    public ApisixSchemaRegistry(ObjectMapper objectMapper,
+                                ResourceLoader resourceLoader,
+                                @Value("${apisix.schema.default-version:3.14}") String defaultVersion,
+                                @Value("${apisix.schema.versions:3.14=classpath:/control_plane_schema.json}") List<String> versions,
+                                @Value("${apisix.schema.snapshot-dir:}") String snapshotDir) {
+        this.objectMapper = objectMapper;
+        this.resourceLoader = resourceLoader;
+        for (String entry : versions) {
+            int separator = entry.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalStateException("apisix.schema.versions entries must be version=location: " + entry);
+            }
+            locations.put(entry.substring(0, separator).trim(), entry.substring(separator + 1).trim());
+        }
+        if (!locations.containsKey(defaultVersion)) {
+            throw new IllegalStateException("Default APISIX schema version " + defaultVersion
+                    + " is not one of apisix.schema.versions " + locations.keySet());
+        }
+        this.defaultVersion = defaultVersion;
+        this.snapshotDir = snapshotDir.isBlank() ? null : Path.of(snapshotDir);
+    }
+
+    /**
+     * Schemas of an APISIX version, compiling them on first use. A null version means the default one.
+     *
+     * @throws BusinessException if the version is not configured
+     */
+    public ApisixSchemas get(String version) {
+        String resolved = resolve(version);
+        if (resolved == null) {
+            throw new BusinessException("Unsupported APISIX version '" + version + "'. Supported: " + locations.keySet());
+        }
+        return compiled.computeIfAbsent(resolved, this::load);
+    }
+
+    /**
+     * The configured version a gateway version is validated against: the exact version if configured,
+     * otherwise its major.minor (so {@code 3.14.1} uses {@code 3.14}). Null means the default version.
+     *
+     * @return the configured version, or null if there is none for this version
+     */
+    public String resolve(String version) {
+        if (version == null || version.isBlank()) {
+            return defaultVersion;
+        }
+        String trimmed = version.trim();
+        if (locations.containsKey(trimmed)) {
+            return trimmed;
+        }
+        String[] parts = trimmed.split("\\.");
+        String minor = parts.length > 2 ? parts[0] + "." + parts[1] : null;
+        return minor != null && locations.containsKey(minor) ? minor : null;
+    }
+
+    public boolean isSupported(String version) {
+        return resolve(version) != null;
+    }
+
+    /**
+     * Whether a version is validated with the default schemas, which every spec is checked against when written.
+     */
+    public boolean isDefault(String version) {
+        return defaultVersion.equals(resolve(version));
+    }
+
+    public String getDefaultVersion() {
+        return defaultVersion;
+    }
+
+    public List<String> getVersions() {
+        return List.copyOf(locations.keySet());
+    }
+
+    public String getLocation(String version) {
+        return locations.get(version);
+    }
+
+    /**
+     * Drop the compiled schemas and snapshot of a version, so the next use re-reads its schema document.
+     *
+     * @return false if the version is not configured
+     */
+    public boolean reload(String version) {
+        if (!locations.containsKey(version)) {
+            return false;
+        }
+        compiled.remove(version);
+        Path file = snapshotFile(version);
+        if (file != null) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("Could not delete APISIX {} schema snapshot {}: {}", version, file, e.getMessage());
+            }
+        }
+        log.info("APISIX {} JSON Schemas dropped, recompiling on next use", version);
+        return true;
+    }
+
+    /**
+     * Schemas of a version if they were already compiled, without compiling them.
+     */
+    public Optional<ApisixSchemas> findCompiled(String version) {
+        return Optional.ofNullable(compiled.get(version));
+    }
+
+    private ApisixSchemas load(String version) {
+        long start = System.nanoTime();
+        byte[] source = readSource(version);
+        String sourceHash = sha256(source);
+
+        JsonNode sections = readSnapshot(version, sourceHash);
+        boolean fromSnapshot = sections != null;
+        if (!fromSnapshot) {
+            sections = extractSections(version, parseDocument(version, source));
+            writeSnapshot(version, sourceHash, sections);
+        }
+
+        JsonSchemaFactory factory = JsonSchemaFactory.getInstance(SpecVersion.VersionFlag.V7);
+        ApisixSchemas schemas = new ApisixSchemas(version, generations.incrementAndGet(), factory,
+                factory.getSchema(sections.get("route")),
+                factory.getSchema(sections.get("upstream")),
+                factory.getSchema(sections.get("service")),
+                sections.get("plugins"),
+                fromSnapshot, (System.nanoTime() - start) / 1_000_000);
+        log.info("APISIX {} JSON Schemas compiled from {} in {} ms (route, upstream, service; {} plugins on demand)",
+                version, fromSnapshot ? "snapshot" : locations.get(version), schemas.loadMillis(),
+                schemas.pluginCount());
+        return schemas;
+    }
+
+    private byte[] readSource(String version) {
+        Resource source = resourceLoader.getResource(locations.get(version));
+        try (InputStream is = source.getInputStream()) {
+            return is.readAllBytes();
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read APISIX " + version + " schema from " + locations.get(version), e);
+        }
+    }
+
+    private JsonNode parseDocument(String version, byte[] source) {
+        try {
+            return objectMapper.readTree(source);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to parse APISIX " + version + " schema from " + locations.get(version), e);
+        }
+    }
+
+    private static JsonNode extractSections(String version, JsonNode document) {
+        ObjectNode sections = JsonNodeFactory.instance.objectNode();
+        for (String section : SECTIONS) {
+            JsonNode node = document.path("main").path(section);
+            if (node.isMissingNode()) {
+                throw new IllegalStateException("APISIX " + version + " schema is missing main." + section);
+            }
+            sections.set(section, node);
+        }
+        ObjectNode plugins = sections.putObject("plugins");
+        document.path("plugins").fields().forEachRemaining(plugin -> {
+            if (plugin.getValue().has("schema")) {
+                plugins.set(plugin.getKey(), plugin.getValue().get("schema"));
+            }
+        });
+        return sections;
+    }
+
+    private JsonNode readSnapshot(String version, String sourceHash) {
+        Path file = snapshotFile(version);
+        if (file == null || !Files.isReadable(file)) {
+            return null;
+        }
+        try {
+            JsonNode snapshot = objectMapper.readTree(file.toFile());
+            if (snapshot.path("format").asInt() != SNAPSHOT_FORMAT
+                    || !snapshot.path("source").asText().equals(locations.get(version))
+                    || !snapshot.path("sourceSha256").asText().equals(sourceHash)) {
+                log.info("Ignoring stale APISIX {} schema snapshot {}", version, file);
+                return null;
+            }
+            return snapshot.get("schemas");
+        } catch (IOException e) {
+            log.warn("Ignoring unreadable APISIX {} schema snapshot {}: {}", version, file, e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeSnapshot(String version, String sourceHash, JsonNode sections) {
+        Path file = snapshotFile(version);
+        if (file == null) {
+            return;
+        }
+        ObjectNode snapshot = objectMapper.createObjectNode();
+        snapshot.put("format", SNAPSHOT_FORMAT);
+        snapshot.put("version", version);
+        snapshot.put("source", locations.get(version));
+        snapshot.put("sourceSha256", sourceHash);
+        snapshot.set("schemas", sections);
+        try {
+            Files.createDirectories(file.getParent());
+            // Write to a temporary file first so a concurrent start never reads a partial snapshot
+            Path temp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+            objectMapper.writeValue(temp.toFile(), snapshot);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.info("Wrote APISIX {} schema snapshot {}", version, file);
+        } catch (IOException e) {
+            log.warn("Could not write APISIX {} schema snapshot {}: {}", version, file, e.getMessage());
+        }
+    }
+
+    private Path snapshotFile(String version) {
+        return snapshotDir == null ? null : snapshotDir.resolve("apisix-schema-" + version + ".json");
+    }
+
+    private static String sha256(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Failed to hash APISIX schema", e);
+        }
+    }
+}
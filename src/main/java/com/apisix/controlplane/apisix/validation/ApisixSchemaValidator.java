@@ -3,103 +3,295 @@ package com.apisix.controlplane.apisix.validation;
 import com.apisix.controlplane.apisix.model.RouteSpec;
 import com.apisix.controlplane.apisix.model.ServiceSpec;
 import com.apisix.controlplane.apisix.model.UpstreamSpec;
+import com.apisix.controlplane.cache.LookupCache;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.networknt.schema.JsonSchema;
-import com.networknt.schema.JsonSchemaFactory;
-import com.networknt.schema.SpecVersion;
 import com.networknt.schema.ValidationMessage;
-import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.io.IOException;
-import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
 
 /**
  * Validates APISIX spec objects (RouteSpec, UpstreamSpec, ServiceSpec) against
- * the official APISIX 3.14 JSON Schema definitions.
+ * the official APISIX JSON Schema definitions.
  * <p>
- * Schemas are extracted at startup from {@code classpath:/control_plane_schema.json},
- * which contains the full APISIX schema under {@code main.route}, {@code main.upstream},
- * and {@code main.service}.
+ * Schemas come from the {@link ApisixSchemaRegistry}, which compiles each APISIX version on first use.
+ * The version-less methods use the default version ({@code apisix.schema.default-version}, 3.14); the
+ * others validate for a specific gateway version, e.g. an environment's {@code apisixVersion}.
  * <p>
  * Validation converts the spec to a {@link JsonNode} (respecting the Jackson
  * snake_case naming on the model classes) and runs it through the schema.
+ * <p>
+ * The route and service schemas accept any {@code plugins} object, so each configured plugin is also
+ * checked against its own plugin schema. Plugins unknown to the APISIX version are rejected unless
+ * {@code apisix.schema.allow-unknown-plugins} is set (for custom plugins missing from the schema export).
+ * <p>
+ * Results are cached by the SHA-256 of the spec's canonical JSON (map keys sorted, as for stored specs and
+ * APISIX payloads) together with the generation of the compiled schemas, so identical specs are validated
+ * once per schema version, and a recompiled version never reuses results from the schemas it replaced.
+ * <p>
+ * Route lists of at least {@code apisix.schema.validation-pool.threshold} routes are validated in chunks
+ * on the bounded {@code schemaValidationPool}; see {@link #validateRoutes(String, List)}.
  */
 @Component
-@Slf4j
 public class ApisixSchemaValidator {
 
-    private final JsonSchema routeSchema;
-    private final JsonSchema upstreamSchema;
-    private final JsonSchema serviceSchema;
+    public static final String RESULT_CACHE = "schema-validations";
+
+    private final ApisixSchemaRegistry schemaRegistry;
     private final ObjectMapper objectMapper;
+    private final ObjectWriter canonicalWriter;
+    private final boolean allowUnknownPlugins;
+    private final boolean cacheEnabled;
+    private final LookupCache<List<String>> resultCache;
+    private final ForkJoinPool validationPool;
+    private final int parallelThreshold;
 
-    public ApisixSchemaValidator(ObjectMapper objectMapper) {
+    public ApisixSchemaValidator(ApisixSchemaRegistry schemaRegistry,
+                                 ObjectMapper objectMapper,
+                                 ForkJoinPool schemaValidationPool,
+                                 @Value("${apisix.schema.validation-pool.threshold:100}") int parallelThreshold,
+                                 @Value("${apisix.schema.allow-unknown-plugins:false}") boolean allowUnknownPlugins,
+                                 @Value("${apisix.schema.validation-cache.enabled:true}") boolean cacheEnabled,
+                                 @Value("${apisix.schema.validation-cache.max-size:50000}") int cacheMaxSize,
+                                 @Value("${apisix.schema.validation-cache.ttl:3600000}") long cacheTtl) {
+        this.schemaRegistry = schemaRegistry;
         this.objectMapper = objectMapper;
+        this.canonicalWriter = objectMapper.writer().with(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS);
+        this.allowUnknownPlugins = allowUnknownPlugins;
+        this.cacheEnabled = cacheEnabled;
+        this.resultCache = new LookupCache<>(RESULT_CACHE, cacheMaxSize, Duration.ofMillis(cacheTtl), Clock.systemUTC());
+        this.validationPool = schemaValidationPool;
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    /**
+     * Validate a {@link RouteSpec} against the APISIX route schema.
+     *
+     * @return validation error messages (empty if valid)
+     */
+    public List<String> validateRoute(RouteSpec spec) {
+        return validateRoute(null, spec);
+    }
+
+    /**
+     * Validate an {@link UpstreamSpec} against the APISIX upstream schema.
+     *
+     * @return validation error messages (empty if valid)
+     */
+    public List<String> validateUpstream(UpstreamSpec spec) {
+        return validateUpstream(null, spec);
+    }
+
+    /**
+     * Validate a {@link ServiceSpec} against the APISIX service schema.
+     *
+     * @return validation error messages (empty if valid)
+     */
+    public List<String> validateService(ServiceSpec spec) {
+        return validateService(null, spec);
+    }
+
+    /**
+     * Validate a {@link RouteSpec} against the route schema of an APISIX version (null for the default).
+     */
+    public List<String> validateRoute(String apisixVersion, RouteSpec spec) {
+        return checkRoute(schemaRegistry.get(apisixVersion), spec);
+    }
 
-        JsonSchemaFactory factory = JsonSchemaFactory.getInstance(SpecVersion.VersionFlag.V7);
+    /**
+     * Validate a list of routes against an APISIX version (null for the default). Null entries are skipped.
+     * Lists below the parallel threshold are validated on the calling thread; larger ones are split into
+     * chunks validated concurrently on the schema validation pool.
+     *
+     * @return error messages of each invalid route by route index, in index order
+     */
+    public SortedMap<Integer, List<String>> validateRoutes(String apisixVersion, List<RouteSpec> specs) {
+        ApisixSchemas schemas = schemaRegistry.get(apisixVersion);
+        if (specs.size() < parallelThreshold || validationPool.getParallelism() < 2) {
+            return checkRoutes(schemas, specs, 0, specs.size());
+        }
 
-        JsonNode root = loadControlPlaneSchema(objectMapper);
+        // A few chunks per thread, so one slow chunk does not leave the other threads idle
+        int chunkCount = validationPool.getParallelism() * 4;
+        int chunkSize = (specs.size() + chunkCount - 1) / chunkCount;
+        List<Callable<SortedMap<Integer, List<String>>>> chunks = new ArrayList<>();
+        for (int from = 0; from < specs.size(); from += chunkSize) {
+            int start = from;
+            int end = Math.min(from + chunkSize, specs.size());
+            chunks.add(() -> checkRoutes(schemas, specs, start, end));
+        }
 
-        JsonNode routeNode    = root.path("main").path("route");
-        JsonNode upstreamNode = root.path("main").path("upstream");
-        JsonNode serviceNode  = root.path("main").path("service");
+        SortedMap<Integer, List<String>> errors = new TreeMap<>();
+        try {
+            for (Future<SortedMap<Integer, List<String>>> chunk : validationPool.invokeAll(chunks)) {
+                errors.putAll(chunk.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while validating routes", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Route validation failed", e.getCause());
+        }
+        return errors;
+    }
 
-        if (routeNode.isMissingNode() || upstreamNode.isMissingNode() || serviceNode.isMissingNode()) {
-            throw new IllegalStateException(
-                    "control_plane_schema.json is missing one or more required sub-schemas: main.route, main.upstream, main.service");
+    private SortedMap<Integer, List<String>> checkRoutes(ApisixSchemas schemas, List<RouteSpec> specs,
+                                                        int from, int to) {
+        SortedMap<Integer, List<String>> errors = new TreeMap<>();
+        for (int i = from; i < to; i++) {
+            if (specs.get(i) != null) {
+                List<String> routeErrors = checkRoute(schemas, specs.get(i));
+                if (!routeErrors.isEmpty()) {
+                    errors.put(i, routeErrors);
+                }
+            }
         }
+        return errors;
+    }
 
-        this.routeSchema    = factory.getSchema(routeNode);
-        this.upstreamSchema = factory.getSchema(upstreamNode);
-        this.serviceSchema  = factory.getSchema(serviceNode);
+    private List<String> checkRoute(ApisixSchemas schemas, RouteSpec spec) {
+        return cached(schemas, "route", spec, () -> {
+            List<String> errors = validate(schemas.route(), spec);
+            errors.addAll(validatePlugins(schemas, spec.getPlugins()));
+            return errors;
+        });
+    }
 
-        log.info("APISIX JSON Schemas loaded successfully from control_plane_schema.json (route, upstream, service)");
+    /**
+     * Validate an {@link UpstreamSpec} against the upstream schema of an APISIX version (null for the default).
+     */
+    public List<String> validateUpstream(String apisixVersion, UpstreamSpec spec) {
+        ApisixSchemas schemas = schemaRegistry.get(apisixVersion);
+        return cached(schemas, "upstream", spec, () -> validate(schemas.upstream(), spec));
     }
 
     /**
-     * Validate a {@link RouteSpec} against the APISIX route schema.
-     *
-     * @return set of validation errors (empty if valid)
+     * Validate a {@link ServiceSpec} against the service schema of an APISIX version (null for the default).
      */
-    public Set<ValidationMessage> validateRoute(RouteSpec spec) {
-        return validate(routeSchema, spec);
+    public List<String> validateService(String apisixVersion, ServiceSpec spec) {
+        ApisixSchemas schemas = schemaRegistry.get(apisixVersion);
+        return cached(schemas, "service", spec, () -> {
+            List<String> errors = validate(schemas.service(), spec);
+            errors.addAll(validatePlugins(schemas, spec.getPlugins()));
+            return errors;
+        });
     }
 
     /**
-     * Validate an {@link UpstreamSpec} against the APISIX upstream schema.
-     *
-     * @return set of validation errors (empty if valid)
+     * Validate a plugins map (plugin name to configuration) against the plugin schemas of an APISIX version
+     * (null for the default). Messages are prefixed with {@code $.plugins.<name>}.
      */
-    public Set<ValidationMessage> validateUpstream(UpstreamSpec spec) {
-        return validate(upstreamSchema, spec);
+    public List<String> validatePlugins(String apisixVersion, Map<String, Object> plugins) {
+        if (plugins == null) {
+            return List.of();
+        }
+        ApisixSchemas schemas = schemaRegistry.get(apisixVersion);
+        return cached(schemas, "plugins", plugins, () -> validatePlugins(schemas, plugins));
     }
 
     /**
-     * Validate a {@link ServiceSpec} against the APISIX service schema.
+     * Recompile a version's schemas from its schema document on next use, dropping cached results.
      *
-     * @return set of validation errors (empty if valid)
+     * @return false if the version is not configured
+     */
+    public boolean reloadSchemas(String version) {
+        if (!schemaRegistry.reload(version)) {
+            return false;
+        }
+        resultCache.invalidateAll();
+        return true;
+    }
+
+    public LookupCache<List<String>> getResultCache() {
+        return resultCache;
+    }
+
+    public boolean isCacheEnabled() {
+        return cacheEnabled;
+    }
+
+    /**
+     * Cached result for a spec under these schemas, running the validation on a miss.
      */
-    public Set<ValidationMessage> validateService(ServiceSpec spec) {
-        return validate(serviceSchema, spec);
+    private List<String> cached(ApisixSchemas schemas, String kind, Object spec, Supplier<List<String>> validation) {
+        if (!cacheEnabled) {
+            return validation.get();
+        }
+        String key = schemas.generation() + "/" + kind + "/" + hash(spec);
+        return resultCache.get(key, k -> Optional.of(List.copyOf(validation.get()))).orElseThrow();
     }
 
-    private Set<ValidationMessage> validate(JsonSchema schema, Object spec) {
-        JsonNode node = objectMapper.convertValue(spec, JsonNode.class);
-        return schema.validate(node);
+    private String hash(Object spec) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(canonicalWriter.writeValueAsBytes(spec));
+            return HexFormat.of().formatHex(digest);
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Failed to hash spec for validation", e);
+        }
     }
 
-    private static JsonNode loadControlPlaneSchema(ObjectMapper mapper) {
-        try (InputStream is = ApisixSchemaValidator.class.getResourceAsStream("/control_plane_schema.json")) {
-            if (is == null) {
-                throw new IllegalStateException(
-                        "Schema resource not found on classpath: /control_plane_schema.json");
+    private List<String> validatePlugins(ApisixSchemas schemas, Map<String, Object> plugins) {
+        List<String> errors = new ArrayList<>();
+        if (plugins == null) {
+            return errors;
+        }
+        plugins.forEach((name, config) -> {
+            Optional<JsonSchema> schema = schemas.plugin(name);
+            if (schema.isEmpty()) {
+                if (!allowUnknownPlugins) {
+                    errors.add("$.plugins." + name + ": unknown plugin for APISIX " + schemas.version());
+                }
+                return;
+            }
+            JsonNode node = objectMapper.convertValue(config, JsonNode.class);
+            // APISIX fills in defaults before checking a plugin, e.g. limit-count's policy "local" picks its if/then branch
+            schema.get().walk(node, false);
+            for (String message : validate(schema.get(), node)) {
+                // Plugin schemas report paths relative to the plugin configuration
+                errors.add(message.startsWith("$")
+                        ? "$.plugins." + name + message.substring(1)
+                        : "$.plugins." + name + ": " + message);
             }
-            return mapper.readTree(is);
-        } catch (IOException e) {
-            throw new IllegalStateException("Failed to parse control_plane_schema.json", e);
+        });
+        return errors;
+    }
+
+    private List<String> validate(JsonSchema schema, Object spec) {
+        return validate(schema, objectMapper.convertValue(spec, JsonNode.class));
+    }
+
+    private List<String> validate(JsonSchema schema, JsonNode node) {
+        // anyOf/oneOf branches can report the same message more than once
+        Set<String> errors = new LinkedHashSet<>();
+        for (ValidationMessage message : schema.validate(node)) {
+            errors.add(message.getMessage());
         }
+        return new ArrayList<>(errors);
     }
 }
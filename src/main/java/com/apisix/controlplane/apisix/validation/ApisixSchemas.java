@@ -0,0 +1,114 @@
+package com.apisix.controlplane.apisix.validation;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.networknt.schema.ApplyDefaultsStrategy;
+import com.networknt.schema.JsonSchema;
+import com.networknt.schema.JsonSchemaFactory;
+import com.networknt.schema.PathType;
+import com.networknt.schema.SchemaValidatorsConfig;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The compiled schemas of one APISIX version, as held by the {@link ApisixSchemaRegistry}.
+ * <p>
+ * Route, upstream and service schemas are compiled up front. Plugin schemas are compiled on the first
+ * {@link #plugin(String)} call for that plugin and cached, so only plugins that specs use are ever compiled.
+ */
+public final class ApisixSchemas {
+
+    /**
+     * Plugin schemas fill in property defaults when walked, as APISIX does before checking a plugin.
+     * Messages keep the same {@code $.path} form as the route, upstream and service schemas.
+     */
+    private static final SchemaValidatorsConfig PLUGIN_CONFIG = SchemaValidatorsConfig.builder()
+            .applyDefaultsStrategy(new ApplyDefaultsStrategy(true, false, false))
+            .pathType(PathType.LEGACY)
+            .build();
+
+    private final String version;
+    private final long generation;
+    private final JsonSchemaFactory factory;
+    private final JsonSchema route;
+    private final JsonSchema upstream;
+    private final JsonSchema service;
+    private final JsonNode pluginSchemas;
+    private final boolean fromSnapshot;
+    private final long loadMillis;
+
+    private final Map<String, JsonSchema> plugins = new ConcurrentHashMap<>();
+
+    ApisixSchemas(String version, long generation, JsonSchemaFactory factory, JsonSchema route, JsonSchema upstream,
+                  JsonSchema service, JsonNode pluginSchemas, boolean fromSnapshot, long loadMillis) {
+        this.version = version;
+        this.generation = generation;
+        this.factory = factory;
+        this.route = route;
+        this.upstream = upstream;
+        this.service = service;
+        this.pluginSchemas = pluginSchemas;
+        this.fromSnapshot = fromSnapshot;
+        this.loadMillis = loadMillis;
+    }
+
+    /**
+     * Compiled schema of a plugin's route/service-level configuration. Walking it with
+     * {@link JsonSchema#walk(JsonNode, boolean)} fills in the configuration's defaults.
+     *
+     * @return empty if this APISIX version has no plugin by that name
+     */
+    public Optional<JsonSchema> plugin(String name) {
+        JsonNode schema = pluginSchemas.get(name);
+        if (schema == null) {
+            return Optional.empty();
+        }
+        return Optional.of(plugins.computeIfAbsent(name, n -> factory.getSchema(schema, PLUGIN_CONFIG)));
+    }
+
+    public String version() {
+        return version;
+    }
+
+    /**
+     * Distinguishes these schemas from any earlier or later compile, including of the same version after a reload.
+     */
+    public long generation() {
+        return generation;
+    }
+
+    public JsonSchema route() {
+        return route;
+    }
+
+    public JsonSchema upstream() {
+        return upstream;
+    }
+
+    public JsonSchema service() {
+        return service;
+    }
+
+    /**
+     * Whether these were loaded from a snapshot rather than the full schema document.
+     */
+    public boolean fromSnapshot() {
+        return fromSnapshot;
+    }
+
+    /**
+     * Time spent reading the schemas and compiling the route, upstream and service schemas.
+     */
+    public long loadMillis() {
+        return loadMillis;
+    }
+
+    public int pluginCount() {
+        return pluginSchemas.size();
+    }
+
+    public int compiledPluginCount() {
+        return plugins.size();
+    }
+}
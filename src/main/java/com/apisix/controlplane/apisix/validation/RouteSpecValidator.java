@@ -1,11 +1,10 @@
 package com.apisix.controlplane.apisix.validation;
 
 import com.apisix.controlplane.apisix.model.RouteSpec;
-import com.networknt.schema.ValidationMessage;
 import jakarta.validation.ConstraintValidator;
 import jakarta.validation.ConstraintValidatorContext;
 
-import java.util.Set;
+import java.util.List;
 
 /**
  * Delegates {@link RouteSpec} validation to the {@link ApisixSchemaValidator}
@@ -25,14 +24,14 @@ public class RouteSpecValidator implements ConstraintValidator<ValidRouteSpec, R
             return true; // null handling is @NotNull's job
         }
 
-        Set<ValidationMessage> errors = schemaValidator.validateRoute(value);
+        List<String> errors = schemaValidator.validateRoute(value);
         if (errors.isEmpty()) {
             return true;
         }
 
         context.disableDefaultConstraintViolation();
-        for (ValidationMessage msg : errors) {
-            context.buildConstraintViolationWithTemplate(msg.getMessage())
+        for (String message : errors) {
+            context.buildConstraintViolationWithTemplate(message)
                    .addConstraintViolation();
         }
         return false;
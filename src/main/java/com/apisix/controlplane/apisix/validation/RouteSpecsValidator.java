@@ -0,0 +1,41 @@
+package com.apisix.controlplane.apisix.validation;
+
+import com.apisix.controlplane.apisix.model.RouteSpec;
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Delegates validation of a route list to {@link ApisixSchemaValidator#validateRoutes}, reporting one
+ * violation per invalid route at its index (e.g. {@code routeSpecifications[3]}), as cascaded
+ * {@link ValidRouteSpec} validation would.
+ */
+public class RouteSpecsValidator implements ConstraintValidator<ValidRouteSpecs, List<RouteSpec>> {
+
+    private final ApisixSchemaValidator schemaValidator;
+
+    public RouteSpecsValidator(ApisixSchemaValidator schemaValidator) {
+        this.schemaValidator = schemaValidator;
+    }
+
+    @Override
+    public boolean isValid(List<RouteSpec> value, ConstraintValidatorContext context) {
+        if (value == null) {
+            return true; // null handling is @NotEmpty's job
+        }
+
+        Map<Integer, List<String>> errors = schemaValidator.validateRoutes(null, value);
+        if (errors.isEmpty()) {
+            return true;
+        }
+
+        context.disableDefaultConstraintViolation();
+        errors.forEach((index, messages) ->
+                context.buildConstraintViolationWithTemplate(String.join("; ", messages))
+                       .addBeanNode().inIterable().atIndex(index)
+                       .addConstraintViolation());
+        return false;
+    }
+}
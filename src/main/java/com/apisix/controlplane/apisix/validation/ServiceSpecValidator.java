@@ -1,11 +1,10 @@
 package com.apisix.controlplane.apisix.validation;
 
 import com.apisix.controlplane.apisix.model.ServiceSpec;
-import com.networknt.schema.ValidationMessage;
 import jakarta.validation.ConstraintValidator;
 import jakarta.validation.ConstraintValidatorContext;
 
-import java.util.Set;
+import java.util.List;
 
 /**
  * Delegates {@link ServiceSpec} validation to the {@link ApisixSchemaValidator}
@@ -25,14 +24,14 @@ public class ServiceSpecValidator implements ConstraintValidator<ValidServiceSpe
             return true;
         }
 
-        Set<ValidationMessage> errors = schemaValidator.validateService(value);
+        List<String> errors = schemaValidator.validateService(value);
         if (errors.isEmpty()) {
             return true;
         }
 
         context.disableDefaultConstraintViolation();
-        for (ValidationMessage msg : errors) {
-            context.buildConstraintViolationWithTemplate(msg.getMessage())
+        for (String message : errors) {
+            context.buildConstraintViolationWithTemplate(message)
                    .addConstraintViolation();
         }
         return false;
@@ -1,11 +1,10 @@
 package com.apisix.controlplane.apisix.validation;
 
 import com.apisix.controlplane.apisix.model.UpstreamSpec;
-import com.networknt.schema.ValidationMessage;
 import jakarta.validation.ConstraintValidator;
 import jakarta.validation.ConstraintValidatorContext;
 
-import java.util.Set;
+import java.util.List;
 
 /**
  * Delegates {@link UpstreamSpec} validation to the {@link ApisixSchemaValidator}
@@ -25,14 +24,14 @@ public class UpstreamSpecValidator implements ConstraintValidator<ValidUpstreamS
             return true;
         }
 
-        Set<ValidationMessage> errors = schemaValidator.validateUpstream(value);
+        List<String> errors = schemaValidator.validateUpstream(value);
         if (errors.isEmpty()) {
             return true;
         }
 
         context.disableDefaultConstraintViolation();
-        for (ValidationMessage msg : errors) {
-            context.buildConstraintViolationWithTemplate(msg.getMessage())
+        for (String message : errors) {
+            context.buildConstraintViolationWithTemplate(message)
                    .addConstraintViolation();
         }
         return false;
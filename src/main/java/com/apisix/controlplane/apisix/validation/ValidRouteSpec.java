@@ -11,7 +11,7 @@ import java.lang.annotation.Target;
 
 /**
  * Class-level constraint that validates a {@code RouteSpec} against the
- * APISIX 3.14 JSON Schema.
+ * JSON Schema of the default APISIX version.
  */
 @Documented
 @Constraint(validatedBy = RouteSpecValidator.class)
@@ -0,0 +1,25 @@
+package com.apisix.controlplane.apisix.validation;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Field-level constraint that validates every {@code RouteSpec} of a list against the
+ * JSON Schema of the default APISIX version in one bulk call, in parallel for large lists.
+ * Use it instead of cascading {@code @Valid} into the elements.
+ */
+@Documented
+@Constraint(validatedBy = RouteSpecsValidator.class)
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ValidRouteSpecs {
+    String message() default "Invalid APISIX route specifications";
+    Class<?>[] groups() default {};
+    Class<? extends Payload>[] payload() default {};
+}
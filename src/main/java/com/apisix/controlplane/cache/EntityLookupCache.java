@@ -0,0 +1,179 @@
+package com.apisix.controlplane.cache;
+
+import com.apisix.controlplane.entity.Api;
+import com.apisix.controlplane.entity.Environment;
+import com.apisix.controlplane.entity.Upstream;
+import com.apisix.controlplane.repository.ApiRepository;
+import com.apisix.controlplane.repository.EnvironmentRepository;
+import com.apisix.controlplane.repository.UpstreamRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * In-process cache of the near-static entities looked up on almost every write path:
+ * environments, upstreams and APIs, by ID.
+ * <p>
+ * Cached entities are detached and shared between threads, so callers must treat them as read-only.
+ * Services that create, change or delete one of these entities call the matching {@code evict*} method;
+ * it invalidates immediately and again after the surrounding transaction commits, and publishes a
+ * {@link LookupCacheInvalidatedEvent} for other nodes.
+ */
+@Component
+@Slf4j
+public class EntityLookupCache {
+
+    public static final String ENVIRONMENTS = "environments";
+    public static final String UPSTREAMS = "upstreams";
+    public static final String APIS = "apis";
+
+    private final EnvironmentRepository environmentRepository;
+    private final UpstreamRepository upstreamRepository;
+    private final ApiRepository apiRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final boolean enabled;
+
+    private final LookupCache<Environment> environments;
+    private final LookupCache<Upstream> upstreams;
+    private final LookupCache<Api> apis;
+
+    public EntityLookupCache(EnvironmentRepository environmentRepository,
+                             UpstreamRepository upstreamRepository,
+                             ApiRepository apiRepository,
+                             ApplicationEventPublisher eventPublisher,
+                             @Value("${apisix.lookup-cache.enabled:true}") boolean enabled,
+                             @Value("${apisix.lookup-cache.max-size:10000}") int maxSize,
+                             @Value("${apisix.lookup-cache.ttl:300000}") long ttl) {
+        this.environmentRepository = environmentRepository;
+        this.upstreamRepository = upstreamRepository;
+        this.apiRepository = apiRepository;
+        this.eventPublisher = eventPublisher;
+        this.enabled = enabled;
+        Clock clock = Clock.systemUTC();
+        this.environments = new LookupCache<>(ENVIRONMENTS, maxSize, Duration.ofMillis(ttl), clock);
+        this.upstreams = new LookupCache<>(UPSTREAMS, maxSize, Duration.ofMillis(ttl), clock);
+        this.apis = new LookupCache<>(APIS, maxSize, Duration.ofMillis(ttl), clock);
+    }
+
+    public Optional<Environment> findEnvironment(String id) {
+        return enabled ? environments.get(id, environmentRepository::findById) : environmentRepository.findById(id);
+    }
+
+    public Optional<Upstream> findUpstream(String id) {
+        return enabled ? upstreams.get(id, upstreamRepository::findById) : upstreamRepository.findById(id);
+    }
+
+    public Optional<Api> findApi(String id) {
+        return enabled ? apis.get(id, apiRepository::findById) : apiRepository.findById(id);
+    }
+
+    /**
+     * Environments for a batch of IDs (unknown IDs are skipped), loading all misses in one query.
+     */
+    public List<Environment> findEnvironments(Collection<String> ids) {
+        if (!enabled) {
+            return environmentRepository.findAllById(ids);
+        }
+        return environments.getAll(ids, missing -> environmentRepository.findAllById(missing).stream()
+                .collect(Collectors.toMap(Environment::getId, Function.identity())));
+    }
+
+    /**
+     * Upstreams for a batch of IDs (unknown IDs are skipped), loading all misses in one query.
+     */
+    public List<Upstream> findUpstreams(Collection<String> ids) {
+        if (!enabled) {
+            return upstreamRepository.findAllById(ids);
+        }
+        return upstreams.getAll(ids, missing -> upstreamRepository.findAllById(missing).stream()
+                .collect(Collectors.toMap(Upstream::getId, Function.identity())));
+    }
+
+    public void evictEnvironment(String id) {
+        evict(environments, id);
+    }
+
+    public void evictUpstream(String id) {
+        evict(upstreams, id);
+    }
+
+    public void evictApi(String id) {
+        evict(apis, id);
+    }
+
+    /**
+     * Apply an invalidation received from another node. Does not publish an event again.
+     */
+    public void applyRemoteInvalidation(String cacheName, String id) {
+        LookupCache<?> cache = byName(cacheName);
+        if (cache == null) {
+            log.warn("Ignoring invalidation for unknown lookup cache '{}'", cacheName);
+            return;
+        }
+        if (id == null) {
+            cache.invalidateAll();
+        } else {
+            cache.invalidate(id);
+        }
+    }
+
+    /**
+     * Clear one cache locally and on other nodes.
+     *
+     * @return false if no cache has that name
+     */
+    public boolean clear(String cacheName) {
+        LookupCache<?> cache = byName(cacheName);
+        if (cache == null) {
+            return false;
+        }
+        cache.invalidateAll();
+        eventPublisher.publishEvent(new LookupCacheInvalidatedEvent(cacheName, null));
+        return true;
+    }
+
+    public List<LookupCache<?>> getCaches() {
+        return List.of(environments, upstreams, apis);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    private void evict(LookupCache<?> cache, String id) {
+        cache.invalidate(id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // A concurrent reader may reload the old row before commit; drop it once the write is visible
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidate(id);
+                    eventPublisher.publishEvent(new LookupCacheInvalidatedEvent(cache.getName(), id));
+                }
+            });
+        } else {
+            eventPublisher.publishEvent(new LookupCacheInvalidatedEvent(cache.getName(), id));
+        }
+    }
+
+    private LookupCache<?> byName(String cacheName) {
+        return switch (cacheName) {
+            case ENVIRONMENTS -> environments;
+            case UPSTREAMS -> upstreams;
+            case APIS -> apis;
+            default -> null;
+        };
+    }
+}
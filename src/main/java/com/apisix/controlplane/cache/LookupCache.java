@@ -0,0 +1,150 @@
+package com.apisix.controlplane.cache;
+
+import lombok.Getter;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Size- and TTL-bounded, least-recently-used cache of entities by ID.
+ * <p>
+ * Only found entities are cached. Every invalidation bumps a generation counter, and a value loaded
+ * while an invalidation happened is returned but not stored, so a load racing a committed write can
+ * never put the old row back.
+ */
+public class LookupCache<V> {
+
+    private record Entry<V>(V value, long expiresAt) {}
+
+    @Getter
+    private final String name;
+
+    @Getter
+    private final int maxSize;
+
+    @Getter
+    private final Duration ttl;
+
+    private final Clock clock;
+    private final LinkedHashMap<String, Entry<V>> entries;
+
+    private long generation;
+
+    @Getter
+    private long hits;
+
+    @Getter
+    private long misses;
+
+    @Getter
+    private long evictions;
+
+    @Getter
+    private long invalidations;
+
+    public LookupCache(String name, int maxSize, Duration ttl, Clock clock) {
+        this.name = name;
+        this.maxSize = maxSize;
+        this.ttl = ttl;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry<V>> eldest) {
+                if (size() > LookupCache.this.maxSize) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Cached value for an ID, loading it on a miss. The loader runs outside the cache lock.
+     */
+    public Optional<V> get(String id, Function<String, Optional<V>> loader) {
+        long loadGeneration;
+        synchronized (this) {
+            V cached = lookup(id);
+            if (cached != null) {
+                return Optional.of(cached);
+            }
+            loadGeneration = generation;
+        }
+        Optional<V> loaded = loader.apply(id);
+        loaded.ifPresent(value -> store(id, value, loadGeneration));
+        return loaded;
+    }
+
+    /**
+     * Cached values for a batch of IDs, loading all misses with a single loader call.
+     * Duplicate IDs yield one value; IDs the loader does not find are skipped.
+     */
+    public List<V> getAll(Collection<String> ids, Function<Collection<String>, Map<String, V>> loader) {
+        List<V> result = new ArrayList<>(ids.size());
+        List<String> missing = new ArrayList<>();
+        long loadGeneration;
+        synchronized (this) {
+            for (String id : new LinkedHashSet<>(ids)) {
+                V cached = lookup(id);
+                if (cached != null) {
+                    result.add(cached);
+                } else {
+                    missing.add(id);
+                }
+            }
+            loadGeneration = generation;
+        }
+        if (!missing.isEmpty()) {
+            loader.apply(missing).forEach((id, value) -> {
+                store(id, value, loadGeneration);
+                result.add(value);
+            });
+        }
+        return result;
+    }
+
+    public synchronized void invalidate(String id) {
+        generation++;
+        invalidations++;
+        entries.remove(id);
+    }
+
+    public synchronized void invalidateAll() {
+        generation++;
+        invalidations++;
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private V lookup(String id) {
+        Entry<V> entry = entries.get(id);
+        if (entry != null && entry.expiresAt() > clock.millis()) {
+            hits++;
+            return entry.value();
+        }
+        if (entry != null) {
+            entries.remove(id);
+            evictions++;
+        }
+        misses++;
+        return null;
+    }
+
+    private synchronized void store(String id, V value, long loadGeneration) {
+        if (generation == loadGeneration) {
+            entries.put(id, new Entry<>(value, clock.millis() + ttl.toMillis()));
+        }
+    }
+}
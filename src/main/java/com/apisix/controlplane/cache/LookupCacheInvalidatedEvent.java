@@ -0,0 +1,10 @@
+package com.apisix.controlplane.cache;
+
+/**
+ * Published after a local write invalidates a cached entity ({@code id} is null when the whole cache was cleared).
+ * <p>
+ * This is the cross-node hook: a broadcaster (e.g. Postgres NOTIFY or a message bus) can forward these
+ * events and have peers call {@link EntityLookupCache#applyRemoteInvalidation(String, String)}.
+ */
+public record LookupCacheInvalidatedEvent(String cacheName, String id) {
+}
@@ -0,0 +1,29 @@
+package com.apisix.controlplane.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class DeploymentExecutorConfig {
+
+    /**
+     * Bounded pool for asynchronous deployment jobs. Submissions beyond the queue capacity are rejected.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor deploymentExecutor(
+            @Value("${apisix.deploy.async.core-pool-size:4}") int corePoolSize,
+            @Value("${apisix.deploy.async.max-pool-size:8}") int maxPoolSize,
+            @Value("${apisix.deploy.async.queue-capacity:100}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(corePoolSize);
+        executor.setMaxPoolSize(maxPoolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("deploy-job-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,26 @@
+package com.apisix.controlplane.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+
+@Configuration
+public class SchemaValidationConfig {
+
+    /**
+     * Bounded pool for validating large route lists in parallel. Parallelism 0 means one thread per CPU.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ForkJoinPool schemaValidationPool(
+            @Value("${apisix.schema.validation-pool.parallelism:0}") int parallelism) {
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        return new ForkJoinPool(threads, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("schema-validation-" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+    }
+}
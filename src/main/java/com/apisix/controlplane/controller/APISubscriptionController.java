@@ -12,6 +12,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -24,6 +25,8 @@ import org.springframework.web.bind.annotation.*;
 @CrossOrigin(origins = "*")
 public class APISubscriptionController {
 
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "createdAt", "id");
+
     private final APISubscriptionService subscriptionService;
 
     @PostMapping("/apis/{apiId}/subscriptions")
@@ -44,9 +47,14 @@ public class APISubscriptionController {
             @Valid @ModelAttribute PaginationRequest pagination) {
         log.info("GET /api/orgs/{}/subscriptions - Fetching subscriptions (developerId: {}, envId: {})",
                 orgId, developerId, envId);
+        if (pagination.usesCursor()) {
+            Window<APISubscription> window = subscriptionService.getSubscriptions(orgId, developerId, envId,
+                    pagination.toScrollPosition(APISubscription.class, NEWEST_FIRST), NEWEST_FIRST, pagination.toLimit());
+            return ResponseEntity.ok(PaginatedResponse.from(window, pagination.getSize(), window.getContent()));
+        }
         Page<APISubscription> page = subscriptionService.getSubscriptions(
                 orgId, developerId, envId,
-                pagination.toPageable().withSort(Sort.by(Sort.Direction.DESC, "createdAt")));
+                pagination.toPageable().withSort(NEWEST_FIRST));
         return ResponseEntity.ok(PaginatedResponse.from(page, page.getContent()));
     }
 
@@ -58,9 +66,14 @@ public class APISubscriptionController {
             @Valid @ModelAttribute PaginationRequest pagination) {
         log.info("GET /api/orgs/{}/envs/{}/subscriptions - Fetching subscriptions (developerId: {})",
                 orgId, envId, developerId);
+        if (pagination.usesCursor()) {
+            Window<APISubscription> window = subscriptionService.getSubscriptions(orgId, developerId, envId,
+                    pagination.toScrollPosition(APISubscription.class, NEWEST_FIRST), NEWEST_FIRST, pagination.toLimit());
+            return ResponseEntity.ok(PaginatedResponse.from(window, pagination.getSize(), window.getContent()));
+        }
         Page<APISubscription> page = subscriptionService.getSubscriptions(
                 orgId, developerId, envId,
-                pagination.toPageable().withSort(Sort.by(Sort.Direction.DESC, "createdAt")));
+                pagination.toPageable().withSort(NEWEST_FIRST));
         return ResponseEntity.ok(PaginatedResponse.from(page, page.getContent()));
     }
 
@@ -70,9 +83,14 @@ public class APISubscriptionController {
             @PathVariable String apiId,
             @Valid @ModelAttribute PaginationRequest pagination) {
         log.info("GET /api/orgs/{}/apis/{}/subscriptions - Fetching subscriptions for API", orgId, apiId);
+        if (pagination.usesCursor()) {
+            Window<APISubscription> window = subscriptionService.getSubscriptionsByApi(orgId, apiId,
+                    pagination.toScrollPosition(APISubscription.class, NEWEST_FIRST), NEWEST_FIRST, pagination.toLimit());
+            return ResponseEntity.ok(PaginatedResponse.from(window, pagination.getSize(), window.getContent()));
+        }
         Page<APISubscription> page = subscriptionService.getSubscriptionsByApi(
                 orgId, apiId,
-                pagination.toPageable().withSort(Sort.by(Sort.Direction.DESC, "createdAt")));
+                pagination.toPageable().withSort(NEWEST_FIRST));
         return ResponseEntity.ok(PaginatedResponse.from(page, page.getContent()));
     }
 
@@ -10,6 +10,7 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -21,6 +22,8 @@ import org.springframework.web.bind.annotation.*;
 @Hidden
 public class ApiController {
 
+    private static final Sort BY_NAME = Sort.by(Sort.Direction.ASC, "name", "id");
+
     private final ApiService apiService;
 
     @PostMapping
@@ -35,8 +38,13 @@ public class ApiController {
     public ResponseEntity<PaginatedResponse<Api>> getAllApis(
             @PathVariable String orgId,
             @Valid @ModelAttribute PaginationRequest pagination) {
+        if (pagination.usesCursor()) {
+            Window<Api> window = apiService.getApisByOrg(orgId,
+                    pagination.toScrollPosition(Api.class, BY_NAME), BY_NAME, pagination.toLimit());
+            return ResponseEntity.ok(PaginatedResponse.from(window, pagination.getSize(), window.getContent()));
+        }
         Page<Api> page = apiService.getApisByOrg(
-                orgId, pagination.toPageable().withSort(Sort.by(Sort.Direction.ASC, "name")));
+                orgId, pagination.toPageable().withSort(BY_NAME));
         return ResponseEntity.ok(PaginatedResponse.from(page, page.getContent()));
     }
 
@@ -0,0 +1,29 @@
+package com.apisix.controlplane.controller;
+
+import com.apisix.controlplane.apisix.client.ApisixAdminClientRegistry;
+import com.apisix.controlplane.dto.CircuitBreakerStateResponse;
+import io.swagger.v3.oas.annotations.Hidden;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Comparator;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/circuit-breakers")
+@RequiredArgsConstructor
+@Hidden
+@CrossOrigin(origins = "*")
+public class ApisixCircuitBreakerController {
+
+    private final ApisixAdminClientRegistry clientRegistry;
+
+    @GetMapping
+    public ResponseEntity<List<CircuitBreakerStateResponse>> getCircuitBreakers() {
+        return ResponseEntity.ok(clientRegistry.getCircuitBreakers().stream()
+                .map(CircuitBreakerStateResponse::from)
+                .sorted(Comparator.comparing(CircuitBreakerStateResponse::getAdminUrl))
+                .toList());
+    }
+}
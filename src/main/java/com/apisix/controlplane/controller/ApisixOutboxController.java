@@ -0,0 +1,23 @@
+package com.apisix.controlplane.controller;
+
+import com.apisix.controlplane.dto.OutboxStatsResponse;
+import com.apisix.controlplane.service.ApisixOutboxDispatcher;
+import io.swagger.v3.oas.annotations.Hidden;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/v1/outbox")
+@RequiredArgsConstructor
+@Hidden
+@CrossOrigin(origins = "*")
+public class ApisixOutboxController {
+
+    private final ApisixOutboxDispatcher outboxDispatcher;
+
+    @GetMapping("/stats")
+    public ResponseEntity<OutboxStatsResponse> getStats() {
+        return ResponseEntity.ok(outboxDispatcher.getStats());
+    }
+}
@@ -0,0 +1,36 @@
+package com.apisix.controlplane.controller;
+
+import com.apisix.controlplane.entity.ReconcileRun;
+import com.apisix.controlplane.service.ApisixDriftReconciler;
+import io.swagger.v3.oas.annotations.Hidden;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/reconcile")
+@RequiredArgsConstructor
+@Hidden
+@CrossOrigin(origins = "*")
+public class ApisixReconcileController {
+
+    private final ApisixDriftReconciler reconciler;
+
+    @PostMapping("/environments/{envId}")
+    public ResponseEntity<ReconcileRun> triggerReconcile(@PathVariable String envId) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(reconciler.trigger(envId));
+    }
+
+    @GetMapping("/runs")
+    public ResponseEntity<List<ReconcileRun>> getRecentRuns(@RequestParam(required = false) String environmentId) {
+        return ResponseEntity.ok(reconciler.getRecentRuns(environmentId));
+    }
+
+    @GetMapping("/runs/{runId}")
+    public ResponseEntity<ReconcileRun> getRun(@PathVariable String runId) {
+        return ResponseEntity.ok(reconciler.getRun(runId));
+    }
+}
@@ -0,0 +1,54 @@
+package com.apisix.controlplane.controller;
+
+import com.apisix.controlplane.apisix.validation.ApisixSchemaRegistry;
+import com.apisix.controlplane.apisix.validation.ApisixSchemaValidator;
+import com.apisix.controlplane.dto.ApisixSchemaVersionResponse;
+import com.apisix.controlplane.dto.LookupCacheStatsResponse;
+import com.apisix.controlplane.exception.ResourceNotFoundException;
+import io.swagger.v3.oas.annotations.Hidden;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/apisix-schemas")
+@RequiredArgsConstructor
+@Hidden
+@CrossOrigin(origins = "*")
+public class ApisixSchemaController {
+
+    private final ApisixSchemaRegistry schemaRegistry;
+    private final ApisixSchemaValidator schemaValidator;
+
+    @GetMapping
+    public ResponseEntity<List<ApisixSchemaVersionResponse>> getVersions() {
+        return ResponseEntity.ok(schemaRegistry.getVersions().stream()
+                .map(version -> ApisixSchemaVersionResponse.from(schemaRegistry, version))
+                .toList());
+    }
+
+    /**
+     * Recompile a version from its schema document (e.g. after replacing the file) on next use.
+     */
+    @PostMapping("/{version}/reload")
+    public ResponseEntity<Void> reloadVersion(@PathVariable String version) {
+        if (!schemaValidator.reloadSchemas(version)) {
+            throw new ResourceNotFoundException("APISIX schema version not configured: " + version);
+        }
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/validation-cache")
+    public ResponseEntity<LookupCacheStatsResponse> getValidationCache() {
+        return ResponseEntity.ok(LookupCacheStatsResponse.from(
+                schemaValidator.getResultCache(), schemaValidator.isCacheEnabled()));
+    }
+
+    @DeleteMapping("/validation-cache")
+    public ResponseEntity<Void> clearValidationCache() {
+        schemaValidator.getResultCache().invalidateAll();
+        return ResponseEntity.noContent().build();
+    }
+}
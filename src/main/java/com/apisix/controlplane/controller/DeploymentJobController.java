@@ -0,0 +1,25 @@
+package com.apisix.controlplane.controller;
+
+import com.apisix.controlplane.entity.DeploymentJob;
+import com.apisix.controlplane.service.DeploymentJobService;
+import io.swagger.v3.oas.annotations.Hidden;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/orgs/{orgId}/deployments/jobs")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+@Hidden
+public class DeploymentJobController {
+
+    private final DeploymentJobService deploymentJobService;
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<DeploymentJob> getJob(
+            @PathVariable String orgId,
+            @PathVariable String jobId) {
+        return ResponseEntity.ok(deploymentJobService.getJob(orgId, jobId));
+    }
+}
@@ -12,6 +12,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -24,6 +25,8 @@ import org.springframework.web.bind.annotation.*;
 @CrossOrigin(origins = "*")
 public class DeveloperController {
     
+    private static final Sort BY_FIRST_NAME = Sort.by(Sort.Direction.ASC, "firstName", "id");
+
     private final DeveloperService developerService;
     
     @PostMapping
@@ -40,8 +43,13 @@ public class DeveloperController {
             @PathVariable String orgId,
             @Valid @ModelAttribute PaginationRequest pagination) {
         log.info("GET /api/v1/organizations/{}/developers - Fetching developers", orgId);
+        if (pagination.usesCursor()) {
+            Window<Developer> window = developerService.getDevelopersByOrganization(orgId,
+                    pagination.toScrollPosition(Developer.class, BY_FIRST_NAME), BY_FIRST_NAME, pagination.toLimit());
+            return ResponseEntity.ok(PaginatedResponse.from(window, pagination.getSize(), window.getContent()));
+        }
         Page<Developer> page = developerService.getDevelopersByOrganization(
-                orgId, pagination.toPageable().withSort(Sort.by(Sort.Direction.ASC, "firstName")));
+                orgId, pagination.toPageable().withSort(BY_FIRST_NAME));
         return ResponseEntity.ok(PaginatedResponse.from(page, page.getContent()));
     }
     
@@ -0,0 +1,36 @@
+package com.apisix.controlplane.controller;
+
+import com.apisix.controlplane.cache.EntityLookupCache;
+import com.apisix.controlplane.dto.LookupCacheStatsResponse;
+import com.apisix.controlplane.exception.ResourceNotFoundException;
+import io.swagger.v3.oas.annotations.Hidden;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/caches")
+@RequiredArgsConstructor
+@Hidden
+@CrossOrigin(origins = "*")
+public class LookupCacheController {
+
+    private final EntityLookupCache lookupCache;
+
+    @GetMapping
+    public ResponseEntity<List<LookupCacheStatsResponse>> getCaches() {
+        return ResponseEntity.ok(lookupCache.getCaches().stream()
+                .map(cache -> LookupCacheStatsResponse.from(cache, lookupCache.isEnabled()))
+                .toList());
+    }
+
+    @DeleteMapping("/{name}")
+    public ResponseEntity<Void> clearCache(@PathVariable String name) {
+        if (!lookupCache.clear(name)) {
+            throw new ResourceNotFoundException("Cache not found: " + name);
+        }
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -12,6 +12,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -24,6 +25,8 @@ import org.springframework.web.bind.annotation.*;
 @CrossOrigin(origins = "*")
 public class ProductSubscriptionController {
 
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "createdAt", "id");
+
     private final ProductSubscriptionService subscriptionService;
 
     @PostMapping("/envs/{envId}/products/{productId}/subscriptions")
@@ -45,9 +48,14 @@ public class ProductSubscriptionController {
             @Valid @ModelAttribute PaginationRequest pagination) {
         log.info("GET /api/orgs/{}/products/subscriptions - Fetching subscriptions (developerId: {}, envId: {})",
                 orgId, developerId, envId);
+        if (pagination.usesCursor()) {
+            Window<ProductSubscription> window = subscriptionService.getSubscriptionsByOrganization(orgId, envId, developerId,
+                    pagination.toScrollPosition(ProductSubscription.class, NEWEST_FIRST), NEWEST_FIRST, pagination.toLimit());
+            return ResponseEntity.ok(PaginatedResponse.from(window, pagination.getSize(), window.getContent()));
+        }
         Page<ProductSubscription> page = subscriptionService.getSubscriptionsByOrganization(
                 orgId, envId, developerId,
-                pagination.toPageable().withSort(Sort.by(Sort.Direction.DESC, "createdAt")));
+                pagination.toPageable().withSort(NEWEST_FIRST));
         return ResponseEntity.ok(PaginatedResponse.from(page, page.getContent()));
     }
 
@@ -59,9 +67,14 @@ public class ProductSubscriptionController {
             @Valid @ModelAttribute PaginationRequest pagination) {
         log.info("GET /api/orgs/{}/envs/{}/products/subscriptions - Fetching subscriptions (developerId: {})",
                 orgId, envId, developerId);
+        if (pagination.usesCursor()) {
+            Window<ProductSubscription> window = subscriptionService.getSubscriptionsByOrganization(orgId, envId, developerId,
+                    pagination.toScrollPosition(ProductSubscription.class, NEWEST_FIRST), NEWEST_FIRST, pagination.toLimit());
+            return ResponseEntity.ok(PaginatedResponse.from(window, pagination.getSize(), window.getContent()));
+        }
         Page<ProductSubscription> page = subscriptionService.getSubscriptionsByOrganization(
                 orgId, envId, developerId,
-                pagination.toPageable().withSort(Sort.by(Sort.Direction.DESC, "createdAt")));
+                pagination.toPageable().withSort(NEWEST_FIRST));
         return ResponseEntity.ok(PaginatedResponse.from(page, page.getContent()));
     }
 
@@ -73,9 +86,14 @@ public class ProductSubscriptionController {
             @Valid @ModelAttribute PaginationRequest pagination) {
         log.info("GET /api/orgs/{}/envs/{}/products/{}/subscriptions - Fetching subscriptions for product",
                 orgId, envId, productId);
+        if (pagination.usesCursor()) {
+            Window<ProductSubscription> window = subscriptionService.getSubscriptionsByProduct(orgId, productId,
+                    pagination.toScrollPosition(ProductSubscription.class, NEWEST_FIRST), NEWEST_FIRST, pagination.toLimit());
+            return ResponseEntity.ok(PaginatedResponse.from(window, pagination.getSize(), window.getContent()));
+        }
         Page<ProductSubscription> page = subscriptionService.getSubscriptionsByProduct(
                 orgId, productId,
-                pagination.toPageable().withSort(Sort.by(Sort.Direction.DESC, "createdAt")));
+                pagination.toPageable().withSort(NEWEST_FIRST));
         return ResponseEntity.ok(PaginatedResponse.from(page, page.getContent()));
     }
 
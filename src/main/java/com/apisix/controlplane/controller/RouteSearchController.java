@@ -0,0 +1,34 @@
+package com.apisix.controlplane.controller;
+
+import com.apisix.controlplane.dto.PaginatedResponse;
+import com.apisix.controlplane.dto.PaginationRequest;
+import com.apisix.controlplane.dto.RouteSearchRequest;
+import com.apisix.controlplane.dto.RouteSearchResult;
+import com.apisix.controlplane.service.RouteSearchService;
+import io.swagger.v3.oas.annotations.Hidden;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/orgs/{orgId}/route-search")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+@Hidden
+public class RouteSearchController {
+
+    private final RouteSearchService routeSearchService;
+
+    /**
+     * Routes of every revision in the org matching all given filters, ordered by API, newest revision
+     * first, then route index.
+     */
+    @GetMapping
+    public ResponseEntity<PaginatedResponse<RouteSearchResult>> searchRoutes(
+            @PathVariable String orgId,
+            @ModelAttribute RouteSearchRequest search,
+            @Valid @ModelAttribute PaginationRequest pagination) {
+        return ResponseEntity.ok(routeSearchService.searchRoutes(orgId, search, pagination.toPageable()));
+    }
+}
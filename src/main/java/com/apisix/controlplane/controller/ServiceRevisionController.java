@@ -1,6 +1,8 @@
 package com.apisix.controlplane.controller;
 
+import com.apisix.controlplane.apisix.model.RouteSpec;
 import com.apisix.controlplane.dto.*;
+import com.apisix.controlplane.service.DeploymentJobService;
 import com.apisix.controlplane.service.ServiceRevisionService;
 import io.swagger.v3.oas.annotations.Hidden;
 import jakarta.validation.Valid;
@@ -18,6 +20,7 @@ import org.springframework.web.bind.annotation.*;
 public class ServiceRevisionController {
 
     private final ServiceRevisionService revisionService;
+    private final DeploymentJobService deploymentJobService;
 
     @PostMapping
     public ResponseEntity<ServiceRevisionResponse> createRevision(
@@ -54,6 +57,35 @@ public class ServiceRevisionController {
         return ResponseEntity.ok(revisionService.updateRevisionSpecs(revisionId, request));
     }
 
+    @GetMapping("/{revisionId}/routes")
+    public ResponseEntity<PaginatedResponse<RevisionRouteResponse>> getRoutes(
+            @PathVariable String orgId,
+            @PathVariable String apiId,
+            @PathVariable String revisionId,
+            @Valid @ModelAttribute PaginationRequest pagination) {
+        return ResponseEntity.ok(revisionService.getRoutes(
+                revisionId, pagination.toPageable().withSort(Sort.by(Sort.Direction.ASC, "routeIndex"))));
+    }
+
+    @GetMapping("/{revisionId}/routes/{routeIndex}")
+    public ResponseEntity<RevisionRouteResponse> getRoute(
+            @PathVariable String orgId,
+            @PathVariable String apiId,
+            @PathVariable String revisionId,
+            @PathVariable int routeIndex) {
+        return ResponseEntity.ok(revisionService.getRoute(revisionId, routeIndex));
+    }
+
+    @PatchMapping("/{revisionId}/routes/{routeIndex}")
+    public ResponseEntity<RevisionRouteResponse> updateRoute(
+            @PathVariable String orgId,
+            @PathVariable String apiId,
+            @PathVariable String revisionId,
+            @PathVariable int routeIndex,
+            @Valid @RequestBody RouteSpec routeSpec) {
+        return ResponseEntity.ok(revisionService.updateRoute(revisionId, routeIndex, routeSpec));
+    }
+
     @PutMapping("/{revisionId}/upstream-bindings")
     public ResponseEntity<ServiceRevisionResponse> updateUpstreamBindings(
             @PathVariable String orgId,
@@ -81,20 +113,36 @@ public class ServiceRevisionController {
     }
 
     @PostMapping("/{revisionId}/deploy")
-    public ResponseEntity<ServiceRevisionResponse> deployRevision(
+    public ResponseEntity<?> deployRevision(
             @PathVariable String orgId,
             @PathVariable String apiId,
             @PathVariable String revisionId,
             @Valid @RequestBody DeployRequest request) {
+        if (request.isAsync()) {
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(deploymentJobService.submitDeploy(revisionId, request));
+        }
         return ResponseEntity.ok(revisionService.deployRevision(revisionId, request));
     }
 
+    @PostMapping("/{revisionId}/deploy-many")
+    public ResponseEntity<DeployManyResponse> deployRevisionToEnvironments(
+            @PathVariable String orgId,
+            @PathVariable String apiId,
+            @PathVariable String revisionId,
+            @Valid @RequestBody DeployManyRequest request) {
+        DeployManyResponse response = revisionService.deployRevisionToEnvironments(revisionId, request);
+        return ResponseEntity.status(response.isSuccess() ? HttpStatus.OK : HttpStatus.MULTI_STATUS).body(response);
+    }
+
     @PostMapping("/{revisionId}/undeploy")
-    public ResponseEntity<ServiceRevisionResponse> undeployRevision(
+    public ResponseEntity<?> undeployRevision(
             @PathVariable String orgId,
             @PathVariable String apiId,
             @PathVariable String revisionId,
             @Valid @RequestBody UndeployRequest request) {
+        if (request.isAsync()) {
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(deploymentJobService.submitUndeploy(revisionId, request));
+        }
         return ResponseEntity.ok(revisionService.undeployRevision(revisionId, request));
     }
 }
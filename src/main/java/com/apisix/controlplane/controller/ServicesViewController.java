@@ -13,6 +13,7 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -27,6 +28,8 @@ import java.util.Map;
 @Hidden
 public class ServicesViewController {
 
+    private static final Sort BY_NAME = Sort.by(Sort.Direction.ASC, "name", "id");
+
     private final ApiService apiService;
     private final ServiceRevisionService revisionService;
 
@@ -35,19 +38,27 @@ public class ServicesViewController {
             @PathVariable String orgId,
             @Valid @ModelAttribute PaginationRequest pagination) {
 
+        if (pagination.usesCursor()) {
+            Window<Api> apiWindow = apiService.getApisByOrg(orgId,
+                    pagination.toScrollPosition(Api.class, BY_NAME), BY_NAME, pagination.toLimit());
+            return ResponseEntity.ok(PaginatedResponse.from(
+                    apiWindow, pagination.getSize(), withRevisions(apiWindow.getContent())));
+        }
+
         Page<Api> apiPage = apiService.getApisByOrg(
-                orgId, pagination.toPageable().withSort(Sort.by(Sort.Direction.ASC, "name")));
+                orgId, pagination.toPageable().withSort(BY_NAME));
+        return ResponseEntity.ok(PaginatedResponse.from(apiPage, withRevisions(apiPage.getContent())));
+    }
 
-        List<String> apiIds = apiPage.getContent().stream().map(Api::getId).toList();
+    private List<ApiWithRevisionsResponse> withRevisions(List<Api> apis) {
+        List<String> apiIds = apis.stream().map(Api::getId).toList();
         Map<String, List<RevisionSummary>> revisionsByApi = revisionService.getRevisionSummariesByApiIds(apiIds);
 
-        List<ApiWithRevisionsResponse> content = apiPage.getContent().stream()
+        return apis.stream()
                 .map(api -> ApiWithRevisionsResponse.fromEntity(
                         api,
                         revisionsByApi.getOrDefault(api.getId(), List.of())
                 ))
                 .toList();
-
-        return ResponseEntity.ok(PaginatedResponse.from(apiPage, content));
     }
 }
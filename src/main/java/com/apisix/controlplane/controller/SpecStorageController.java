@@ -0,0 +1,23 @@
+package com.apisix.controlplane.controller;
+
+import com.apisix.controlplane.dto.SpecStorageReport;
+import com.apisix.controlplane.service.SpecContentService;
+import io.swagger.v3.oas.annotations.Hidden;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/v1/spec-storage")
+@RequiredArgsConstructor
+@Hidden
+@CrossOrigin(origins = "*")
+public class SpecStorageController {
+
+    private final SpecContentService specContentService;
+
+    @GetMapping
+    public ResponseEntity<SpecStorageReport> getReport() {
+        return ResponseEntity.ok(specContentService.getStorageReport());
+    }
+}
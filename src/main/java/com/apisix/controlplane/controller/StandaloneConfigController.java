@@ -0,0 +1,49 @@
+package com.apisix.controlplane.controller;
+
+import com.apisix.controlplane.dto.StandaloneConfigExportResponse;
+import com.apisix.controlplane.enums.StandaloneConfigFormat;
+import com.apisix.controlplane.service.ApisixStandaloneConfigService;
+import io.swagger.v3.oas.annotations.Hidden;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * APISIX standalone-mode configuration (apisix.yaml / apisix.json) of an environment.
+ */
+@RestController
+@RequestMapping("/api/orgs/{orgId}/envs/{envId}/standalone-config")
+@RequiredArgsConstructor
+@Hidden
+@CrossOrigin(origins = "*")
+public class StandaloneConfigController {
+
+    private final ApisixStandaloneConfigService standaloneConfigService;
+
+    @GetMapping
+    public ResponseEntity<StreamingResponseBody> getStandaloneConfig(
+            @PathVariable String orgId,
+            @PathVariable String envId,
+            @RequestParam(defaultValue = "YAML") StandaloneConfigFormat format) {
+        var config = standaloneConfigService.compile(envId);
+        return ResponseEntity.ok()
+                .contentType(format == StandaloneConfigFormat.YAML
+                        ? MediaType.parseMediaType("application/yaml")
+                        : MediaType.APPLICATION_JSON)
+                .eTag("\"" + config.contentHash() + "\"")
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"" + standaloneConfigService.fileName(envId, format) + "\"")
+                .body(out -> standaloneConfigService.write(config, format, out));
+    }
+
+    @PostMapping("/export")
+    public ResponseEntity<StandaloneConfigExportResponse> exportStandaloneConfig(
+            @PathVariable String orgId,
+            @PathVariable String envId,
+            @RequestParam(defaultValue = "YAML") StandaloneConfigFormat format) {
+        return ResponseEntity.ok(standaloneConfigService.export(envId, format));
+    }
+}
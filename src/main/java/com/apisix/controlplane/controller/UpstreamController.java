@@ -10,6 +10,7 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -21,6 +22,8 @@ import org.springframework.web.bind.annotation.*;
 @Hidden
 public class UpstreamController {
 
+    private static final Sort BY_NAME = Sort.by(Sort.Direction.ASC, "name", "id");
+
     private final UpstreamService upstreamService;
 
     @GetMapping
@@ -28,8 +31,13 @@ public class UpstreamController {
             @PathVariable String orgId,
             @PathVariable String envId,
             @Valid @ModelAttribute PaginationRequest pagination) {
+        if (pagination.usesCursor()) {
+            Window<Upstream> window = upstreamService.getUpstreamsByEnvironment(envId,
+                    pagination.toScrollPosition(Upstream.class, BY_NAME), BY_NAME, pagination.toLimit());
+            return ResponseEntity.ok(PaginatedResponse.from(window, pagination.getSize(), window.getContent()));
+        }
         Page<Upstream> page = upstreamService.getUpstreamsByEnvironment(
-                envId, pagination.toPageable().withSort(Sort.by(Sort.Direction.ASC, "name")));
+                envId, pagination.toPageable().withSort(BY_NAME));
         return ResponseEntity.ok(PaginatedResponse.from(page, page.getContent()));
     }
 
@@ -0,0 +1,38 @@
+package com.apisix.controlplane.dto;
+
+import com.apisix.controlplane.apisix.validation.ApisixSchemaRegistry;
+import com.apisix.controlplane.apisix.validation.ApisixSchemas;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApisixSchemaVersionResponse {
+
+    private String version;
+    private String location;
+    private boolean defaultVersion;
+    private boolean compiled;       // Versions compile on first use
+    private Boolean fromSnapshot;   // Null until compiled
+    private Long loadMs;            // Null until compiled
+    private Integer plugins;        // Plugins with a schema in this version; null until compiled
+    private Integer compiledPlugins; // Plugin schemas compiled so far, on first use by a spec
+
+    public static ApisixSchemaVersionResponse from(ApisixSchemaRegistry registry, String version) {
+        var schemas = registry.findCompiled(version);
+        return ApisixSchemaVersionResponse.builder()
+                .version(version)
+                .location(registry.getLocation(version))
+                .defaultVersion(version.equals(registry.getDefaultVersion()))
+                .compiled(schemas.isPresent())
+                .fromSnapshot(schemas.map(ApisixSchemas::fromSnapshot).orElse(null))
+                .loadMs(schemas.map(ApisixSchemas::loadMillis).orElse(null))
+                .plugins(schemas.map(ApisixSchemas::pluginCount).orElse(null))
+                .compiledPlugins(schemas.map(ApisixSchemas::compiledPluginCount).orElse(null))
+                .build();
+    }
+}
@@ -0,0 +1,44 @@
+package com.apisix.controlplane.dto;
+
+import com.apisix.controlplane.apisix.client.ApisixCircuitBreaker;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CircuitBreakerStateResponse {
+
+    private String adminUrl;
+    private ApisixCircuitBreaker.State state;
+    private int consecutiveFailures;
+    private LocalDateTime openedAt;
+    private LocalDateTime retryAt;      // When an open circuit starts probing
+    private int inFlightCalls;
+    private int maxConcurrentCalls;
+    private long rejectedCalls;         // Fail-fast rejections since startup (open circuit or full bulkhead)
+
+    public static CircuitBreakerStateResponse from(ApisixCircuitBreaker breaker) {
+        return CircuitBreakerStateResponse.builder()
+                .adminUrl(breaker.getAdminUrl())
+                .state(breaker.getState())
+                .consecutiveFailures(breaker.getConsecutiveFailures())
+                .openedAt(toLocal(breaker.getOpenedAt()))
+                .retryAt(toLocal(breaker.getRetryAt()))
+                .inFlightCalls(breaker.getInFlightCalls())
+                .maxConcurrentCalls(breaker.getMaxConcurrentCalls())
+                .rejectedCalls(breaker.getRejectedCalls())
+                .build();
+    }
+
+    private static LocalDateTime toLocal(Instant instant) {
+        return instant != null ? LocalDateTime.ofInstant(instant, ZoneId.systemDefault()) : null;
+    }
+}
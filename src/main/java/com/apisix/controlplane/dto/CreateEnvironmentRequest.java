@@ -1,5 +1,6 @@
 package com.apisix.controlplane.dto;
 
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import lombok.Data;
 
@@ -14,5 +15,10 @@ public class CreateEnvironmentRequest {
     private String apisixAdminUrl;
 
     private boolean active = true;
+
+    @Min(value = 1, message = "Route push concurrency must be at least 1")
+    private Integer routePushConcurrency;
+
+    private String apisixVersion;   // Defaults to apisix.schema.default-version
 }
 
@@ -0,0 +1,30 @@
+package com.apisix.controlplane.dto;
+
+import com.apisix.controlplane.enums.DeployMode;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class DeployManyRequest {
+
+    /**
+     * Environment IDs to deploy to; duplicates are ignored
+     */
+    @NotEmpty(message = "At least one environment ID is required")
+    private List<@NotBlank String> environmentIds;
+
+    /**
+     * Force deployment even if already deployed (per environment, same as a single deploy)
+     */
+    private boolean force;
+
+    /**
+     * Whether one failing environment rolls back the others
+     */
+    @NotNull(message = "Deploy mode is required")
+    private DeployMode mode = DeployMode.ALL_OR_NOTHING;
+}
@@ -0,0 +1,27 @@
+package com.apisix.controlplane.dto;
+
+import com.apisix.controlplane.enums.DeployMode;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeployManyResponse {
+
+    private String revisionId;
+    private DeployMode mode;
+
+    /**
+     * True when every requested environment ended up DEPLOYED
+     */
+    private boolean success;
+
+    private List<EnvironmentDeployOutcome> environments;
+    private ServiceRevisionResponse revision;
+}
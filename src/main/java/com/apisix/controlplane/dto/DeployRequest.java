@@ -16,4 +16,9 @@ public class DeployRequest {
      * Force deployment even if already deployed
      */
     private boolean force;
+
+    /**
+     * Run the deployment as a background job and return 202 with the job instead of waiting
+     */
+    private boolean async;
 }
@@ -0,0 +1,25 @@
+package com.apisix.controlplane.dto;
+
+import com.apisix.controlplane.enums.EnvironmentDeployStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Result of one environment within a multi-environment deploy.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EnvironmentDeployOutcome {
+
+    private String environmentId;
+    private String environmentName;
+    private EnvironmentDeployStatus status;
+    private Integer unchanged;
+    private Integer updated;
+    private Long durationMs;
+    private String error;
+}
@@ -0,0 +1,42 @@
+package com.apisix.controlplane.dto;
+
+import com.apisix.controlplane.cache.LookupCache;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LookupCacheStatsResponse {
+
+    private String name;
+    private boolean enabled;
+    private int size;
+    private int maxSize;
+    private long ttlMs;
+    private long hits;
+    private long misses;
+    private double hitRate;         // hits / (hits + misses), 0 before the first lookup
+    private long evictions;         // Entries dropped for size or expiry
+    private long invalidations;     // Explicit invalidations after writes (local and remote)
+
+    public static LookupCacheStatsResponse from(LookupCache<?> cache, boolean enabled) {
+        long hits = cache.getHits();
+        long misses = cache.getMisses();
+        return LookupCacheStatsResponse.builder()
+                .name(cache.getName())
+                .enabled(enabled)
+                .size(cache.size())
+                .maxSize(cache.getMaxSize())
+                .ttlMs(cache.getTtl().toMillis())
+                .hits(hits)
+                .misses(misses)
+                .hitRate(hits + misses == 0 ? 0 : (double) hits / (hits + misses))
+                .evictions(cache.getEvictions())
+                .invalidations(cache.getInvalidations())
+                .build();
+    }
+}
@@ -0,0 +1,23 @@
+package com.apisix.controlplane.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxStatsResponse {
+
+    private boolean enabled;
+    private long pending;
+    private long failed;
+    private long lagMs;             // Age of the oldest pending entry
+    private long dispatchedTotal;   // Since startup
+    private long failedAttemptsTotal;
+    private LocalDateTime lastDispatchAt;
+}
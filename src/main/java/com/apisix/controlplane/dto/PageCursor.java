@@ -0,0 +1,73 @@
+package com.apisix.controlplane.dto;
+
+import com.apisix.controlplane.exception.BusinessException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Opaque keyset cursor: the sort-key values of the last row of a page, as base64url JSON.
+ * <p>
+ * Decoding converts each value back to the type of the matching entity field, and rejects
+ * cursors whose keys do not match the sort of the endpoint they are sent to.
+ */
+public final class PageCursor {
+
+    private static final JsonMapper MAPPER = JsonMapper.builder()
+            .findAndAddModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    private PageCursor() {
+    }
+
+    public static String encode(KeysetScrollPosition position) {
+        try {
+            byte[] json = MAPPER.writeValueAsBytes(position.getKeys());
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(json);
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to encode pagination cursor", e);
+        }
+    }
+
+    /**
+     * Keyset position for a cursor; a blank cursor starts from the first row.
+     */
+    public static KeysetScrollPosition decode(String cursor, Class<?> entityType, Sort sort) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+        Map<String, Object> raw;
+        try {
+            raw = MAPPER.readValue(Base64.getUrlDecoder().decode(cursor), new TypeReference<>() {});
+        } catch (Exception e) {
+            throw new BusinessException("Invalid pagination cursor");
+        }
+
+        Map<String, Object> keys = new LinkedHashMap<>();
+        for (Sort.Order order : sort) {
+            Field field = ReflectionUtils.findField(entityType, order.getProperty());
+            if (field == null || !raw.containsKey(order.getProperty())) {
+                throw new BusinessException("Invalid pagination cursor");
+            }
+            try {
+                keys.put(order.getProperty(), MAPPER.convertValue(raw.get(order.getProperty()), field.getType()));
+            } catch (IllegalArgumentException e) {
+                throw new BusinessException("Invalid pagination cursor");
+            }
+        }
+        if (keys.size() != raw.size()) {
+            throw new BusinessException("Invalid pagination cursor");
+        }
+        return ScrollPosition.forward(keys);
+    }
+}
@@ -1,10 +1,13 @@
 package com.apisix.controlplane.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Window;
 
 import java.util.List;
 
@@ -12,13 +15,16 @@ import java.util.List;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class PaginatedResponse<T> {
 
     private List<T> content;
-    private int page;           // 1-indexed
+    private Integer page;           // 1-indexed, offset paging only
     private int size;
-    private long totalElements;
-    private int totalPages;
+    private Long totalElements;     // offset paging only
+    private Integer totalPages;     // offset paging only
+    private boolean hasNext;
+    private String nextCursor;      // cursor paging only, null on the last page
 
     /**
      * Create a PaginatedResponse from a Spring Page with pre-mapped content.
@@ -30,6 +36,23 @@ public class PaginatedResponse<T> {
                 .size(page.getSize())
                 .totalElements(page.getTotalElements())
                 .totalPages(page.getTotalPages())
+                .hasNext(page.hasNext())
+                .build();
+    }
+
+    /**
+     * Create a cursor-paged PaginatedResponse from a keyset Window with pre-mapped content.
+     * No total count is available in this mode.
+     */
+    public static <T> PaginatedResponse<T> from(Window<?> window, int size, List<T> mappedContent) {
+        String nextCursor = window.hasNext() && !window.isEmpty()
+                ? PageCursor.encode((KeysetScrollPosition) window.positionAt(window.size() - 1))
+                : null;
+        return PaginatedResponse.<T>builder()
+                .content(mappedContent)
+                .size(size)
+                .hasNext(window.hasNext())
+                .nextCursor(nextCursor)
                 .build();
     }
 }
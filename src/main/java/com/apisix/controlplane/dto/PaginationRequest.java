@@ -6,7 +6,10 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 
 @Data
 @Builder
@@ -27,7 +30,26 @@ public class PaginationRequest {
     @Builder.Default
     private int size = DEFAULT_SIZE;
 
+    @Parameter(description = "Keyset cursor (nextCursor of the previous page). Send it empty for the first page; "
+            + "cursor paging ignores page and skips the total count")
+    private String cursor;
+
     public PageRequest toPageable() {
         return PageRequest.of(page - 1, size);
     }
+
+    /**
+     * Whether the caller opted into cursor paging by sending a cursor parameter (possibly empty).
+     */
+    public boolean usesCursor() {
+        return cursor != null;
+    }
+
+    public KeysetScrollPosition toScrollPosition(Class<?> entityType, Sort sort) {
+        return PageCursor.decode(cursor, entityType, sort);
+    }
+
+    public Limit toLimit() {
+        return Limit.of(size);
+    }
 }
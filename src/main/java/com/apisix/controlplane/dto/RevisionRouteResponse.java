@@ -0,0 +1,37 @@
+package com.apisix.controlplane.dto;
+
+import com.apisix.controlplane.apisix.model.RouteSpec;
+import com.apisix.controlplane.entity.RevisionRoute;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RevisionRouteResponse {
+
+    private String revisionId;
+    private Integer routeIndex;
+    private String name;
+    private String contentHash;
+    private RouteSpec specification;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    public static RevisionRouteResponse fromEntity(RevisionRoute route, RouteSpec specification) {
+        return RevisionRouteResponse.builder()
+                .revisionId(route.getRevisionId())
+                .routeIndex(route.getRouteIndex())
+                .name(route.getName())
+                .contentHash(route.getContentHash())
+                .specification(specification)
+                .createdAt(route.getCreatedAt())
+                .updatedAt(route.getUpdatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,43 @@
+package com.apisix.controlplane.dto;
+
+import com.apisix.controlplane.enums.RevisionState;
+import io.swagger.v3.oas.annotations.Parameter;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RouteSearchRequest {
+
+    @Parameter(description = "Plugin name configured on the route or on its revision's service", example = "limit-count")
+    private String plugin;
+
+    @Parameter(description = "Host the route matches (its host/hosts, or its service's hosts if it has none)")
+    private String host;
+
+    @Parameter(description = "Route uri; a trailing * matches every uri with that prefix", example = "/v1/payments/*")
+    private String uri;
+
+    @Parameter(description = "Only revisions currently deployed to this environment")
+    private String environmentId;
+
+    @Parameter(description = "Only revisions in this state")
+    private RevisionState state;
+
+    /**
+     * The uri filter as a LIKE pattern: exact unless it ends with *, with LIKE wildcards in the text escaped.
+     */
+    public String toUriPattern() {
+        if (uri == null || uri.isBlank()) {
+            return null;
+        }
+        boolean prefix = uri.endsWith("*");
+        String text = prefix ? uri.substring(0, uri.length() - 1) : uri;
+        String escaped = text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+        return prefix ? escaped + "%" : escaped;
+    }
+}
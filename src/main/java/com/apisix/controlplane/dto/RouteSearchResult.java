@@ -0,0 +1,26 @@
+package com.apisix.controlplane.dto;
+
+import com.apisix.controlplane.enums.RevisionState;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RouteSearchResult {
+
+    private String apiId;
+    private String apiName;
+    private String revisionId;
+    private Integer revisionNumber;
+    private RevisionState state;
+    private Integer routeIndex;
+    private String routeName;
+    private String uri;
+    private List<String> deployedEnvironmentIds;
+}
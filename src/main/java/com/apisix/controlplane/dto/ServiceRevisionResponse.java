@@ -31,6 +31,8 @@ public class ServiceRevisionResponse {
     private List<UpstreamBindingResponse> upstreamBindings;
 
     public static ServiceRevisionResponse fromEntity(ServiceRevision revision,
+                                                     ServiceSpec serviceSpecification,
+                                                     List<RouteSpec> routeSpecifications,
                                                      List<DeploymentResponse> deployments,
                                                      List<UpstreamBindingResponse> upstreamBindings) {
         return ServiceRevisionResponse.builder()
@@ -39,8 +41,8 @@ public class ServiceRevisionResponse {
                 .apiId(revision.getApiId())
                 .revisionNumber(revision.getRevisionNumber())
                 .state(revision.getState())
-                .serviceSpecification(revision.getServiceSpecification())
-                .routeSpecifications(revision.getRouteSpecifications())
+                .serviceSpecification(serviceSpecification)
+                .routeSpecifications(routeSpecifications)
                 .createdAt(revision.getCreatedAt())
                 .updatedAt(revision.getUpdatedAt())
                 .deployments(deployments)
@@ -0,0 +1,19 @@
+package com.apisix.controlplane.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SpecStorageReport {
+
+    private long distinctSpecs;
+    private long references;        // Revision routes and revisions pointing at a stored spec
+    private long storedBytes;       // JSON bytes actually stored
+    private long referencedBytes;   // JSON bytes if every reference stored its own copy
+    private long reclaimedBytes;    // referencedBytes - storedBytes
+}
@@ -0,0 +1,26 @@
+package com.apisix.controlplane.dto;
+
+import com.apisix.controlplane.enums.StandaloneConfigFormat;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StandaloneConfigExportResponse {
+
+    private String environmentId;
+    private StandaloneConfigFormat format;
+    private String path;
+    private String contentHash;             // SHA-256 of the canonical config, independent of format
+    private long sizeBytes;
+    private boolean written;                // False when the file already had identical content
+    private Map<String, Integer> resourceCounts;
+    private LocalDateTime generatedAt;
+}
@@ -12,4 +12,8 @@ public class UndeployRequest {
     @NotBlank(message = "Environment ID is required")
     private String environmentId;
 
+    /**
+     * Run the undeployment as a background job and return 202 with the job instead of waiting
+     */
+    private boolean async;
 }
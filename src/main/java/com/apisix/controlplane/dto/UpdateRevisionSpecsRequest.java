@@ -2,6 +2,7 @@ package com.apisix.controlplane.dto;
 
 import com.apisix.controlplane.apisix.model.RouteSpec;
 import com.apisix.controlplane.apisix.model.ServiceSpec;
+import com.apisix.controlplane.apisix.validation.ValidRouteSpecs;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotEmpty;
 import lombok.Data;
@@ -15,5 +16,6 @@ public class UpdateRevisionSpecsRequest {
     private ServiceSpec serviceSpecification;
 
     @NotEmpty(message = "At least one route specification is required")
-    private List<@Valid RouteSpec> routeSpecifications;
+    @ValidRouteSpecs
+    private List<RouteSpec> routeSpecifications;
 }
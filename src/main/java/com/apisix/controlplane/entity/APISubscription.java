@@ -14,7 +14,8 @@ import java.time.LocalDateTime;
     @UniqueConstraint(name = "uk_api_sub_org_dev_api_env", columnNames = {"org_id", "developer_id", "api_id", "env_id"})
 }, indexes = {
     @Index(name = "idx_api_sub_org_env_dev", columnList = "org_id, env_id, developer_id"),
-    @Index(name = "idx_api_sub_org_dev", columnList = "org_id, developer_id")
+    @Index(name = "idx_api_sub_org_dev", columnList = "org_id, developer_id"),
+    @Index(name = "idx_api_sub_org_created", columnList = "org_id, created_at, id")
 })
 @Data
 @Builder
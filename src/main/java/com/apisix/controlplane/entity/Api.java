@@ -1,5 +1,6 @@
 package com.apisix.controlplane.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -35,6 +36,13 @@ public class Api {
     @Column(name = "display_name")
     private String displayName;
 
+    /**
+     * Last allocated revision number. Only written by {@code ApiRepository.allocateRevisionNumber}.
+     */
+    @JsonIgnore
+    @Column(name = "revision_counter", insertable = false, updatable = false)
+    private Integer revisionCounter;
+
     @CreatedDate
     @Column(name = "created_at")
     private LocalDateTime createdAt;
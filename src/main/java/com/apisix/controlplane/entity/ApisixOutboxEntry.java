@@ -0,0 +1,82 @@
+package com.apisix.controlplane.entity;
+
+import com.apisix.controlplane.enums.ApisixOperation;
+import com.apisix.controlplane.enums.OutboxStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * A pending APISIX Admin API write, stored in the same transaction as the change that caused it.
+ * Entries are dispatched per environment in commit order of their transactions ({@code commitSequence}),
+ * then in ID order within a transaction, and deleted once APISIX accepts them.
+ * <p>
+ * IDs alone are not commit order: each node allocates them from its own block of the sequence, and a
+ * transaction can commit after another that took a higher ID.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "apisix_outbox", indexes = {
+    @Index(name = "idx_apisix_outbox_status_id", columnList = "status, id"),
+    @Index(name = "idx_apisix_outbox_dispatch", columnList = "environment_id, status, commit_sequence, id")
+})
+@EntityListeners(AuditingEntityListener.class)
+public class ApisixOutboxEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "apisix_outbox_seq")
+    @SequenceGenerator(name = "apisix_outbox_seq", sequenceName = "apisix_outbox_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "environment_id", nullable = false)
+    private String environmentId;
+
+    /**
+     * Sequence of the writing transaction within the environment; see {@link ApisixOutboxSequence}.
+     */
+    @Column(name = "commit_sequence", nullable = false)
+    private long commitSequence;
+
+    @Column(name = "resource_type", nullable = false)
+    private String resourceType;
+
+    @Column(name = "resource_id", nullable = false)
+    private String resourceId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ApisixOperation operation;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(columnDefinition = "jsonb")
+    private Map<String, Object> payload;
+
+    @Builder.Default
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private OutboxStatus status = OutboxStatus.PENDING;
+
+    private int attempts;
+
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error", columnDefinition = "text")
+    private String lastError;
+
+    @CreatedDate
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,30 @@
+package com.apisix.controlplane.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Last commit sequence handed out to a transaction writing APISIX outbox entries for one environment.
+ * The row stays locked until that transaction ends, so sequences follow commit order.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "apisix_outbox_sequences")
+public class ApisixOutboxSequence {
+
+    @Id
+    @Column(name = "environment_id")
+    private String environmentId;
+
+    @Column(name = "last_sequence", nullable = false)
+    private long lastSequence;
+}
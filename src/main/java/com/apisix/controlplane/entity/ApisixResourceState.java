@@ -0,0 +1,53 @@
+package com.apisix.controlplane.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+
+/**
+ * Last payload successfully pushed to APISIX for one resource in one environment.
+ * Stores only the SHA-256 of the canonical JSON so unchanged resources can be skipped on redeploy.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "apisix_resource_states", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_apisix_resource_state", columnNames = {"environment_id", "resource_type", "resource_id"})
+})
+@EntityListeners(AuditingEntityListener.class)
+public class ApisixResourceState {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private String id;
+
+    @Column(name = "environment_id", nullable = false)
+    private String environmentId;
+
+    @Column(name = "resource_type", nullable = false)
+    private String resourceType; // routes, services, consumers, consumer_groups
+
+    @Column(name = "resource_id", nullable = false)
+    private String resourceId;
+
+    @Column(name = "payload_hash", nullable = false, length = 64)
+    private String payloadHash;
+
+    @LastModifiedDate
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    /**
+     * Last time the drift reconciler saw this resource on the gateway.
+     */
+    @Column(name = "verified_at")
+    private LocalDateTime verifiedAt;
+}
@@ -0,0 +1,86 @@
+package com.apisix.controlplane.entity;
+
+import com.apisix.controlplane.enums.DeploymentJobStatus;
+import com.apisix.controlplane.enums.DeploymentJobType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An asynchronous deploy or undeploy of a {@link ServiceRevision} to one environment.
+ * Tracks lifecycle state, per-step timing and the failure reason, if any. Unfinished jobs whose node
+ * stopped heartbeating are failed by the {@code DeploymentJobService} sweep.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "deployment_jobs", indexes = {
+    @Index(name = "idx_deployment_job_org", columnList = "org_id"),
+    @Index(name = "idx_deployment_job_rev", columnList = "revision_id")
+})
+@EntityListeners(AuditingEntityListener.class)
+public class DeploymentJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private String id;
+
+    @Column(name = "org_id", nullable = false)
+    private String orgId;
+
+    @Column(name = "api_id", nullable = false)
+    private String apiId;
+
+    @Column(name = "revision_id", nullable = false)
+    private String revisionId;
+
+    @Column(name = "environment_id", nullable = false)
+    private String environmentId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private DeploymentJobType type;
+
+    @Builder.Default
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private DeploymentJobStatus status = DeploymentJobStatus.PENDING;
+
+    private boolean force;
+
+    @Column(columnDefinition = "text")
+    private String error;
+
+    @Builder.Default
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(columnDefinition = "jsonb")
+    private List<DeploymentJobStep> steps = new ArrayList<>();
+
+    @CreatedDate
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    /**
+     * Refreshed while the job is queued or running on a node; see {@code DeploymentJobService#heartbeat()}.
+     */
+    @Column(name = "heartbeat_at")
+    private LocalDateTime heartbeatAt;
+}
@@ -0,0 +1,23 @@
+package com.apisix.controlplane.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One timed step of a {@link DeploymentJob}. Stored inside the job's JSONB steps column.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeploymentJobStep {
+
+    private String name;
+    private LocalDateTime startedAt;
+    private long durationMs;
+    private String error;
+}
@@ -14,6 +14,8 @@ import java.util.Map;
 @Entity
 @Table(name = "developers", uniqueConstraints = {
     @UniqueConstraint(name = "uk_developer_org_email", columnNames = {"org_id", "email"})
+}, indexes = {
+    @Index(name = "idx_developer_org_first_name", columnList = "org_id, first_name, id")
 })
 @Data
 @Builder
@@ -0,0 +1,23 @@
+package com.apisix.controlplane.entity;
+
+import com.apisix.controlplane.enums.DriftType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One drifted APISIX resource found by a {@link ReconcileRun}. Stored inside the run's JSONB drift column.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DriftItem {
+
+    private String resourceType;
+    private String resourceId;
+    private DriftType type;
+    private boolean repaired;
+    private String detail;
+}
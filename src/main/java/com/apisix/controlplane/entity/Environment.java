@@ -39,6 +39,20 @@ public class Environment {
 
     private boolean active;
 
+    /**
+     * Max concurrent route writes to this environment's APISIX during deploy/undeploy.
+     * Falls back to {@code apisix.deploy.route-concurrency} when null.
+     */
+    @Column(name = "route_push_concurrency")
+    private Integer routePushConcurrency;
+
+    /**
+     * APISIX version the gateway runs, e.g. "3.14". Revisions are checked against that version's schemas
+     * before being deployed here; null means {@code apisix.schema.default-version}.
+     */
+    @Column(name = "apisix_version")
+    private String apisixVersion;
+
     @CreatedDate
     @Column(name = "created_at")
     private LocalDateTime createdAt;
@@ -14,7 +14,8 @@ import java.time.LocalDateTime;
     @UniqueConstraint(name = "uk_prod_sub_org_dev_prod_env", columnNames = {"org_id", "developer_id", "product_id", "env_id"})
 }, indexes = {
     @Index(name = "idx_prod_sub_org_env", columnList = "org_id, env_id"),
-    @Index(name = "idx_prod_sub_org_dev_env", columnList = "org_id, developer_id, env_id")
+    @Index(name = "idx_prod_sub_org_dev_env", columnList = "org_id, developer_id, env_id"),
+    @Index(name = "idx_prod_sub_org_created", columnList = "org_id, created_at, id")
 })
 @Data
 @Builder
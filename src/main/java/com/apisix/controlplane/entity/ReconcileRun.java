@@ -0,0 +1,78 @@
+package com.apisix.controlplane.entity;
+
+import com.apisix.controlplane.enums.ReconcileRunStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One drift-reconciliation pass over an environment's gateway.
+ * <p>
+ * Progress (current resource type and next page) is saved after every page, so a run interrupted by
+ * a restart or an unreachable gateway resumes where it stopped.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "apisix_reconcile_runs", indexes = {
+    @Index(name = "idx_reconcile_run_env_status", columnList = "environment_id, status")
+})
+public class ReconcileRun {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private String id;
+
+    @Column(name = "environment_id", nullable = false)
+    private String environmentId;
+
+    @Builder.Default
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ReconcileRunStatus status = ReconcileRunStatus.RUNNING;
+
+    private boolean repair;
+
+    /** Index into the reconciler's resource type order. */
+    @Column(name = "resource_type_index")
+    private int resourceTypeIndex;
+
+    /** Next 1-based page of the current resource type. */
+    @Builder.Default
+    @Column(name = "next_page")
+    private int nextPage = 1;
+
+    private long scanned;
+
+    @Column(name = "in_sync")
+    private long inSync;
+
+    private long drifted;
+
+    private long repaired;
+
+    @Column(name = "last_error", columnDefinition = "text")
+    private String lastError;
+
+    /** Drifted resources, capped at {@code apisix.reconcile.max-drift-items}; the counters are always complete. */
+    @Builder.Default
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(columnDefinition = "jsonb")
+    private List<DriftItem> drift = new ArrayList<>();
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+}
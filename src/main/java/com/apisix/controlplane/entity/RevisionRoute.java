@@ -0,0 +1,56 @@
+package com.apisix.controlplane.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+
+/**
+ * One route of a {@link ServiceRevision}.
+ * {@code routeIndex} is the route's position in the revision and part of its APISIX route ID.
+ * The spec itself is stored once in {@link SpecContent} under {@code contentHash}, the SHA-256 of its
+ * canonical JSON, and shared by every revision route with the same content.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "revision_routes", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_revision_route_index", columnNames = {"revision_id", "route_index"})
+}, indexes = {
+    @Index(name = "idx_revision_route_content", columnList = "content_hash")
+})
+@EntityListeners(AuditingEntityListener.class)
+public class RevisionRoute {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private String id;
+
+    @Column(name = "revision_id", nullable = false)
+    private String revisionId;
+
+    @Column(name = "route_index", nullable = false)
+    private Integer routeIndex;
+
+    @Column(length = 100)
+    private String name;
+
+    @Column(name = "content_hash", nullable = false, length = 64)
+    private String contentHash;
+
+    @CreatedDate
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @LastModifiedDate
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -19,7 +19,8 @@ import java.util.List;
 
 /**
  * A versioned revision of an {@link Api}.
- * Each revision contains APISIX service and route specifications stored as typed JSONB.
+ * The APISIX service specification is stored in {@link SpecContent} and referenced by {@code serviceSpecHash};
+ * route specifications are stored one row per route as {@link RevisionRoute}.
  * Deployment status is tracked via the {@link Deployment} entity.
  * Upstream bindings per environment are tracked via the {@link UpstreamBinding} entity.
  */
@@ -31,7 +32,8 @@ import java.util.List;
 @Table(name = "service_revisions", uniqueConstraints = {
     @UniqueConstraint(name = "uk_service_revision_api_num", columnNames = {"api_id", "revision_number"})
 }, indexes = {
-    @Index(name = "idx_service_revision_org", columnList = "org_id")
+    @Index(name = "idx_service_revision_org", columnList = "org_id"),
+    @Index(name = "idx_service_revision_service_spec", columnList = "service_spec_hash")
 })
 @EntityListeners(AuditingEntityListener.class)
 public class ServiceRevision {
@@ -53,13 +55,27 @@ public class ServiceRevision {
     @Enumerated(EnumType.STRING)
     private RevisionState state = RevisionState.INACTIVE;
 
+    /**
+     * Content hash of the service specification, or null if the revision has none.
+     */
+    @Column(name = "service_spec_hash", length = 64)
+    private String serviceSpecHash;
+
+    /**
+     * Service specification as stored before specs moved to {@link SpecContent}.
+     * Moved over on startup by {@code SpecStorageMigration}; null afterwards.
+     */
     @JdbcTypeCode(SqlTypes.JSON)
     @Column(name = "service_specification", columnDefinition = "jsonb")
-    private ServiceSpec serviceSpecification;
+    private ServiceSpec legacyServiceSpecification;
 
+    /**
+     * Route specifications as stored before they moved to {@link RevisionRoute}.
+     * Moved over on startup by {@code SpecStorageMigration}; null afterwards.
+     */
     @JdbcTypeCode(SqlTypes.JSON)
     @Column(name = "route_specifications", columnDefinition = "jsonb")
-    private List<RouteSpec> routeSpecifications;
+    private List<RouteSpec> legacyRouteSpecifications;
 
     @CreatedDate
     @Column(name = "created_at")
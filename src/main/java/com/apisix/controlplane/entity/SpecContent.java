@@ -0,0 +1,46 @@
+package com.apisix.controlplane.entity;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+
+/**
+ * A route or service specification stored once and shared by every revision that uses it,
+ * addressed by the SHA-256 of its canonical JSON.
+ * <p>
+ * {@code refCount} counts the revision routes and revisions referencing it; the row is deleted
+ * when it drops to zero. Rows are written with native upserts, never through the entity.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "spec_contents")
+public class SpecContent {
+
+    @Id
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "content", columnDefinition = "jsonb", nullable = false)
+    private JsonNode content;
+
+    /** Size of the JSON text, used for the storage report. */
+    @Column(name = "size_bytes", nullable = false)
+    private Integer sizeBytes;
+
+    @Column(name = "ref_count", nullable = false)
+    private Long refCount;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,6 @@
+package com.apisix.controlplane.enums;
+
+public enum ApisixOperation {
+    PUT,
+    DELETE
+}
@@ -0,0 +1,6 @@
+package com.apisix.controlplane.enums;
+
+public enum DeployMode {
+    ALL_OR_NOTHING, // Any failure rolls back the environments that were already pushed
+    BEST_EFFORT     // Keep whatever succeeded, report the rest
+}
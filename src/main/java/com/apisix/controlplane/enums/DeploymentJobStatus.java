@@ -0,0 +1,8 @@
+package com.apisix.controlplane.enums;
+
+public enum DeploymentJobStatus {
+    PENDING,    // Queued, not yet picked up by the executor
+    RUNNING,
+    SUCCEEDED,
+    FAILED
+}
@@ -0,0 +1,7 @@
+package com.apisix.controlplane.enums;
+
+public enum DriftType {
+    MODIFIED,   // On the gateway with different content than last pushed
+    MISSING,    // Pushed by the control plane but no longer on the gateway
+    UNMANAGED   // On the gateway but never pushed by the control plane
+}
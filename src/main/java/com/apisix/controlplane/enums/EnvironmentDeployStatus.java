@@ -0,0 +1,8 @@
+package com.apisix.controlplane.enums;
+
+public enum EnvironmentDeployStatus {
+    DEPLOYED,
+    FAILED,
+    ROLLED_BACK,    // Pushed, then reverted: another environment failed (ALL_OR_NOTHING) or its own push failed part-way
+    NOT_ATTEMPTED   // Skipped because another environment was rejected up front (ALL_OR_NOTHING)
+}
@@ -0,0 +1,6 @@
+package com.apisix.controlplane.enums;
+
+public enum OutboxStatus {
+    PENDING,    // Waiting to be (re)sent to APISIX
+    FAILED      // Gave up after max attempts; needs manual attention
+}
@@ -0,0 +1,7 @@
+package com.apisix.controlplane.enums;
+
+public enum ReconcileRunStatus {
+    RUNNING,    // Also left behind by an interrupted run, which the next round resumes
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,6 @@
+package com.apisix.controlplane.enums;
+
+public enum StandaloneConfigFormat {
+    YAML,   // apisix.yaml, terminated by the "#END" marker APISIX waits for
+    JSON    // apisix.json
+}
@@ -2,8 +2,12 @@ package com.apisix.controlplane.repository;
 
 import com.apisix.controlplane.entity.APISubscription;
 import com.apisix.controlplane.enums.SubscriptionStatus;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -33,12 +37,28 @@ public interface APISubscriptionRepository extends JpaRepository<APISubscription
 
     Page<APISubscription> findByOrgIdAndApiId(String orgId, String apiId, Pageable pageable);
 
+    Window<APISubscription> findByOrgIdAndDeveloperId(String orgId, String developerId,
+                                                      ScrollPosition position, Sort sort, Limit limit);
+
+    Window<APISubscription> findByOrgIdAndDeveloperIdAndEnvId(String orgId, String developerId, String envId,
+                                                              ScrollPosition position, Sort sort, Limit limit);
+
+    Window<APISubscription> findByOrgIdAndEnvId(String orgId, String envId,
+                                                ScrollPosition position, Sort sort, Limit limit);
+
+    Window<APISubscription> findByOrgId(String orgId, ScrollPosition position, Sort sort, Limit limit);
+
+    Window<APISubscription> findByOrgIdAndApiId(String orgId, String apiId,
+                                                ScrollPosition position, Sort sort, Limit limit);
+
     Optional<APISubscription> findByOrgIdAndDeveloperIdAndApiIdAndEnvId(
             String orgId, String developerId, String apiId, String envId);
 
     List<APISubscription> findByOrgIdAndDeveloperIdAndEnvIdAndStatus(
             String orgId, String developerId, String envId, SubscriptionStatus status);
 
+    List<APISubscription> findByOrgIdAndEnvIdAndStatus(String orgId, String envId, SubscriptionStatus status);
+
     boolean existsByOrgIdAndDeveloperIdAndApiIdAndEnvId(
             String orgId, String developerId, String apiId, String envId);
 
@@ -1,9 +1,15 @@
 package com.apisix.controlplane.repository;
 
 import com.apisix.controlplane.entity.Api;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -16,7 +22,19 @@ public interface ApiRepository extends JpaRepository<Api, String> {
 
     Page<Api> findByOrgId(String orgId, Pageable pageable);
 
+    Window<Api> findByOrgId(String orgId, ScrollPosition position, Sort sort, Limit limit);
+
     Optional<Api> findByOrgIdAndName(String orgId, String name);
 
     boolean existsByOrgIdAndName(String orgId, String name);
+
+    /**
+     * Allocate the next revision number of an API in one statement. The row lock taken by the update
+     * serializes concurrent creators until commit, so numbers neither collide nor skip on rollback.
+     * APIs created before the counter existed are seeded from their highest revision number.
+     */
+    @Query(value = "update apis set revision_counter = coalesce(revision_counter, " +
+            "(select max(r.revision_number) from service_revisions r where r.api_id = :apiId), 0) + 1 " +
+            "where id = :apiId returning revision_counter", nativeQuery = true)
+    Integer allocateRevisionNumber(@Param("apiId") String apiId);
 }
@@ -0,0 +1,50 @@
+package com.apisix.controlplane.repository;
+
+import com.apisix.controlplane.entity.ApisixOutboxEntry;
+import com.apisix.controlplane.enums.OutboxStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ApisixOutboxRepository extends JpaRepository<ApisixOutboxEntry, Long> {
+
+    /** An environment's entries in dispatch order: commit order of their transactions, then write order. */
+    List<ApisixOutboxEntry> findByEnvironmentIdAndStatusOrderByCommitSequenceAscIdAsc(String environmentId,
+                                                                                      OutboxStatus status,
+                                                                                      Pageable pageable);
+
+    /**
+     * Environments whose next pending entry is due. Environments whose head entry is backing off are left out,
+     * since nothing behind that entry may be sent before it. One index probe per environment.
+     */
+    @Query(value = "select e.id from environments e cross join lateral (" +
+            "select o.next_attempt_at from apisix_outbox o where o.environment_id = e.id and o.status = 'PENDING' " +
+            "order by o.commit_sequence, o.id limit 1) head " +
+            "where head.next_attempt_at <= :now", nativeQuery = true)
+    List<String> findEnvironmentsWithDueHead(@Param("now") LocalDateTime now);
+
+    /**
+     * Claim an environment's outbox until the current transaction ends. False if another dispatcher holds it.
+     */
+    @Query(value = "select pg_try_advisory_xact_lock(hashtext('apisix_outbox'), hashtext(:environmentId))",
+            nativeQuery = true)
+    boolean tryLockEnvironment(@Param("environmentId") String environmentId);
+
+    Optional<ApisixOutboxEntry> findFirstByStatusOrderByIdAsc(OutboxStatus status);
+
+    long countByStatus(OutboxStatus status);
+
+    boolean existsByEnvironmentIdAndStatus(String environmentId, OutboxStatus status);
+
+    @Modifying
+    @Query("delete from ApisixOutboxEntry o where o.environmentId = :environmentId")
+    int deleteByEnvironmentIdWithoutLoading(@Param("environmentId") String environmentId);
+}
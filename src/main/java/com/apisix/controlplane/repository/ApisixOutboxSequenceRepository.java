@@ -0,0 +1,25 @@
+package com.apisix.controlplane.repository;
+
+import com.apisix.controlplane.entity.ApisixOutboxSequence;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ApisixOutboxSequenceRepository extends JpaRepository<ApisixOutboxSequence, String> {
+
+    /**
+     * Take the next commit sequence of an environment. Locks its row until the calling transaction ends,
+     * so a concurrent transaction gets a higher sequence only after this one commits or rolls back.
+     */
+    @Query(value = "insert into apisix_outbox_sequences (environment_id, last_sequence) values (:environmentId, 1) " +
+            "on conflict (environment_id) do update set last_sequence = apisix_outbox_sequences.last_sequence + 1 " +
+            "returning last_sequence", nativeQuery = true)
+    long next(@Param("environmentId") String environmentId);
+
+    @Modifying
+    @Query("delete from ApisixOutboxSequence s where s.environmentId = :environmentId")
+    int deleteByEnvironmentIdWithoutLoading(@Param("environmentId") String environmentId);
+}
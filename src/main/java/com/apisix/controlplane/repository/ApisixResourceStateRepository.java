@@ -0,0 +1,47 @@
+package com.apisix.controlplane.repository;
+
+import com.apisix.controlplane.entity.ApisixResourceState;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ApisixResourceStateRepository extends JpaRepository<ApisixResourceState, String> {
+
+    List<ApisixResourceState> findByEnvironmentIdAndResourceTypeAndResourceIdIn(
+            String environmentId, String resourceType, Collection<String> resourceIds);
+
+    void deleteByEnvironmentIdAndResourceTypeAndResourceIdIn(
+            String environmentId, String resourceType, Collection<String> resourceIds);
+
+    void deleteByEnvironmentId(String environmentId);
+
+    /** Bulk update so the auditing listener leaves updated_at alone. */
+    @Modifying
+    @Query("update ApisixResourceState s set s.verifiedAt = :verifiedAt " +
+            "where s.environmentId = :environmentId and s.resourceType = :resourceType and s.resourceId in :resourceIds")
+    int markVerified(@Param("environmentId") String environmentId,
+                     @Param("resourceType") String resourceType,
+                     @Param("resourceIds") Collection<String> resourceIds,
+                     @Param("verifiedAt") LocalDateTime verifiedAt);
+
+    /**
+     * Resources pushed before {@code since} that have not been seen on the gateway since then, in ID order after {@code afterId}.
+     */
+    @Query("select s from ApisixResourceState s " +
+            "where s.environmentId = :environmentId and s.resourceType = :resourceType " +
+            "and s.updatedAt < :since and (s.verifiedAt is null or s.verifiedAt < :since) and s.id > :afterId " +
+            "order by s.id")
+    List<ApisixResourceState> findUnverifiedSince(@Param("environmentId") String environmentId,
+                                                  @Param("resourceType") String resourceType,
+                                                  @Param("since") LocalDateTime since,
+                                                  @Param("afterId") String afterId,
+                                                  Pageable pageable);
+}
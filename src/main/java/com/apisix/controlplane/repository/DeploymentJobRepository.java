@@ -0,0 +1,48 @@
+package com.apisix.controlplane.repository;
+
+import com.apisix.controlplane.entity.DeploymentJob;
+import com.apisix.controlplane.entity.DeploymentJobStep;
+import com.apisix.controlplane.enums.DeploymentJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface DeploymentJobRepository extends JpaRepository<DeploymentJob, String> {
+
+    /**
+     * Store the steps recorded so far without touching the rest of the job. Runs in its own transaction, so
+     * progress is visible while the deploy's transaction is still open and a failure here cannot roll it back.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Modifying
+    @Query("update DeploymentJob j set j.steps = :steps, j.heartbeatAt = :now where j.id = :id")
+    int updateSteps(@Param("id") String id, @Param("steps") List<DeploymentJobStep> steps,
+                    @Param("now") LocalDateTime now);
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Modifying
+    @Query("update DeploymentJob j set j.heartbeatAt = :now where j.id in :ids")
+    int touch(@Param("ids") Collection<String> ids, @Param("now") LocalDateTime now);
+
+    /**
+     * Fail unfinished jobs whose node stopped heartbeating before the cutoff (or never did).
+     */
+    @Transactional
+    @Modifying
+    @Query("update DeploymentJob j set j.status = :failed, j.error = :error, j.finishedAt = :now " +
+            "where j.status in :unfinished and (j.heartbeatAt is null or j.heartbeatAt < :cutoff)")
+    int failStale(@Param("unfinished") Collection<DeploymentJobStatus> unfinished,
+                  @Param("failed") DeploymentJobStatus failed,
+                  @Param("error") String error,
+                  @Param("cutoff") LocalDateTime cutoff,
+                  @Param("now") LocalDateTime now);
+}
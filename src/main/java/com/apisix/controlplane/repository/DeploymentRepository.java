@@ -4,6 +4,7 @@ import com.apisix.controlplane.entity.Deployment;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,6 +17,8 @@ public interface DeploymentRepository extends JpaRepository<Deployment, String>
 
     List<Deployment> findByRevisionId(String revisionId);
 
+    List<Deployment> findByRevisionIdIn(Collection<String> revisionIds);
+
     boolean existsByRevisionId(String revisionId);
 
     List<Deployment> findByApiId(String apiId);
@@ -1,8 +1,12 @@
 package com.apisix.controlplane.repository;
 
 import com.apisix.controlplane.entity.Developer;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -16,6 +20,8 @@ public interface DeveloperRepository extends JpaRepository<Developer, String> {
 
     Page<Developer> findByOrgId(String orgId, Pageable pageable);
 
+    Window<Developer> findByOrgId(String orgId, ScrollPosition position, Sort sort, Limit limit);
+
     Optional<Developer> findByOrgIdAndEmail(String orgId, String email);
 
     boolean existsByOrgIdAndEmail(String orgId, String email);
@@ -2,8 +2,12 @@ package com.apisix.controlplane.repository;
 
 import com.apisix.controlplane.entity.ProductSubscription;
 import com.apisix.controlplane.enums.SubscriptionStatus;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -27,6 +31,8 @@ public interface ProductSubscriptionRepository extends JpaRepository<ProductSubs
     List<ProductSubscription> findByOrgIdAndDeveloperIdAndEnvIdAndStatus(
             String orgId, String developerId, String envId, SubscriptionStatus status);
 
+    List<ProductSubscription> findByOrgIdAndEnvIdAndStatus(String orgId, String envId, SubscriptionStatus status);
+
     List<ProductSubscription> findByProductId(String productId);
 
     List<ProductSubscription> findByOrgIdAndProductId(String orgId, String productId);
@@ -40,4 +46,18 @@ public interface ProductSubscriptionRepository extends JpaRepository<ProductSubs
     Page<ProductSubscription> findByOrgIdAndDeveloperIdAndEnvId(String orgId, String developerId, String envId, Pageable pageable);
 
     Page<ProductSubscription> findByOrgIdAndProductId(String orgId, String productId, Pageable pageable);
+
+    Window<ProductSubscription> findByOrgId(String orgId, ScrollPosition position, Sort sort, Limit limit);
+
+    Window<ProductSubscription> findByOrgIdAndDeveloperId(String orgId, String developerId,
+                                                          ScrollPosition position, Sort sort, Limit limit);
+
+    Window<ProductSubscription> findByOrgIdAndEnvId(String orgId, String envId,
+                                                    ScrollPosition position, Sort sort, Limit limit);
+
+    Window<ProductSubscription> findByOrgIdAndDeveloperIdAndEnvId(String orgId, String developerId, String envId,
+                                                                  ScrollPosition position, Sort sort, Limit limit);
+
+    Window<ProductSubscription> findByOrgIdAndProductId(String orgId, String productId,
+                                                        ScrollPosition position, Sort sort, Limit limit);
 }
@@ -0,0 +1,20 @@
+package com.apisix.controlplane.repository;
+
+import com.apisix.controlplane.entity.ReconcileRun;
+import com.apisix.controlplane.enums.ReconcileRunStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ReconcileRunRepository extends JpaRepository<ReconcileRun, String> {
+
+    Optional<ReconcileRun> findFirstByEnvironmentIdAndStatusOrderByStartedAtDesc(
+            String environmentId, ReconcileRunStatus status);
+
+    List<ReconcileRun> findTop20ByEnvironmentIdOrderByStartedAtDesc(String environmentId);
+
+    List<ReconcileRun> findTop20ByOrderByStartedAtDesc();
+}
@@ -0,0 +1,153 @@
+package com.apisix.controlplane.repository;
+
+import com.apisix.controlplane.entity.RevisionRoute;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface RevisionRouteRepository extends JpaRepository<RevisionRoute, String> {
+
+    /**
+     * Routes of an org matched on their content-addressed spec. Every filter is optional (null skips it).
+     * Plugin and host filters are a union of branches, each driven by one containment (or equality) lookup
+     * on spec_contents, so every branch can use the GIN index on its content (or the {@code content->>'host'}
+     * index) rather than testing each route's and service's spec in turn. A route inherits its service's
+     * plugins, and its service's hosts when it sets neither host nor hosts.
+     */
+    String ROUTE_SEARCH_FROM = "from revision_routes rr " +
+            "join service_revisions r on r.id = rr.revision_id " +
+            "join apis a on a.id = r.api_id " +
+            "join spec_contents c on c.content_hash = rr.content_hash " +
+            "where r.org_id = :orgId " +
+            "and (cast(:plugin as text) is null or rr.id in (" +
+            "select pr.id from spec_contents pc " +
+            "join revision_routes pr on pr.content_hash = pc.content_hash " +
+            "join service_revisions psr on psr.id = pr.revision_id " +
+            "where pc.content @> jsonb_build_object('plugins', " +
+            "jsonb_build_object(coalesce(cast(:plugin as text), ''), cast('{}' as jsonb))) " +
+            "and psr.org_id = :orgId " +
+            "union all " +
+            "select pr.id from spec_contents ps " +
+            "join service_revisions psr on psr.service_spec_hash = ps.content_hash " +
+            "join revision_routes pr on pr.revision_id = psr.id " +
+            "where ps.content @> jsonb_build_object('plugins', " +
+            "jsonb_build_object(coalesce(cast(:plugin as text), ''), cast('{}' as jsonb))) " +
+            "and psr.org_id = :orgId)) " +
+            "and (cast(:host as text) is null or rr.id in (" +
+            "select hr.id from spec_contents hc " +
+            "join revision_routes hr on hr.content_hash = hc.content_hash " +
+            "join service_revisions hsr on hsr.id = hr.revision_id " +
+            "where hc.content @> jsonb_build_object('hosts', jsonb_build_array(cast(:host as text))) " +
+            "and hsr.org_id = :orgId " +
+            "union all " +
+            "select hr.id from spec_contents hc " +
+            "join revision_routes hr on hr.content_hash = hc.content_hash " +
+            "join service_revisions hsr on hsr.id = hr.revision_id " +
+            "where hc.content->>'host' = cast(:host as text) " +
+            "and hsr.org_id = :orgId " +
+            "union all " +
+            "select hr.id from spec_contents hs " +
+            "join service_revisions hsr on hsr.service_spec_hash = hs.content_hash " +
+            "join revision_routes hr on hr.revision_id = hsr.id " +
+            "join spec_contents hc on hc.content_hash = hr.content_hash " +
+            "where hs.content @> jsonb_build_object('hosts', jsonb_build_array(cast(:host as text))) " +
+            "and hsr.org_id = :orgId and hc.content->'host' is null and hc.content->'hosts' is null)) " +
+            "and (cast(:uriPattern as text) is null or c.content->>'uri' like cast(:uriPattern as text)) " +
+            "and (cast(:environmentId as text) is null or exists (select 1 from deployments d " +
+            "where d.revision_id = r.id and d.environment_id = cast(:environmentId as text))) " +
+            "and (cast(:state as text) is null or r.state = cast(:state as text)) ";
+
+    @Query(value = "select a.id as \"apiId\", a.name as \"apiName\", r.id as \"revisionId\", " +
+            "r.revision_number as \"revisionNumber\", r.state as \"state\", rr.route_index as \"routeIndex\", " +
+            "rr.name as \"routeName\", c.content->>'uri' as \"uri\" " +
+            ROUTE_SEARCH_FROM + "order by a.name, a.id, r.revision_number desc, rr.route_index",
+            countQuery = "select count(*) " + ROUTE_SEARCH_FROM,
+            nativeQuery = true)
+    Page<RouteSearchRow> searchRoutes(@Param("orgId") String orgId, @Param("plugin") String plugin,
+                                      @Param("host") String host, @Param("uriPattern") String uriPattern,
+                                      @Param("environmentId") String environmentId, @Param("state") String state,
+                                      Pageable pageable);
+
+    List<RevisionRoute> findByRevisionIdOrderByRouteIndexAsc(String revisionId);
+
+    Page<RevisionRoute> findByRevisionId(String revisionId, Pageable pageable);
+
+    Optional<RevisionRoute> findByRevisionIdAndRouteIndex(String revisionId, Integer routeIndex);
+
+    /**
+     * Specs of the routes after {@code afterIndex}, in index order. Returned as projections so pages
+     * read during a long transaction are not kept in the persistence context.
+     */
+    @Query("select r.revisionId as revisionId, r.routeIndex as routeIndex, r.name as name, c.content as content " +
+            "from RevisionRoute r join SpecContent c on c.contentHash = r.contentHash " +
+            "where r.revisionId = :revisionId and r.routeIndex > :afterIndex order by r.routeIndex asc")
+    List<RouteSpecRow> findSpecPage(@Param("revisionId") String revisionId, @Param("afterIndex") int afterIndex,
+                                    Limit limit);
+
+    @Query("select r.revisionId as revisionId, r.routeIndex as routeIndex, r.name as name, c.content as content " +
+            "from RevisionRoute r join SpecContent c on c.contentHash = r.contentHash " +
+            "where r.revisionId in :revisionIds order by r.revisionId asc, r.routeIndex asc")
+    List<RouteSpecRow> findSpecsByRevisionIdIn(@Param("revisionIds") Collection<String> revisionIds);
+
+    /**
+     * Index and name of every route of a revision, without the specs. Enough to derive APISIX route IDs.
+     */
+    @Query("select r.routeIndex as routeIndex, r.name as name from RevisionRoute r " +
+            "where r.revisionId = :revisionId order by r.routeIndex asc")
+    List<RouteKey> findKeysByRevisionId(@Param("revisionId") String revisionId);
+
+    /**
+     * Copy the route rows (index, name and content hash) of one revision to another inside the database.
+     * The specs are shared, so the caller must add a reference per copied route.
+     */
+    @Modifying
+    @Query(value = "insert into revision_routes (id, revision_id, route_index, name, content_hash, " +
+            "created_at, updated_at) " +
+            "select cast(gen_random_uuid() as varchar), :targetRevisionId, route_index, name, content_hash, " +
+            "now(), now() from revision_routes where revision_id = :sourceRevisionId",
+            nativeQuery = true)
+    int copyRoutes(@Param("sourceRevisionId") String sourceRevisionId,
+                   @Param("targetRevisionId") String targetRevisionId);
+
+    @Modifying
+    @Query("delete from RevisionRoute r where r.revisionId = :revisionId and r.routeIndex >= :fromIndex")
+    int deleteFromIndex(@Param("revisionId") String revisionId, @Param("fromIndex") int fromIndex);
+
+    @Modifying
+    @Query("delete from RevisionRoute r where r.revisionId = :revisionId")
+    int deleteByRevisionIdWithoutLoading(@Param("revisionId") String revisionId);
+
+    interface RouteSpecRow {
+        String getRevisionId();
+        Integer getRouteIndex();
+        String getName();
+        JsonNode getContent();
+    }
+
+    interface RouteSearchRow {
+        String getApiId();
+        String getApiName();
+        String getRevisionId();
+        Integer getRevisionNumber();
+        String getState();
+        Integer getRouteIndex();
+        String getRouteName();
+        String getUri();
+    }
+
+    interface RouteKey {
+        Integer getRouteIndex();
+        String getName();
+    }
+}
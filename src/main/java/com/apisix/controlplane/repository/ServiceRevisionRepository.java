@@ -2,11 +2,18 @@ package com.apisix.controlplane.repository;
 
 import com.apisix.controlplane.entity.ServiceRevision;
 import com.apisix.controlplane.enums.RevisionState;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -26,4 +33,118 @@ public interface ServiceRevisionRepository extends JpaRepository<ServiceRevision
     List<ServiceRevision> findByApiIdAndState(String apiId, RevisionState state);
 
     List<ServiceRevision> findByApiIdInOrderByApiIdAscRevisionNumberDesc(List<String> apiIds);
+
+    /**
+     * Identity, state and service spec hash of a revision without its JSONB spec columns.
+     */
+    @Query("select r.id as id, r.orgId as orgId, r.apiId as apiId, r.revisionNumber as revisionNumber, " +
+            "r.state as state, r.serviceSpecHash as serviceSpecHash from ServiceRevision r where r.id = :id")
+    Optional<RevisionHeader> findHeaderById(@Param("id") String id);
+
+    @Query("select r.id as id, r.orgId as orgId, r.apiId as apiId, r.revisionNumber as revisionNumber, " +
+            "r.state as state, r.serviceSpecHash as serviceSpecHash from ServiceRevision r where r.id in :ids")
+    List<RevisionHeader> findHeadersByIdIn(@Param("ids") Collection<String> ids);
+
+    /**
+     * Set a revision's state without loading it. Bypasses auditing, so updatedAt is passed in.
+     */
+    @Modifying
+    @Query("update ServiceRevision r set r.state = :state, r.updatedAt = :updatedAt where r.id = :id")
+    int updateState(@Param("id") String id, @Param("state") RevisionState state,
+                    @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * Bump a revision's updatedAt after a change to one of its routes.
+     */
+    @Modifying
+    @Query("update ServiceRevision r set r.updatedAt = :updatedAt where r.id = :id")
+    int touch(@Param("id") String id, @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * Load a revision and lock its row until the transaction ends.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select r from ServiceRevision r where r.id = :id")
+    Optional<ServiceRevision> findByIdForUpdate(@Param("id") String id);
+
+    /**
+     * Revisions with a spec still stored inline, in the legacy route_specifications or service_specification columns.
+     */
+    @Query("select r.id from ServiceRevision r where r.legacyRouteSpecifications is not null " +
+            "or r.legacyServiceSpecification is not null")
+    List<String> findIdsWithLegacySpecs();
+
+    /**
+     * Null out the legacy route_specifications column once its routes have been moved. Leaves updatedAt alone.
+     */
+    @Modifying
+    @Query("update ServiceRevision r set r.legacyRouteSpecifications = null where r.id = :id")
+    int clearLegacyRouteSpecifications(@Param("id") String id);
+
+    /**
+     * Point a revision at its content-addressed service spec and null out the legacy column. Leaves updatedAt alone.
+     */
+    @Modifying
+    @Query("update ServiceRevision r set r.serviceSpecHash = :hash, r.legacyServiceSpecification = null where r.id = :id")
+    int moveLegacyServiceSpecification(@Param("id") String id, @Param("hash") String hash);
+
+    /**
+     * Delete a revision row without loading it first.
+     */
+    @Modifying
+    @Query("delete from ServiceRevision r where r.id = :id")
+    int deleteWithoutLoading(@Param("id") String id);
+
+    /**
+     * Summary columns of every revision of the given APIs, newest first per API. Skips the JSONB spec columns.
+     */
+    @Query("select r.id as id, r.apiId as apiId, r.revisionNumber as revisionNumber, r.state as state, " +
+            "r.createdAt as createdAt, r.updatedAt as updatedAt " +
+            "from ServiceRevision r where r.apiId in :apiIds order by r.apiId asc, r.revisionNumber desc")
+    List<RevisionSummaryRow> findSummariesByApiIdIn(@Param("apiIds") Collection<String> apiIds);
+
+    /**
+     * Deployments and upstream bindings of every revision of the given APIs, with environment and
+     * upstream names resolved, in a single statement. Deployment rows have a deployedAt and no upstream.
+     */
+    @Query("select d.revisionId as revisionId, d.environmentId as environmentId, e.name as environmentName, " +
+            "cast(null as String) as upstreamId, cast(null as String) as upstreamName, d.deployedAt as deployedAt " +
+            "from Deployment d left join Environment e on e.id = d.environmentId " +
+            "where d.apiId in :apiIds " +
+            "union all " +
+            "select b.revisionId, b.environmentId, e.name, b.upstreamId, u.name, cast(null as LocalDateTime) " +
+            "from UpstreamBinding b left join Environment e on e.id = b.environmentId " +
+            "left join Upstream u on u.id = b.upstreamId " +
+            "where b.apiId in :apiIds")
+    List<RevisionFacetRow> findFacetsByApiIdIn(@Param("apiIds") Collection<String> apiIds);
+
+    interface RevisionHeader {
+        String getId();
+        String getOrgId();
+        String getApiId();
+        Integer getRevisionNumber();
+        RevisionState getState();
+        String getServiceSpecHash();
+    }
+
+    interface RevisionSummaryRow {
+        String getId();
+        String getApiId();
+        Integer getRevisionNumber();
+        RevisionState getState();
+        LocalDateTime getCreatedAt();
+        LocalDateTime getUpdatedAt();
+    }
+
+    /**
+     * A deployment ({@code deployedAt} set) or an upstream binding ({@code upstreamId} set) of a revision.
+     */
+    interface RevisionFacetRow {
+        String getRevisionId();
+        String getEnvironmentId();
+        String getEnvironmentName();
+        String getUpstreamId();
+        String getUpstreamName();
+        LocalDateTime getDeployedAt();
+    }
 }
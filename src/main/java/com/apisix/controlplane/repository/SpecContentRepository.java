@@ -0,0 +1,105 @@
+package com.apisix.controlplane.repository;
+
+import com.apisix.controlplane.entity.SpecContent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+
+@Repository
+public interface SpecContentRepository extends JpaRepository<SpecContent, String> {
+
+    /**
+     * Insert or add references to a batch of specs in one statement. {@code entries} is a JSON array of
+     * {@code {hash, content, size, refs}} with distinct hashes; rows are locked in hash order.
+     */
+    @Modifying
+    @Query(value = "insert into spec_contents (content_hash, content, size_bytes, ref_count, created_at) " +
+            "select e->>'hash', e->'content', cast(e->>'size' as integer), cast(e->>'refs' as bigint), now() " +
+            "from jsonb_array_elements(cast(:entries as jsonb)) e order by e->>'hash' " +
+            "on conflict (content_hash) do update set ref_count = spec_contents.ref_count + excluded.ref_count",
+            nativeQuery = true)
+    int acquire(@Param("entries") String entries);
+
+    /**
+     * Drop references from a batch of specs. {@code entries} is a JSON array of {@code {hash, refs}}.
+     */
+    @Modifying
+    @Query(value = "update spec_contents s set ref_count = s.ref_count - cast(e->>'refs' as bigint) " +
+            "from jsonb_array_elements(cast(:entries as jsonb)) e where s.content_hash = e->>'hash'",
+            nativeQuery = true)
+    int release(@Param("entries") String entries);
+
+    @Modifying
+    @Query("update SpecContent s set s.refCount = s.refCount + 1 where s.contentHash = :hash")
+    int addReference(@Param("hash") String hash);
+
+    /**
+     * Add one reference per route of a revision, e.g. after its route rows were copied by a clone.
+     */
+    @Modifying
+    @Query(value = "update spec_contents s set ref_count = s.ref_count + r.refs " +
+            "from (select content_hash, count(*) as refs from revision_routes where revision_id = :revisionId " +
+            "group by content_hash) r where s.content_hash = r.content_hash",
+            nativeQuery = true)
+    int acquireRevisionRoutes(@Param("revisionId") String revisionId);
+
+    /**
+     * Drop the references held by the routes of a revision, before its route rows are deleted.
+     */
+    @Modifying
+    @Query(value = "update spec_contents s set ref_count = s.ref_count - r.refs " +
+            "from (select content_hash, count(*) as refs from revision_routes where revision_id = :revisionId " +
+            "group by content_hash) r where s.content_hash = r.content_hash",
+            nativeQuery = true)
+    int releaseRevisionRoutes(@Param("revisionId") String revisionId);
+
+    @Modifying
+    @Query("delete from SpecContent s where s.contentHash in :hashes and s.refCount <= 0")
+    int deleteUnreferenced(@Param("hashes") Collection<String> hashes);
+
+    @Modifying
+    @Query(value = "delete from spec_contents where ref_count <= 0 and content_hash in " +
+            "(select content_hash from revision_routes where revision_id = :revisionId)",
+            nativeQuery = true)
+    int deleteUnreferencedByRevisionRoutes(@Param("revisionId") String revisionId);
+
+    /*
+     * Indexes for route search that JPA cannot declare: GIN over the whole spec (jsonb_ops, so plugin-name
+     * containment with an empty config is indexed too) and btree on the extracted uri and host.
+     */
+
+    @Modifying
+    @Query(value = "create index if not exists idx_spec_content_gin on spec_contents using gin (content)",
+            nativeQuery = true)
+    void createContentIndex();
+
+    @Modifying
+    @Query(value = "create index if not exists idx_spec_content_uri on spec_contents ((content->>'uri') text_pattern_ops)",
+            nativeQuery = true)
+    void createUriIndex();
+
+    @Modifying
+    @Query(value = "create index if not exists idx_spec_content_host on spec_contents ((content->>'host'))",
+            nativeQuery = true)
+    void createHostIndex();
+
+    /**
+     * Totals for the storage report: distinct specs, references, stored bytes, and the bytes the
+     * same references would take if every revision stored its own copy.
+     */
+    @Query("select count(s) as specs, coalesce(sum(s.refCount), 0) as referenceCount, " +
+            "coalesce(sum(s.sizeBytes), 0) as storedBytes, coalesce(sum(s.sizeBytes * s.refCount), 0) as referencedBytes " +
+            "from SpecContent s")
+    StorageTotals findStorageTotals();
+
+    interface StorageTotals {
+        long getSpecs();
+        long getReferenceCount();
+        long getStoredBytes();
+        long getReferencedBytes();
+    }
+}
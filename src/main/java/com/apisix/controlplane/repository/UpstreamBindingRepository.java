@@ -4,6 +4,7 @@ import com.apisix.controlplane.entity.UpstreamBinding;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,6 +14,9 @@ public interface UpstreamBindingRepository extends JpaRepository<UpstreamBinding
     /** All upstream bindings for a revision. */
     List<UpstreamBinding> findByRevisionId(String revisionId);
 
+    /** All upstream bindings for a batch of revisions. */
+    List<UpstreamBinding> findByRevisionIdIn(Collection<String> revisionIds);
+
     /** Get the upstream configured for a revision in a specific environment. */
     Optional<UpstreamBinding> findByRevisionIdAndEnvironmentId(String revisionId, String environmentId);
 
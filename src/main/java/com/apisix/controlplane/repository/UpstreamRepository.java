@@ -1,8 +1,12 @@
 package com.apisix.controlplane.repository;
 
 import com.apisix.controlplane.entity.Upstream;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -22,6 +26,11 @@ public interface UpstreamRepository extends JpaRepository<Upstream, String> {
      */
     Page<Upstream> findByEnvironmentId(String environmentId, Pageable pageable);
 
+    /**
+     * Find upstreams for a specific environment after a keyset position, without counting
+     */
+    Window<Upstream> findByEnvironmentId(String environmentId, ScrollPosition position, Sort sort, Limit limit);
+
     /**
      * Find upstream by environment and name (for uniqueness check)
      */
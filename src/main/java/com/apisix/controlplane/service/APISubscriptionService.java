@@ -1,5 +1,8 @@
 package com.apisix.controlplane.service;
 
+import com.apisix.controlplane.apisix.client.ApisixAdminClient;
+import com.apisix.controlplane.apisix.client.ApisixUnavailableException;
+import com.apisix.controlplane.cache.EntityLookupCache;
 import com.apisix.controlplane.dto.CreateSubscriptionRequest;
 import com.apisix.controlplane.entity.*;
 import com.apisix.controlplane.enums.SubscriptionStatus;
@@ -7,15 +10,15 @@ import com.apisix.controlplane.exception.BusinessException;
 import com.apisix.controlplane.exception.ResourceNotFoundException;
 import com.apisix.controlplane.repository.APISubscriptionRepository;
 import com.apisix.controlplane.repository.DeploymentRepository;
-import com.apisix.controlplane.repository.EnvironmentRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.reactive.function.client.WebClient;
-import reactor.core.publisher.Mono;
 
 import java.security.SecureRandom;
 import java.time.LocalDateTime;
@@ -29,13 +32,10 @@ public class APISubscriptionService {
 
     private final APISubscriptionRepository subscriptionRepository;
     private final DeveloperService developerService;
-    private final EnvironmentRepository environmentRepository;
+    private final EntityLookupCache lookupCache;
     private final DeploymentRepository deploymentRepository;
     private final ApiService apiService;
-    private final WebClient.Builder webClientBuilder;
-
-    @Value("${apisix.admin.key}")
-    private String adminKey;
+    private final ApisixResourceStateService resourceStateService;
 
     private static final SecureRandom SECURE_RANDOM = new SecureRandom();
 
@@ -46,7 +46,7 @@ public class APISubscriptionService {
 
         developerService.getDeveloperById(orgId, request.getDeveloperId());
 
-        Environment environment = environmentRepository.findById(request.getEnvId())
+        Environment environment = lookupCache.findEnvironment(request.getEnvId())
                 .orElseThrow(() -> new ResourceNotFoundException("Environment not found: " + request.getEnvId()));
         if (!environment.getOrgId().equals(orgId)) {
             throw new BusinessException("Environment does not belong to this organization");
@@ -104,6 +104,9 @@ public class APISubscriptionService {
             createOrUpdateConsumerInApisix(environment, request.getDeveloperId(), apiKey, orgId, request.getDeveloperId(), apiId);
             subscription.setStatus(SubscriptionStatus.ACTIVE);
         } catch (Exception e) {
+            if (e instanceof ApisixUnavailableException unavailable) {
+                throw unavailable;
+            }
             throw new BusinessException("Failed to create subscription in APISIX: " + e.getMessage());
         }
 
@@ -129,6 +132,25 @@ public class APISubscriptionService {
         return subscriptionRepository.findByOrgIdAndApiId(orgId, apiId, pageable);
     }
 
+    public Window<APISubscription> getSubscriptions(String orgId, String developerId, String envId,
+                                                    ScrollPosition position, Sort sort, Limit limit) {
+        if (developerId != null && !developerId.isEmpty() && envId != null && !envId.isEmpty()) {
+            return subscriptionRepository.findByOrgIdAndDeveloperIdAndEnvId(orgId, developerId, envId, position, sort, limit);
+        }
+        if (developerId != null && !developerId.isEmpty()) {
+            return subscriptionRepository.findByOrgIdAndDeveloperId(orgId, developerId, position, sort, limit);
+        }
+        if (envId != null && !envId.isEmpty()) {
+            return subscriptionRepository.findByOrgIdAndEnvId(orgId, envId, position, sort, limit);
+        }
+        return subscriptionRepository.findByOrgId(orgId, position, sort, limit);
+    }
+
+    public Window<APISubscription> getSubscriptionsByApi(String orgId, String apiId,
+                                                         ScrollPosition position, Sort sort, Limit limit) {
+        return subscriptionRepository.findByOrgIdAndApiId(orgId, apiId, position, sort, limit);
+    }
+
     @Transactional
     public APISubscription grantSubscription(String orgId, String subscriptionId) {
         APISubscription subscription = subscriptionRepository.findById(subscriptionId)
@@ -150,7 +172,7 @@ public class APISubscriptionService {
             throw new BusinessException("API " + api.getName() + " is not deployed in environment " + subscription.getEnvId());
         }
 
-        Environment environment = environmentRepository.findById(subscription.getEnvId())
+        Environment environment = lookupCache.findEnvironment(subscription.getEnvId())
                 .orElseThrow(() -> new ResourceNotFoundException("Environment not found: " + subscription.getEnvId()));
 
         subscription.setStatus(SubscriptionStatus.ACTIVE);
@@ -165,6 +187,9 @@ public class APISubscriptionService {
             subscription.setStatus(SubscriptionStatus.REVOKED);
             subscription.setUpdatedAt(LocalDateTime.now());
             subscriptionRepository.save(subscription);
+            if (e instanceof ApisixUnavailableException unavailable) {
+                throw unavailable;
+            }
             throw new BusinessException("Failed to grant subscription: " + e.getMessage());
         }
     }
@@ -181,7 +206,7 @@ public class APISubscriptionService {
             throw new BusinessException("Subscription is already revoked");
         }
 
-        Environment environment = environmentRepository.findById(subscription.getEnvId())
+        Environment environment = lookupCache.findEnvironment(subscription.getEnvId())
                 .orElseThrow(() -> new ResourceNotFoundException("Environment not found: " + subscription.getEnvId()));
 
         subscription.setStatus(SubscriptionStatus.REVOKED);
@@ -195,17 +220,15 @@ public class APISubscriptionService {
             subscription.setStatus(SubscriptionStatus.ACTIVE);
             subscription.setUpdatedAt(LocalDateTime.now());
             subscriptionRepository.save(subscription);
+            if (e instanceof ApisixUnavailableException unavailable) {
+                throw unavailable;
+            }
             throw new BusinessException("Failed to revoke subscription: " + e.getMessage());
         }
     }
 
     private void createOrUpdateConsumerInApisix(Environment environment, String consumerId,
                                                 String apiKey, String orgId, String developerId, String newApisixServiceId) {
-        WebClient webClient = webClientBuilder
-                .baseUrl(environment.getApisixAdminUrl())
-                .defaultHeader("X-API-KEY", adminKey)
-                .build();
-
         List<APISubscription> activeSubscriptions = subscriptionRepository
                 .findByOrgIdAndDeveloperIdAndEnvIdAndStatus(orgId, developerId, environment.getId(), SubscriptionStatus.ACTIVE);
 
@@ -218,6 +241,19 @@ public class APISubscriptionService {
             serviceWhitelist.add(newApisixServiceId);
         }
 
+        Map<String, Object> payload = buildConsumerPayload(consumerId, apiKey, orgId, developerId, serviceWhitelist);
+
+        if (!resourceStateService.putIfChanged(environment, ApisixAdminClient.CONSUMERS, consumerId, payload)) {
+            log.info("Consumer {} unchanged, skipped APISIX write", consumerId);
+        }
+    }
+
+    /**
+     * APISIX consumer of a developer's API subscriptions in one environment: key-auth with the
+     * subscription key, restricted to the subscribed APIs' services.
+     */
+    public Map<String, Object> buildConsumerPayload(String consumerId, String apiKey, String orgId,
+                                                    String developerId, List<String> serviceWhitelist) {
         Map<String, Object> payload = new HashMap<>();
         payload.put("username", consumerId);
         payload.put("desc", "Developer " + developerId + " in org " + orgId);
@@ -235,16 +271,7 @@ public class APISubscriptionService {
         }
 
         payload.put("plugins", plugins);
-
-        webClient.put()
-                .uri("/apisix/admin/consumers/{id}", consumerId)
-                .bodyValue(payload)
-                .retrieve()
-                .onStatus(status -> status.is4xxClientError() || status.is5xxServerError(),
-                        resp -> resp.bodyToMono(String.class)
-                                .flatMap(body -> Mono.error(new RuntimeException("APISIX: " + resp.statusCode() + ": " + body))))
-                .bodyToMono(String.class)
-                .block();
+        return payload;
     }
 
     private void updateConsumerServiceWhitelist(Environment environment, String consumerId,
@@ -264,18 +291,8 @@ public class APISubscriptionService {
     }
 
     private void deleteConsumerFromApisix(Environment environment, String consumerId) {
-        WebClient webClient = webClientBuilder
-                .baseUrl(environment.getApisixAdminUrl())
-                .defaultHeader("X-API-KEY", adminKey)
-                .build();
-
         try {
-            webClient.delete()
-                    .uri("/apisix/admin/consumers/{id}", consumerId)
-                    .retrieve()
-                    .onStatus(status -> status.value() == 404, resp -> Mono.empty())
-                    .bodyToMono(String.class)
-                    .block();
+            resourceStateService.delete(environment, ApisixAdminClient.CONSUMERS, consumerId);
         } catch (Exception e) {
             log.warn("Failed to delete consumer from APISIX: {}", e.getMessage());
         }
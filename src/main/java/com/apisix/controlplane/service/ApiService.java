@@ -1,5 +1,6 @@
 package com.apisix.controlplane.service;
 
+import com.apisix.controlplane.cache.EntityLookupCache;
 import com.apisix.controlplane.dto.CreateApiRequest;
 import com.apisix.controlplane.entity.Api;
 import com.apisix.controlplane.exception.BusinessException;
@@ -8,8 +9,13 @@ import com.apisix.controlplane.repository.ApiRepository;
 import com.apisix.controlplane.repository.OrganizationRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
@@ -21,6 +27,7 @@ public class ApiService {
 
     private final ApiRepository apiRepository;
     private final OrganizationRepository organizationRepository;
+    private final EntityLookupCache lookupCache;
 
     @Transactional
     public Api createApi(String orgId, CreateApiRequest request) {
@@ -46,10 +53,22 @@ public class ApiService {
     }
 
     public Api getApiById(String apiId) {
-        return apiRepository.findById(apiId)
+        return lookupCache.findApi(apiId)
                 .orElseThrow(() -> new ResourceNotFoundException("API not found with ID: " + apiId));
     }
 
+    /**
+     * Next revision number of an API. Must run inside the transaction that saves the revision.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int allocateRevisionNumber(String apiId) {
+        Integer number = apiRepository.allocateRevisionNumber(apiId);
+        if (number == null) {
+            throw new ResourceNotFoundException("API not found with ID: " + apiId);
+        }
+        return number;
+    }
+
     public List<Api> getApisByOrg(String orgId) {
         return apiRepository.findByOrgId(orgId);
     }
@@ -58,10 +77,15 @@ public class ApiService {
         return apiRepository.findByOrgId(orgId, pageable);
     }
 
+    public Window<Api> getApisByOrg(String orgId, ScrollPosition position, Sort sort, Limit limit) {
+        return apiRepository.findByOrgId(orgId, position, sort, limit);
+    }
+
     @Transactional
     public void deleteApi(String apiId) {
         Api api = getApiById(apiId);
         apiRepository.delete(api);
+        lookupCache.evictApi(apiId);
         log.info("API deleted: {}", apiId);
     }
 }
@@ -0,0 +1,524 @@
+package com.apisix.controlplane.service;
+
+import com.apisix.controlplane.apisix.client.ApisixAdminClient;
+import com.apisix.controlplane.apisix.client.ApisixAdminClientRegistry;
+import com.apisix.controlplane.apisix.client.ApisixListPage;
+import com.apisix.controlplane.apisix.validation.ApisixSchemaRegistry;
+import com.apisix.controlplane.apisix.validation.ApisixSchemas;
+import com.apisix.controlplane.entity.ApisixResourceState;
+import com.apisix.controlplane.entity.DriftItem;
+import com.apisix.controlplane.entity.Environment;
+import com.apisix.controlplane.entity.ReconcileRun;
+import com.apisix.controlplane.enums.DriftType;
+import com.apisix.controlplane.enums.OutboxStatus;
+import com.apisix.controlplane.enums.ReconcileRunStatus;
+import com.apisix.controlplane.exception.BusinessException;
+import com.apisix.controlplane.exception.ResourceNotFoundException;
+import com.apisix.controlplane.repository.ApisixOutboxRepository;
+import com.apisix.controlplane.repository.ApisixResourceStateRepository;
+import com.apisix.controlplane.repository.EnvironmentRepository;
+import com.apisix.controlplane.repository.ReconcileRunRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.MissingNode;
+import com.networknt.schema.JsonSchema;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Detects (and optionally repairs) drift between each environment's gateway and what the control plane
+ * last pushed there.
+ * <p>
+ * Every resource type is listed page by page through the Admin API. Each item is stripped of what APISIX
+ * adds when storing a resource (ids, timestamps and the defaults of its schema for the environment's APISIX
+ * version), hashed the same way as pushed payloads and compared with {@code apisix_resource_states}.
+ * Items seen on the gateway are marked verified; once a type is fully listed, state rows pushed before the
+ * run and not verified since are reported MISSING. Only one page of gateway state is held at a time, page
+ * requests are paced by {@code apisix.reconcile.requests-per-second}, and progress is saved after each page
+ * so an interrupted run resumes.
+ * <p>
+ * With {@code apisix.reconcile.repair} enabled, MODIFIED and MISSING resources are rewritten from the
+ * compiled desired state of the environment, and stale state rows are dropped. UNMANAGED resources are
+ * only adopted when they match the desired state; the reconciler never deletes gateway resources.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ApisixDriftReconciler {
+
+    private static final List<String> RESOURCE_TYPES = List.of(
+            ApisixAdminClient.UPSTREAMS,
+            ApisixAdminClient.SERVICES,
+            ApisixAdminClient.ROUTES,
+            ApisixAdminClient.CONSUMER_GROUPS,
+            ApisixAdminClient.CONSUMERS);
+
+    private final ReconcileRunRepository runRepository;
+    private final EnvironmentRepository environmentRepository;
+    private final ApisixResourceStateRepository stateRepository;
+    private final ApisixOutboxRepository outboxRepository;
+    private final ApisixAdminClientRegistry clientRegistry;
+    private final ApisixResourceStateService resourceStateService;
+    private final ApisixStandaloneConfigService standaloneConfigService;
+    private final TaskScheduler taskScheduler;
+    private final ApisixSchemaRegistry schemaRegistry;
+    private final ObjectMapper objectMapper;
+
+    private final Set<String> runningEnvironments = ConcurrentHashMap.newKeySet();
+
+    @Value("${apisix.reconcile.enabled:false}")
+    private boolean enabled;
+
+    @Value("${apisix.reconcile.repair:false}")
+    private boolean repair;
+
+    @Value("${apisix.reconcile.page-size:100}")
+    private int pageSize;
+
+    @Value("${apisix.reconcile.requests-per-second:5}")
+    private double requestsPerSecond;
+
+    @Value("${apisix.reconcile.max-drift-items:1000}")
+    private int maxDriftItems;
+
+    @Value("${apisix.reconcile.ignored-fields:id,create_time,update_time}")
+    private Set<String> ignoredFields;
+
+    @Scheduled(fixedDelayString = "${apisix.reconcile.interval:300000}",
+            initialDelayString = "${apisix.reconcile.initial-delay:60000}")
+    public void reconcileAll() {
+        if (!enabled) {
+            return;
+        }
+        for (Environment environment : environmentRepository.findAll()) {
+            try {
+                reconcile(environment);
+            } catch (Exception e) {
+                log.warn("Reconcile of environment {} failed: {}", environment.getId(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Start (or resume) a run for one environment in the background.
+     */
+    public ReconcileRun trigger(String environmentId) {
+        Environment environment = environmentRepository.findById(environmentId)
+                .orElseThrow(() -> new ResourceNotFoundException("Environment not found with ID: " + environmentId));
+        if (runningEnvironments.contains(environmentId)) {
+            throw new BusinessException("A reconcile of environment " + environmentId + " is already in progress");
+        }
+        if (outboxRepository.existsByEnvironmentIdAndStatus(environmentId, OutboxStatus.PENDING)) {
+            throw new BusinessException("Environment " + environmentId + " has pending outbox writes, retry once they are sent");
+        }
+        ReconcileRun run = startOrResume(environmentId);
+        taskScheduler.schedule(() -> reconcile(environment), Instant.now());
+        return run;
+    }
+
+    public ReconcileRun getRun(String runId) {
+        return runRepository.findById(runId)
+                .orElseThrow(() -> new ResourceNotFoundException("Reconcile run not found with ID: " + runId));
+    }
+
+    public List<ReconcileRun> getRecentRuns(String environmentId) {
+        return environmentId != null
+                ? runRepository.findTop20ByEnvironmentIdOrderByStartedAtDesc(environmentId)
+                : runRepository.findTop20ByOrderByStartedAtDesc();
+    }
+
+    private void reconcile(Environment environment) {
+        String envId = environment.getId();
+        if (!runningEnvironments.add(envId)) {
+            log.debug("Reconcile of environment {} already in progress, skipping", envId);
+            return;
+        }
+        try {
+            if (outboxRepository.existsByEnvironmentIdAndStatus(envId, OutboxStatus.PENDING)) {
+                log.info("Environment {} has pending outbox writes, skipping reconcile", envId);
+                return;
+            }
+            ReconcileRun run = startOrResume(envId);
+            try {
+                execute(environment, run);
+            } catch (Exception e) {
+                // Left RUNNING so the next round resumes from the saved page
+                run.setLastError(e.getMessage());
+                runRepository.save(run);
+                throw e;
+            }
+        } finally {
+            runningEnvironments.remove(envId);
+        }
+    }
+
+    private ReconcileRun startOrResume(String environmentId) {
+        return runRepository.findFirstByEnvironmentIdAndStatusOrderByStartedAtDesc(environmentId, ReconcileRunStatus.RUNNING)
+                .orElseGet(() -> runRepository.save(ReconcileRun.builder()
+                        .environmentId(environmentId)
+                        .repair(repair)
+                        .startedAt(LocalDateTime.now())
+                        .build()));
+    }
+
+    private void execute(Environment environment, ReconcileRun run) {
+        ApisixAdminClient client = clientRegistry.forEnvironment(environment);
+        DesiredState desired = new DesiredState(environment.getId());
+        ApisixSchemas schemas = schemaRegistry.get(schemaRegistry.isSupported(environment.getApisixVersion())
+                ? environment.getApisixVersion() : null);
+        log.info("Reconciling environment {} (run {}, from {} page {})", environment.getId(), run.getId(),
+                RESOURCE_TYPES.get(Math.min(run.getResourceTypeIndex(), RESOURCE_TYPES.size() - 1)), run.getNextPage());
+
+        while (run.getResourceTypeIndex() < RESOURCE_TYPES.size()) {
+            String resourceType = RESOURCE_TYPES.get(run.getResourceTypeIndex());
+
+            boolean lastPage = false;
+            while (!lastPage) {
+                pace();
+                ApisixListPage page = client.list(resourceType, run.getNextPage(), pageSize).block();
+                List<Map<String, Object>> items = page != null ? page.items() : List.of();
+                compare(environment, client, run, resourceType, items, desired, schemas);
+
+                lastPage = page == null || items.size() < pageSize || (long) run.getNextPage() * pageSize >= page.total();
+                run.setNextPage(run.getNextPage() + 1);
+                run.setLastError(null);
+                runRepository.save(run);
+            }
+
+            findMissing(environment, client, run, resourceType, desired);
+            run.setResourceTypeIndex(run.getResourceTypeIndex() + 1);
+            run.setNextPage(1);
+            runRepository.save(run);
+        }
+
+        run.setStatus(ReconcileRunStatus.COMPLETED);
+        run.setFinishedAt(LocalDateTime.now());
+        runRepository.save(run);
+        log.info("Reconciled environment {}: {} scanned, {} in sync, {} drifted, {} repaired",
+                environment.getId(), run.getScanned(), run.getInSync(), run.getDrifted(), run.getRepaired());
+    }
+
+    /**
+     * Compare one page of gateway items with the recorded hashes.
+     */
+    private void compare(Environment environment, ApisixAdminClient client, ReconcileRun run, String resourceType,
+                         List<Map<String, Object>> items, DesiredState desired, ApisixSchemas schemas) {
+        String envId = environment.getId();
+        Map<String, Map<String, Object>> itemsById = new LinkedHashMap<>();
+        for (Map<String, Object> item : items) {
+            Object id = ApisixAdminClient.CONSUMERS.equals(resourceType) ? item.get("username") : item.get("id");
+            if (id != null) {
+                itemsById.put(id.toString(), item);
+            }
+        }
+
+        Map<String, String> recorded = resourceStateService.findHashes(envId, resourceType, itemsById.keySet());
+        resourceStateService.markVerified(envId, resourceType, recorded.keySet(), LocalDateTime.now());
+        run.setScanned(run.getScanned() + itemsById.size());
+
+        itemsById.forEach((resourceId, item) -> {
+            Map<String, Object> wanted = desired.get(resourceType, resourceId);
+            String actualHash = resourceStateService.hash(normalize(item, wanted, resourceType, schemas));
+            String recordedHash = recorded.get(resourceId);
+            if (actualHash.equals(recordedHash)) {
+                run.setInSync(run.getInSync() + 1);
+                return;
+            }
+
+            if (recordedHash == null) {
+                if (wanted != null && actualHash.equals(resourceStateService.hash(wanted))) {
+                    // Matches the desired state, we just have no record of pushing it
+                    resourceStateService.recordPushed(envId, resourceType, Map.of(resourceId, actualHash));
+                    run.setInSync(run.getInSync() + 1);
+                    return;
+                }
+                recordDrift(run, resourceType, resourceId, DriftType.UNMANAGED,
+                        wanted != null ? repairFromDesired(client, envId, resourceType, resourceId, wanted) : null,
+                        wanted != null ? "differs from desired state" : "not managed by the control plane");
+            } else {
+                recordDrift(run, resourceType, resourceId, DriftType.MODIFIED,
+                        repair(client, envId, resourceType, resourceId, wanted), "content changed on the gateway");
+            }
+        });
+    }
+
+    /**
+     * Report state rows pushed before this run that were not seen on any page, in bounded batches.
+     */
+    private void findMissing(Environment environment, ApisixAdminClient client, ReconcileRun run,
+                             String resourceType, DesiredState desired) {
+        String afterId = "";
+        List<ApisixResourceState> batch;
+        do {
+            batch = stateRepository.findUnverifiedSince(environment.getId(), resourceType, run.getStartedAt(),
+                    afterId, PageRequest.of(0, pageSize));
+            for (ApisixResourceState state : batch) {
+                String resourceId = state.getResourceId();
+                recordDrift(run, resourceType, resourceId, DriftType.MISSING,
+                        repair(client, environment.getId(), resourceType, resourceId,
+                                desired.get(resourceType, resourceId)),
+                        "not found on the gateway");
+            }
+            if (!batch.isEmpty()) {
+                afterId = batch.get(batch.size() - 1).getId();
+            }
+        } while (batch.size() == pageSize);
+    }
+
+    /**
+     * Rewrite a drifted resource from the desired state, or drop its stale state row if nothing wants it anymore.
+     *
+     * @return whether the drift was repaired, or null when repair is disabled
+     */
+    private Boolean repair(ApisixAdminClient client, String envId, String resourceType, String resourceId,
+                           Map<String, Object> wanted) {
+        if (!repair) {
+            return null;
+        }
+        if (wanted == null) {
+            resourceStateService.forget(envId, resourceType, List.of(resourceId));
+            return true;
+        }
+        return repairFromDesired(client, envId, resourceType, resourceId, wanted);
+    }
+
+    private Boolean repairFromDesired(ApisixAdminClient client, String envId, String resourceType,
+                                      String resourceId, Map<String, Object> wanted) {
+        if (!repair) {
+            return null;
+        }
+        try {
+            pace();
+            client.put(resourceType, resourceId, wanted).block();
+            resourceStateService.recordPushed(envId, resourceType, Map.of(resourceId, resourceStateService.hash(wanted)));
+            return true;
+        } catch (Exception e) {
+            log.warn("Failed to repair {} {} in environment {}: {}", resourceType, resourceId, envId, e.getMessage());
+            return false;
+        }
+    }
+
+    private void recordDrift(ReconcileRun run, String resourceType, String resourceId, DriftType type,
+                             Boolean repaired, String detail) {
+        log.info("Drift in environment {}: {} {} {}", run.getEnvironmentId(), type, resourceType, resourceId);
+        run.setDrifted(run.getDrifted() + 1);
+        if (Boolean.TRUE.equals(repaired)) {
+            run.setRepaired(run.getRepaired() + 1);
+        }
+        if (run.getDrift().size() < maxDriftItems) {
+            run.getDrift().add(DriftItem.builder()
+                    .resourceType(resourceType)
+                    .resourceId(resourceId)
+                    .type(type)
+                    .repaired(Boolean.TRUE.equals(repaired))
+                    .detail(detail)
+                    .build());
+        }
+    }
+
+    /**
+     * Reduce a stored gateway resource to what the control plane pushed, so it hashes like the pushed payload.
+     * <p>
+     * The whole resource is compared, so fields, plugins or list entries added on the gateway are drift. Only
+     * fields the desired payload lacks are dropped, and only if they are top-level {@code ignored-fields} (ids
+     * and timestamps APISIX stamps on) or hold the default APISIX fills in from its schema (route priority,
+     * upstream scheme and pass_host, plugin options, ...).
+     */
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> normalize(Map<String, Object> item, Map<String, Object> wanted,
+                                          String resourceType, ApisixSchemas schemas) {
+        Map<String, Object> desired = wanted != null ? wanted : Map.of();
+        Map<String, Object> stamped = new LinkedHashMap<>(item);
+        stamped.keySet().removeIf(key -> ignoredFields.contains(key) && !desired.containsKey(key));
+        return (Map<String, Object>) strip(stamped, desired, schemaOf(resourceType, schemas), schemas);
+    }
+
+    private static JsonNode schemaOf(String resourceType, ApisixSchemas schemas) {
+        return switch (resourceType) {
+            case ApisixAdminClient.ROUTES -> schemas.route().getSchemaNode();
+            case ApisixAdminClient.SERVICES -> schemas.service().getSchemaNode();
+            case ApisixAdminClient.UPSTREAMS -> schemas.upstream().getSchemaNode();
+            default -> MissingNode.getInstance();
+        };
+    }
+
+    /**
+     * Drop the schema defaults {@code actual} has where {@code wanted} has nothing, keeping everything else.
+     * Maps are walked key by key and lists position by position when both have the same length. Numbers equal
+     * to the wanted ones take the wanted form, since APISIX returns 3.0 as 3; an empty list stands for an
+     * empty object, as APISIX may encode one.
+     */
+    private Object strip(Object actual, Object wanted, JsonNode schema, ApisixSchemas schemas) {
+        if (actual instanceof Map<?, ?> actualMap && wanted instanceof Map<?, ?> wantedMap) {
+            Map<Object, Object> stripped = new LinkedHashMap<>();
+            for (Map.Entry<?, ?> entry : actualMap.entrySet()) {
+                Object key = entry.getKey();
+                Object value = entry.getValue();
+                if ("plugins".equals(key) && value instanceof Map<?, ?> plugins) {
+                    if (!plugins.isEmpty() || wantedMap.containsKey(key)) {
+                        stripped.put(key, stripPlugins(plugins, wantedMap.get(key), schemas));
+                    }
+                    continue;
+                }
+                JsonNode property = find(schema, "properties", String.valueOf(key));
+                if (wantedMap.containsKey(key)) {
+                    stripped.put(key, strip(value, wantedMap.get(key), property, schemas));
+                } else if (!isDefault(value, property, schemas)) {
+                    stripped.put(key, strip(value, Map.of(), property, schemas));
+                }
+            }
+            wantedMap.forEach((key, value) -> {
+                if (!actualMap.containsKey(key) && value == null) {
+                    stripped.put(key, null);
+                }
+            });
+            return stripped;
+        }
+        if (actual instanceof List<?> actualList && wanted instanceof List<?> wantedList
+                && actualList.size() == wantedList.size()) {
+            JsonNode items = find(schema, "items", null);
+            List<Object> stripped = new ArrayList<>(actualList.size());
+            for (int i = 0; i < actualList.size(); i++) {
+                stripped.add(strip(actualList.get(i), wantedList.get(i), items, schemas));
+            }
+            return stripped;
+        }
+        if (actual instanceof Number && wanted instanceof Number && sameValue(actual, wanted)) {
+            return wanted;
+        }
+        if (actual instanceof List<?> actualList && actualList.isEmpty()
+                && wanted instanceof Map<?, ?> wantedMap && wantedMap.isEmpty()) {
+            return wanted;
+        }
+        return actual;
+    }
+
+    /**
+     * Every plugin on the gateway is kept, even one added with nothing but defaults.
+     */
+    private Map<Object, Object> stripPlugins(Map<?, ?> plugins, Object wanted, ApisixSchemas schemas) {
+        Map<?, ?> wantedPlugins = wanted instanceof Map<?, ?> map ? map : Map.of();
+        Map<Object, Object> stripped = new LinkedHashMap<>();
+        plugins.forEach((name, config) -> stripped.put(name, strip(config,
+                wantedPlugins.containsKey(name) ? wantedPlugins.get(name) : Map.of(),
+                schemas.plugin(String.valueOf(name)).map(JsonSchema::getSchemaNode).orElse(MissingNode.getInstance()),
+                schemas)));
+        return stripped;
+    }
+
+    /**
+     * Whether APISIX would have filled in this value: the property's schema default, or an object of nothing
+     * but defaults.
+     */
+    private boolean isDefault(Object value, JsonNode property, ApisixSchemas schemas) {
+        if (property.has("default")) {
+            return sameValue(value, objectMapper.convertValue(property.get("default"), Object.class));
+        }
+        return value instanceof Map<?, ?> map && !map.isEmpty() && !property.isMissingNode()
+                && strip(map, Map.of(), property, schemas) instanceof Map<?, ?> stripped && stripped.isEmpty();
+    }
+
+    /**
+     * A property ({@code properties.<name>}) or the list items ({@code items}) of a schema, looking through
+     * its {@code anyOf}/{@code oneOf}/{@code allOf} and {@code then}/{@code else} branches.
+     */
+    private static JsonNode find(JsonNode schema, String keyword, String name) {
+        JsonNode direct = name != null ? schema.path(keyword).path(name) : schema.path(keyword);
+        if (!direct.isMissingNode()) {
+            return direct;
+        }
+        for (String combinator : List.of("anyOf", "oneOf", "allOf")) {
+            for (JsonNode branch : schema.path(combinator)) {
+                JsonNode found = find(branch, keyword, name);
+                if (!found.isMissingNode()) {
+                    return found;
+                }
+            }
+        }
+        for (String branch : List.of("then", "else")) {
+            if (schema.has(branch)) {
+                JsonNode found = find(schema.get(branch), keyword, name);
+                if (!found.isMissingNode()) {
+                    return found;
+                }
+            }
+        }
+        return MissingNode.getInstance();
+    }
+
+    private static boolean sameValue(Object a, Object b) {
+        if (a instanceof Number x && b instanceof Number y) {
+            return new BigDecimal(x.toString()).compareTo(new BigDecimal(y.toString())) == 0;
+        }
+        if (a instanceof List<?> x && b instanceof List<?> y) {
+            if (x.size() != y.size()) {
+                return false;
+            }
+            for (int i = 0; i < x.size(); i++) {
+                if (!sameValue(x.get(i), y.get(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return Objects.equals(a, b);
+    }
+
+    /**
+     * Simple pacing: at most {@code requests-per-second} Admin API calls per reconciling thread.
+     */
+    private void pace() {
+        if (requestsPerSecond <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep((long) (1000 / requestsPerSecond));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Reconcile interrupted", e);
+        }
+    }
+
+    /**
+     * Desired payloads of an environment, compiled on first use and keyed by resource type and id.
+     */
+    private class DesiredState {
+
+        private final String environmentId;
+        private Map<String, Map<String, Map<String, Object>>> resources;
+
+        DesiredState(String environmentId) {
+            this.environmentId = environmentId;
+        }
+
+        @SuppressWarnings("unchecked")
+        Map<String, Object> get(String resourceType, String resourceId) {
+            if (resources == null) {
+                resources = new HashMap<>();
+                var config = standaloneConfigService.compile(environmentId);
+                config.document().forEach((type, entries) -> {
+                    Map<String, Map<String, Object>> byId = new HashMap<>();
+                    for (Map<String, Object> entry : (List<Map<String, Object>>) entries) {
+                        boolean consumer = ApisixAdminClient.CONSUMERS.equals(type);
+                        Map<String, Object> payload = new LinkedHashMap<>(entry);
+                        String id = String.valueOf(consumer ? entry.get("username") : payload.remove("id"));
+                        byId.put(id, payload);
+                    }
+                    resources.put(type, byId);
+                });
+            }
+            return resources.getOrDefault(resourceType, Map.of()).get(resourceId);
+        }
+    }
+}
@@ -1,104 +1,324 @@
 package com.apisix.controlplane.service;
 
+import com.apisix.controlplane.apisix.client.ApisixAdminClient;
+import com.apisix.controlplane.apisix.client.ApisixAdminClientRegistry;
+import com.apisix.controlplane.apisix.client.ApisixAdminException;
+import com.apisix.controlplane.apisix.client.ApisixUnavailableException;
 import com.apisix.controlplane.apisix.model.RouteSpec;
+import com.apisix.controlplane.apisix.model.ServiceSpec;
 import com.apisix.controlplane.entity.Api;
 import com.apisix.controlplane.entity.Environment;
 import com.apisix.controlplane.entity.ServiceRevision;
+import com.apisix.controlplane.repository.RevisionRouteRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 /**
  * Handles deployment and undeployment of services and routes to APISIX instances.
  * Payloads are built from strongly-typed spec objects.
+ * <p>
+ * When the APISIX outbox is enabled, writes are queued in the caller's transaction instead of sent inline.
  */
 @org.springframework.stereotype.Service
 @RequiredArgsConstructor
 @Slf4j
 public class ApisixIntegrationService {
 
-    @Value("${apisix.admin.key}")
-    private String adminKey;
+    private final ApisixAdminClientRegistry clientRegistry;
+    private final ApisixResourceStateService resourceStateService;
+    private final ApisixOutboxService outboxService;
+    private final RevisionRouteService revisionRouteService;
+    private final SpecContentService specContentService;
+    private final ObjectMapper objectMapper;
 
-    @Value("${apisix.admin.timeout:30000}")
-    private int timeout;
+    @Value("${apisix.deploy.route-concurrency:8}")
+    private int defaultRouteConcurrency;
 
-    private final WebClient.Builder webClientBuilder;
-    private final ObjectMapper objectMapper;
+    @Value("${apisix.deploy.service-delete.max-retries:6}")
+    private int serviceDeleteMaxRetries;
+
+    @Value("${apisix.deploy.service-delete.initial-backoff:20}")
+    private long serviceDeleteInitialBackoff;
+
+    @Value("${apisix.deploy.service-delete.max-backoff:1000}")
+    private long serviceDeleteMaxBackoff;
 
     /**
-     * Deploy service and routes to an APISIX environment.
+     * Deploy service and routes to an APISIX environment, reading and pushing the routes a page at a time.
+     * Resources whose canonical payload matches the last successful push are not rewritten.
+     *
+     * @return how many resources were left unchanged and how many were written
      */
-    public void deployServiceAndRoutes(Environment environment, ServiceRevision revision,
-                                       Api api,
-                                       com.apisix.controlplane.entity.Upstream upstream) {
+    public DeploySummary deployServiceAndRoutes(Environment environment, ServiceRevision revision,
+                                                Api api,
+                                                com.apisix.controlplane.entity.Upstream upstream) {
+        try (Stream<PreparedRoutes> pages = revisionRouteService.streamRoutePages(revision.getId())
+                .map(this::prepareRoutes)) {
+            return deployServiceAndRoutes(environment, revision, api, upstream, pages);
+        }
+    }
+
+    private DeploySummary deployServiceAndRoutes(Environment environment, ServiceRevision revision,
+                                                 Api api,
+                                                 com.apisix.controlplane.entity.Upstream upstream,
+                                                 Stream<PreparedRoutes> routePages) {
         log.info("Deploying API '{}' (Rev {}) to APISIX at {} using upstream {}",
                 api.getName(), revision.getRevisionNumber(),
                 environment.getApisixAdminUrl(), upstream.getApisixId());
 
-        WebClient webClient = buildWebClient(environment);
-        String upstreamId = upstream.getApisixId();
+        ApisixAdminClient client = clientRegistry.forEnvironment(environment);
+        RouteTally tally = new RouteTally();
+
+        // Step 1: Create/Update the service (queued ahead of the routes so the dispatcher creates it first)
+        ResourceWrite service = planService(environment, revision, api, upstream);
+        if (service != null) {
+            putService(client, environment, service);
+        }
+        recordService(environment, api, service, tally);
+
+        // Step 2: Create/Update changed Routes page by page, each page pushed concurrently up to the environment's limit
+        routePages.forEach(routes -> {
+            List<ResourceWrite> changedRoutes = planRoutes(environment, api, routes);
+            recordRoutes(environment, routes.size(), changedRoutes, putRoutes(client, environment, changedRoutes), tally);
+        });
+
+        return summarize(environment, api, tally);
+    }
+
+    /**
+     * Read everything a deploy to one environment needs, using route payloads built once by
+     * {@link #prepareRoutes(ServiceRevision)}: the service spec, and which resources changed since the last push.
+     * <p>
+     * Fan-outs plan on the caller's thread, {@link #push(DeployPlan) push} the plans concurrently and pass the
+     * results back to {@link #record(DeployPlan, PushResult)}, so only the APISIX calls leave the caller's
+     * transaction.
+     */
+    public DeployPlan planDeploy(Environment environment, ServiceRevision revision, Api api,
+                                 com.apisix.controlplane.entity.Upstream upstream, PreparedRoutes routes) {
+        return new DeployPlan(environment, revision, api, planService(environment, revision, api, upstream),
+                planRoutes(environment, api, routes), routes.size());
+    }
+
+    /**
+     * Write the changed service and routes of a plan. Touches the database only when the outbox is enabled,
+     * in which case the writes are queued and this must run on the caller's thread.
+     *
+     * @throws ApisixUnavailableException if APISIX is unavailable for the service write
+     * @throws RuntimeException if the service could not be written; route failures are returned
+     */
+    public PushResult push(DeployPlan plan) {
+        log.info("Deploying API '{}' (Rev {}) to APISIX at {}", plan.api().getName(),
+                plan.revision().getRevisionNumber(), plan.environment().getApisixAdminUrl());
+        ApisixAdminClient client = clientRegistry.forEnvironment(plan.environment());
+        if (plan.service() != null) {
+            putService(client, plan.environment(), plan.service());
+        }
+        return putRoutes(client, plan.environment(), plan.routes());
+    }
+
+    /**
+     * Record the hashes of what a plan's push wrote.
+     *
+     * @return how many resources were left unchanged and how many were written
+     * @throws ApisixUnavailableException if APISIX was unavailable for any route
+     * @throws RuntimeException if any route failed, after recording the ones that succeeded
+     */
+    public DeploySummary record(DeployPlan plan, PushResult result) {
+        RouteTally tally = new RouteTally();
+        recordService(plan.environment(), plan.api(), plan.service(), tally);
+        recordRoutes(plan.environment(), plan.routeCount(), plan.routes(), result, tally);
+        return summarize(plan.environment(), plan.api(), tally);
+    }
 
+    /**
+     * The service write, or null if its payload matches the last push.
+     */
+    private ResourceWrite planService(Environment environment, ServiceRevision revision, Api api,
+                                      com.apisix.controlplane.entity.Upstream upstream) {
         String serviceId = api.getId();
-        Map<String, Object> servicePayload = buildServicePayload(upstreamId, revision, api);
+        Map<String, Object> servicePayload = buildServicePayload(upstream.getApisixId(), revision, api);
+        String serviceHash = resourceStateService.hash(servicePayload);
+        String pushedHash = resourceStateService.findHashes(environment.getId(), ApisixAdminClient.SERVICES,
+                List.of(serviceId)).get(serviceId);
+        return serviceHash.equals(pushedHash) ? null : new ResourceWrite(serviceId, serviceId, servicePayload, serviceHash);
+    }
+
+    /**
+     * The routes of one page whose payload changed since the last push.
+     */
+    private List<ResourceWrite> planRoutes(Environment environment, Api api, PreparedRoutes routes) {
+        String envId = environment.getId();
+        List<ResourceWrite> routeWrites = new ArrayList<>(routes.size());
+        for (int i = 0; i < routes.size(); i++) {
+            String routeName = routes.names().get(i);
+            String routeId = generateRouteId(api.getOrgId(), envId, api.getName(), routeName, routes.indexes().get(i));
+            routeWrites.add(new ResourceWrite(routeId, routeName, routes.payloads().get(i), routes.hashes().get(i)));
+        }
 
+        Map<String, String> pushedHashes = resourceStateService.findHashes(envId, ApisixAdminClient.ROUTES,
+                routeWrites.stream().map(ResourceWrite::id).toList());
+        return routeWrites.stream()
+                .filter(write -> !write.hash().equals(pushedHashes.get(write.id())))
+                .toList();
+    }
+
+    private void putService(ApisixAdminClient client, Environment environment, ResourceWrite service) {
+        if (outboxService.isEnabled()) {
+            outboxService.enqueuePut(environment.getId(), ApisixAdminClient.SERVICES, service.id(), service.payload());
+            return;
+        }
         try {
-            log.info("Creating service {} with payload: {}", serviceId, servicePayload);
-            String response = webClient.put()
-                    .uri("/apisix/admin/services/{id}", serviceId)
-                    .bodyValue(servicePayload)
-                    .retrieve()
-                    .onStatus(status -> status.is4xxClientError() || status.is5xxServerError(),
-                            resp -> resp.bodyToMono(String.class)
-                                    .flatMap(body -> {
-                                        log.error("APISIX service creation failed: {} {}", resp.statusCode(), body);
-                                        return Mono.error(new RuntimeException("APISIX returned " + resp.statusCode() + ": " + body));
-                                    }))
-                    .bodyToMono(String.class)
-                    .block();
+            log.info("Creating service {} with payload: {}", service.id(), service.payload());
+            String response = client.put(ApisixAdminClient.SERVICES, service.id(), service.payload()).block();
             log.info("APISIX service response: {}", response);
+        } catch (ApisixUnavailableException e) {
+            throw e;
         } catch (Exception e) {
+            log.error("APISIX service creation failed: {}", e.getMessage());
             throw new RuntimeException("Failed to create service in APISIX: " + e.getMessage(), e);
         }
+    }
+
+    /**
+     * Push (or queue) routes concurrently up to the environment's limit. Failed routes are returned
+     * rather than thrown so the remaining pages are still pushed.
+     */
+    private PushResult putRoutes(ApisixAdminClient client, Environment environment, List<ResourceWrite> routes) {
+        if (outboxService.isEnabled()) {
+            Map<String, String> queuedHashes = new HashMap<>();
+            for (ResourceWrite write : routes) {
+                outboxService.enqueuePut(environment.getId(), ApisixAdminClient.ROUTES, write.id(), write.payload());
+                queuedHashes.put(write.id(), write.hash());
+            }
+            return new PushResult(queuedHashes, List.of(), null);
+        }
 
-        // Step 2: Create/Update Routes
-        List<RouteSpec> routeSpecs = revision.getRouteSpecifications();
-        for (int i = 0; i < routeSpecs.size(); i++) {
-            RouteSpec routeSpec = routeSpecs.get(i);
-            String routeName = routeSpec.getName() != null ? routeSpec.getName() : "route-" + i;
-            String routeId = generateRouteId(api.getOrgId(), environment.getId(),
-                    api.getName(), routeName, i);
-
-            Map<String, Object> routePayload = buildRoutePayload(routeSpec);
-
-            try {
-                log.info("Creating route {} with payload: {}", routeId, routePayload);
-                String response = webClient.put()
-                        .uri("/apisix/admin/routes/{id}", routeId)
-                        .bodyValue(routePayload)
-                        .retrieve()
-                        .onStatus(status -> status.is4xxClientError() || status.is5xxServerError(),
-                                resp -> resp.bodyToMono(String.class)
-                                        .flatMap(body -> {
-                                            log.error("APISIX route creation failed: {} {}", resp.statusCode(), body);
-                                            return Mono.error(new RuntimeException("APISIX returned " + resp.statusCode() + ": " + body));
-                                        }))
-                        .bodyToMono(String.class)
-                        .block();
-                log.info("APISIX route response: {}", response);
-            } catch (Exception e) {
-                throw new RuntimeException("Failed to create route '" + routeName + "' in APISIX: " + e.getMessage(), e);
+        List<RouteOutcome> outcomes = Flux.fromIterable(routes)
+                .flatMap(write -> {
+                    log.info("Creating route {} with payload: {}", write.id(), write.payload());
+                    return client.put(ApisixAdminClient.ROUTES, write.id(), write.payload())
+                            .doOnNext(response -> log.info("APISIX route response: {}", response))
+                            .then(Mono.just(new RouteOutcome(write, null)))
+                            .onErrorResume(e -> {
+                                log.error("APISIX route creation failed for '{}': {}", write.name(), e.getMessage());
+                                return Mono.just(new RouteOutcome(write, e));
+                            });
+                }, routeConcurrency(environment))
+                .collectList()
+                .blockOptional()
+                .orElse(List.of());
+
+        Map<String, String> succeeded = new HashMap<>();
+        List<String> failures = new ArrayList<>();
+        ApisixUnavailableException unavailable = null;
+        for (RouteOutcome outcome : outcomes) {
+            if (outcome.error() == null) {
+                succeeded.put(outcome.write().id(), outcome.write().hash());
+            } else {
+                failures.add("'" + outcome.write().name() + "': " + outcome.error().getMessage());
+                if (outcome.error() instanceof ApisixUnavailableException e && unavailable == null) {
+                    unavailable = e;
+                }
             }
         }
+        return new PushResult(succeeded, failures, unavailable);
+    }
+
+    private void recordService(Environment environment, Api api, ResourceWrite service, RouteTally tally) {
+        if (service == null) {
+            log.info("Service {} unchanged, skipping", api.getId());
+            tally.unchanged++;
+            return;
+        }
+        resourceStateService.recordPushed(environment.getId(), ApisixAdminClient.SERVICES,
+                Map.of(service.id(), service.hash()));
+        tally.updated++;
+    }
+
+    private void recordRoutes(Environment environment, int routeCount, List<ResourceWrite> changedRoutes,
+                              PushResult result, RouteTally tally) {
+        resourceStateService.recordPushed(environment.getId(), ApisixAdminClient.ROUTES, result.routeHashes());
+        tally.routes += routeCount;
+        tally.unchanged += routeCount - changedRoutes.size();
+        tally.updated += result.routeHashes().size();
+        tally.failures.addAll(result.failures());
+        if (tally.unavailable == null) {
+            tally.unavailable = result.unavailable();
+        }
+    }
+
+    private DeploySummary summarize(Environment environment, Api api, RouteTally tally) {
+        // Retryable once APISIX is back, so it reaches the caller as is rather than as a route failure
+        if (tally.unavailable != null) {
+            throw tally.unavailable;
+        }
+        if (!tally.failures.isEmpty()) {
+            throw new RuntimeException(String.format("Failed to create %d of %d routes in APISIX: %s",
+                    tally.failures.size(), tally.routes, String.join("; ", tally.failures)));
+        }
+
+        DeploySummary summary = new DeploySummary(tally.unchanged, tally.updated);
+        if (outboxService.isEnabled()) {
+            log.info("Queued deploy of service {} to environment {} ({} unchanged / {} queued)",
+                    api.getId(), environment.getId(), summary.unchanged(), summary.updated());
+        } else {
+            log.info("Successfully deployed API and {} routes to APISIX ({} unchanged / {} updated)",
+                    tally.routes, summary.unchanged(), summary.updated());
+        }
+        return summary;
+    }
+
+    /**
+     * Service and route payloads a deployed revision maps to in an environment, keyed by APISIX id,
+     * built exactly as {@link #deployServiceAndRoutes} would push them but without contacting APISIX.
+     */
+    public DesiredResources buildDesiredResources(Environment environment, ServiceRevision revision, Api api,
+                                                  com.apisix.controlplane.entity.Upstream upstream) {
+        PreparedRoutes routes = prepareRoutes(revision);
+        Map<String, Map<String, Object>> routePayloads = new LinkedHashMap<>();
+        for (int i = 0; i < routes.size(); i++) {
+            String routeId = generateRouteId(api.getOrgId(), environment.getId(), api.getName(),
+                    routes.names().get(i), routes.indexes().get(i));
+            routePayloads.put(routeId, routes.payloads().get(i));
+        }
+        return new DesiredResources(api.getId(), buildServicePayload(upstream.getApisixId(), revision, api), routePayloads);
+    }
+
+    /**
+     * Build and hash all route payloads of a revision. They do not depend on the target environment.
+     */
+    public PreparedRoutes prepareRoutes(ServiceRevision revision) {
+        try (Stream<List<RevisionRouteService.RouteEntry>> pages = revisionRouteService.streamRoutePages(revision.getId())) {
+            return prepareRoutes(pages.flatMap(List::stream).toList());
+        }
+    }
 
-        log.info("Successfully deployed API and {} routes to APISIX", routeSpecs.size());
+    private PreparedRoutes prepareRoutes(List<RevisionRouteService.RouteEntry> routes) {
+        List<Integer> indexes = new ArrayList<>(routes.size());
+        List<String> names = new ArrayList<>(routes.size());
+        List<Map<String, Object>> payloads = new ArrayList<>(routes.size());
+        List<String> hashes = new ArrayList<>(routes.size());
+        for (RevisionRouteService.RouteEntry route : routes) {
+            Map<String, Object> payload = buildRoutePayload(route.specification());
+            indexes.add(route.routeIndex());
+            names.add(routeName(route.name(), route.routeIndex()));
+            payloads.add(payload);
+            hashes.add(resourceStateService.hash(payload));
+        }
+        return new PreparedRoutes(indexes, names, payloads, hashes);
     }
 
     /**
@@ -106,49 +326,86 @@ public class ApisixIntegrationService {
      */
     public void undeployServiceAndRoutes(Environment environment, ServiceRevision revision,
                                          Api api) {
-        log.info("Undeploying API '{}' (Rev {}) from APISIX at {}",
-                api.getName(), revision.getRevisionNumber(), environment.getApisixAdminUrl());
+        push(planUndeploy(environment, revision, api));
+    }
 
-        WebClient webClient = buildWebClient(environment);
+    /**
+     * Resolve the APISIX IDs an undeploy removes and forget their pushed hashes, so a later deploy always
+     * rewrites whatever was (maybe) removed. Like {@link #planDeploy}, this is the part of an undeploy that
+     * reads and writes the database.
+     */
+    public UndeployPlan planUndeploy(Environment environment, ServiceRevision revision, Api api) {
         String serviceId = api.getId();
 
-        List<RouteSpec> routeSpecs = revision.getRouteSpecifications();
-        int deletedRoutes = 0;
-        for (int i = 0; i < routeSpecs.size(); i++) {
-            RouteSpec routeSpec = routeSpecs.get(i);
-            String routeName = routeSpec.getName() != null ? routeSpec.getName() : "route-" + i;
-            String routeId = generateRouteId(api.getOrgId(), environment.getId(),
-                    api.getName(), routeName, i);
-
-            if (tryDeleteRoute(webClient, routeId, routeName)) {
-                deletedRoutes++;
-            }
+        // Route IDs only depend on each route's index and name, so the specs are not read
+        List<RevisionRouteRepository.RouteKey> routeKeys = revisionRouteService.getRouteKeys(revision.getId());
+        List<String> routeIds = new ArrayList<>(routeKeys.size());
+        List<String> routeNames = new ArrayList<>(routeKeys.size());
+        for (RevisionRouteRepository.RouteKey key : routeKeys) {
+            String routeName = routeName(key.getName(), key.getRouteIndex());
+            routeNames.add(routeName);
+            routeIds.add(generateRouteId(api.getOrgId(), environment.getId(), api.getName(), routeName, key.getRouteIndex()));
         }
 
-        log.info("Deleted {}/{} routes", deletedRoutes, routeSpecs.size());
+        resourceStateService.forget(environment.getId(), ApisixAdminClient.ROUTES, routeIds);
+        resourceStateService.forget(environment.getId(), ApisixAdminClient.SERVICES, List.of(serviceId));
+        return new UndeployPlan(environment, revision, api, routeIds, routeNames);
+    }
+
+    /**
+     * Delete (or queue deleting) the routes of a plan, then its service. Touches the database only when
+     * the outbox is enabled.
+     */
+    public void push(UndeployPlan plan) {
+        Environment environment = plan.environment();
+        Api api = plan.api();
+        log.info("Undeploying API '{}' (Rev {}) from APISIX at {}",
+                api.getName(), plan.revision().getRevisionNumber(), environment.getApisixAdminUrl());
+
+        ApisixAdminClient client = clientRegistry.forEnvironment(environment);
+        String serviceId = api.getId();
+        List<String> routeIds = plan.routeIds();
 
-        if (deletedRoutes > 0) {
-            try { Thread.sleep(500); } catch (InterruptedException e) { Thread.currentThread().interrupt(); }
+        if (outboxService.isEnabled()) {
+            routeIds.forEach(routeId -> outboxService.enqueueDelete(environment.getId(), ApisixAdminClient.ROUTES, routeId));
+            outboxService.enqueueDelete(environment.getId(), ApisixAdminClient.SERVICES, serviceId);
+            log.info("Queued undeploy of API '{}': {} routes and service {}", api.getName(), routeIds.size(), serviceId);
+            return;
         }
 
-        if (!tryDeleteService(webClient, serviceId)) {
+        long deletedRoutes = Flux.range(0, routeIds.size())
+                .flatMap(i -> tryDeleteRoute(client, routeIds.get(i), plan.routeNames().get(i)), routeConcurrency(environment))
+                .filter(Boolean::booleanValue)
+                .count()
+                .blockOptional()
+                .orElse(0L);
+
+        log.info("Deleted {}/{} routes", deletedRoutes, routeIds.size());
+
+        if (!tryDeleteService(client, serviceId)) {
             throw new RuntimeException("Failed to delete service from APISIX: " + serviceId);
         }
 
         log.info("Successfully undeployed API and routes from APISIX");
     }
 
+    private Map<String, Object> buildServicePayload(String upstreamId, ServiceRevision revision, Api api) {
+        ServiceSpec serviceSpec = specContentService.load(revision.getServiceSpecHash(), ServiceSpec.class);
+        return buildServicePayload(upstreamId, serviceSpec, revision, api);
+    }
+
     /**
      * Build APISIX service payload from the stored ServiceSpec.
      * Sets upstream_id and adds a description fallback.
+     * Package-private, like the other payload and ID helpers, for the JMH benchmarks in src/jmh.
      */
     @SuppressWarnings("unchecked")
-    private Map<String, Object> buildServicePayload(String upstreamId, ServiceRevision revision, Api api) {
+    Map<String, Object> buildServicePayload(String upstreamId, ServiceSpec serviceSpec, ServiceRevision revision, Api api) {
         Map<String, Object> payload;
 
-        if (revision.getServiceSpecification() != null) {
+        if (serviceSpec != null) {
             // Clone the spec so we don't mutate the stored object
-            payload = objectMapper.convertValue(revision.getServiceSpecification(), LinkedHashMap.class);
+            payload = objectMapper.convertValue(serviceSpec, LinkedHashMap.class);
         } else {
             payload = new LinkedHashMap<>();
         }
@@ -169,7 +426,7 @@ public class ApisixIntegrationService {
      * service_id is already stamped on the spec at revision creation time.
      */
     @SuppressWarnings("unchecked")
-    private Map<String, Object> buildRoutePayload(RouteSpec routeSpec) {
+    Map<String, Object> buildRoutePayload(RouteSpec routeSpec) {
         Map<String, Object> payload = objectMapper.convertValue(routeSpec, LinkedHashMap.class);
 
         // Default status to enabled if not set
@@ -180,7 +437,23 @@ public class ApisixIntegrationService {
         return payload;
     }
 
-    private String generateRouteId(String orgId, String envId, String serviceName, String routeName, int index) {
+    private boolean isStillReferencedByRoute(Throwable e) {
+        return e instanceof ApisixAdminException ex
+                && ex.getStatusCode() == 400
+                && ex.getResponseBody() != null
+                && ex.getResponseBody().contains("is still using it");
+    }
+
+    private String routeName(String name, int index) {
+        return name != null ? name : "route-" + index;
+    }
+
+    private int routeConcurrency(Environment environment) {
+        Integer override = environment.getRoutePushConcurrency();
+        return override != null && override > 0 ? override : defaultRouteConcurrency;
+    }
+
+    static String generateRouteId(String orgId, String envId, String serviceName, String routeName, int index) {
         String fullId = String.format("%s-%s-%s-%d", orgId, serviceName, routeName, index);
         String hash = Integer.toHexString(fullId.hashCode());
 
@@ -199,46 +472,95 @@ public class ApisixIntegrationService {
         return routeId;
     }
 
-    private WebClient buildWebClient(Environment environment) {
-        return webClientBuilder
-                .baseUrl(environment.getApisixAdminUrl())
-                .defaultHeader("X-API-KEY", adminKey)
-                .build();
+    private Mono<Boolean> tryDeleteRoute(ApisixAdminClient client, String routeId, String routeName) {
+        return client.delete(ApisixAdminClient.ROUTES, routeId)
+                .thenReturn(true)
+                .onErrorResume(e -> {
+                    log.error("Failed to delete route '{}' ({}): {}", routeName, routeId, e.getMessage());
+                    return Mono.just(false);
+                });
     }
 
-    private boolean tryDeleteRoute(WebClient webClient, String routeId, String routeName) {
+    /**
+     * Delete the service, retrying with jittered exponential backoff while APISIX still sees
+     * a route referencing it (route deletions may not have propagated yet).
+     */
+    private boolean tryDeleteService(ApisixAdminClient client, String serviceId) {
         try {
-            webClient.delete()
-                    .uri("/apisix/admin/routes/{id}", routeId)
-                    .retrieve()
-                    .onStatus(status -> status.value() == 404, resp -> Mono.empty())
-                    .onStatus(status -> status.is4xxClientError() || status.is5xxServerError(),
-                            resp -> resp.bodyToMono(String.class)
-                                    .flatMap(body -> Mono.error(new RuntimeException("APISIX: " + resp.statusCode() + ": " + body))))
-                    .bodyToMono(String.class)
+            client.delete(ApisixAdminClient.SERVICES, serviceId)
+                    .retryWhen(Retry.backoff(serviceDeleteMaxRetries, Duration.ofMillis(serviceDeleteInitialBackoff))
+                            .maxBackoff(Duration.ofMillis(serviceDeleteMaxBackoff))
+                            .jitter(0.5)
+                            .filter(this::isStillReferencedByRoute)
+                            .doBeforeRetry(signal -> log.debug("Service {} still referenced by a route, retry #{}",
+                                    serviceId, signal.totalRetries() + 1))
+                            .onRetryExhaustedThrow((spec, signal) -> signal.failure()))
                     .block();
             return true;
+        } catch (ApisixUnavailableException e) {
+            throw e;
         } catch (Exception e) {
-            log.error("Failed to delete route '{}' ({}): {}", routeName, routeId, e.getMessage());
+            log.error("Failed to delete service {}: {}", serviceId, e.getMessage());
             return false;
         }
     }
 
-    private boolean tryDeleteService(WebClient webClient, String serviceId) {
-        try {
-            webClient.delete()
-                    .uri("/apisix/admin/services/{id}", serviceId)
-                    .retrieve()
-                    .onStatus(status -> status.value() == 404, resp -> Mono.empty())
-                    .onStatus(status -> status.is4xxClientError() || status.is5xxServerError(),
-                            resp -> resp.bodyToMono(String.class)
-                                    .flatMap(body -> Mono.error(new RuntimeException("APISIX: " + resp.statusCode() + ": " + body))))
-                    .bodyToMono(String.class)
-                    .block();
-            return true;
-        } catch (Exception e) {
-            log.error("Failed to delete service {}: {}", serviceId, e.getMessage());
-            return false;
+    /**
+     * Result of a deploy: resources skipped because their payload was unchanged vs. resources written.
+     */
+    public record DeploySummary(int unchanged, int updated) {}
+
+    /**
+     * Route indexes, names, payloads and payload hashes of a revision (or one page of its routes), aligned by position.
+     * Treat the payloads as read-only: they may be shared by concurrent pushes.
+     */
+    public record PreparedRoutes(List<Integer> indexes, List<String> names, List<Map<String, Object>> payloads,
+                                 List<String> hashes) {
+        public int size() {
+            return payloads.size();
         }
     }
+
+    /**
+     * Desired APISIX service and routes of one deployed revision; route payloads are keyed by route id.
+     */
+    public record DesiredResources(String serviceId, Map<String, Object> servicePayload,
+                                   Map<String, Map<String, Object>> routePayloads) {}
+
+    /**
+     * Changed service (null if unchanged) and routes of one revision in one environment, out of {@code routeCount} routes.
+     */
+    public record DeployPlan(Environment environment, ServiceRevision revision, Api api, ResourceWrite service,
+                             List<ResourceWrite> routes, int routeCount) {}
+
+    /**
+     * Hashes of the routes a push wrote, keyed by route id, a message per route that failed, and the
+     * unavailability that failed any of them (null if none).
+     */
+    public record PushResult(Map<String, String> routeHashes, List<String> failures,
+                             ApisixUnavailableException unavailable) {}
+
+    /**
+     * Route IDs and names (aligned by position) of one revision in one environment.
+     */
+    public record UndeployPlan(Environment environment, ServiceRevision revision, Api api,
+                               List<String> routeIds, List<String> routeNames) {}
+
+    /**
+     * One service or route write; {@code name} is the route name used in messages.
+     */
+    public record ResourceWrite(String id, String name, Map<String, Object> payload, String hash) {}
+
+    private record RouteOutcome(ResourceWrite write, Throwable error) {}
+
+    /**
+     * Running totals of a deploy across route pages.
+     */
+    private static class RouteTally {
+        private int routes;
+        private int unchanged;
+        private int updated;
+        private final List<String> failures = new ArrayList<>();
+        private ApisixUnavailableException unavailable;
+    }
 }
@@ -0,0 +1,237 @@
+package com.apisix.controlplane.service;
+
+import com.apisix.controlplane.apisix.client.ApisixAdminClient;
+import com.apisix.controlplane.apisix.client.ApisixAdminClientRegistry;
+import com.apisix.controlplane.cache.EntityLookupCache;
+import com.apisix.controlplane.dto.OutboxStatsResponse;
+import com.apisix.controlplane.entity.ApisixOutboxEntry;
+import com.apisix.controlplane.entity.Environment;
+import com.apisix.controlplane.enums.ApisixOperation;
+import com.apisix.controlplane.enums.OutboxStatus;
+import com.apisix.controlplane.repository.ApisixOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Drains the APISIX outbox in rounds.
+ * <p>
+ * Each round only visits environments whose next entry is due, so an environment backing off after a
+ * failure costs one index probe, and every due environment gets an equal share of {@code batch-size}
+ * entries, so a backlog on one unreachable gateway cannot starve the others.
+ * <p>
+ * Within an environment, entries are sent in commit order of their transactions, then write order (see
+ * {@link ApisixOutboxEntry}). Consecutive entries with the same operation and resource type (e.g. all route
+ * PUTs of one deploy) are sent concurrently. When an entry fails, that environment stops for this round and
+ * the entry is retried with exponential backoff, so later writes never overtake it. After
+ * {@code max-attempts} the entry is marked FAILED.
+ * <p>
+ * Each environment is drained in one transaction holding a per-environment advisory lock, so when several
+ * instances run the dispatcher, only one sends a given environment's entries at a time and writes keep
+ * their order. Entries sent before a crash are sent again, which is harmless since PUT and DELETE are
+ * idempotent.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ApisixOutboxDispatcher {
+
+    private final ApisixOutboxRepository outboxRepository;
+    private final EntityLookupCache lookupCache;
+    private final ApisixAdminClientRegistry clientRegistry;
+    private final ApisixResourceStateService resourceStateService;
+    private final ApisixOutboxService outboxService;
+    private final TransactionTemplate transactionTemplate;
+
+    private final AtomicLong dispatchedTotal = new AtomicLong();
+    private final AtomicLong failedAttemptsTotal = new AtomicLong();
+    private final AtomicReference<LocalDateTime> lastDispatchAt = new AtomicReference<>();
+
+    @Value("${apisix.outbox.dispatcher-enabled:true}")
+    private boolean dispatcherEnabled;
+
+    @Value("${apisix.outbox.batch-size:200}")
+    private int batchSize;
+
+    @Value("${apisix.outbox.environment-concurrency:4}")
+    private int environmentConcurrency;
+
+    @Value("${apisix.outbox.write-concurrency:8}")
+    private int writeConcurrency;
+
+    @Value("${apisix.outbox.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${apisix.outbox.initial-backoff:1000}")
+    private long initialBackoff;
+
+    @Value("${apisix.outbox.max-backoff:60000}")
+    private long maxBackoff;
+
+    @Scheduled(fixedDelayString = "${apisix.outbox.poll-interval:500}")
+    public void dispatch() {
+        if (!outboxService.isEnabled() || !dispatcherEnabled) {
+            return;
+        }
+
+        List<String> environmentIds = outboxRepository.findEnvironmentsWithDueHead(LocalDateTime.now());
+        if (environmentIds.isEmpty()) {
+            return;
+        }
+        int share = Math.max(1, batchSize / environmentIds.size());
+
+        Flux.fromIterable(environmentIds)
+                .flatMap(environmentId -> Mono.fromRunnable(() -> dispatchEnvironment(environmentId, share))
+                        .subscribeOn(Schedulers.boundedElastic()), environmentConcurrency)
+                .blockLast();
+        lastDispatchAt.set(LocalDateTime.now());
+    }
+
+    public OutboxStatsResponse getStats() {
+        long lagMs = outboxRepository.findFirstByStatusOrderByIdAsc(OutboxStatus.PENDING)
+                .map(oldest -> Duration.between(oldest.getCreatedAt(), LocalDateTime.now()).toMillis())
+                .orElse(0L);
+        return OutboxStatsResponse.builder()
+                .enabled(outboxService.isEnabled())
+                .pending(outboxRepository.countByStatus(OutboxStatus.PENDING))
+                .failed(outboxRepository.countByStatus(OutboxStatus.FAILED))
+                .lagMs(lagMs)
+                .dispatchedTotal(dispatchedTotal.get())
+                .failedAttemptsTotal(failedAttemptsTotal.get())
+                .lastDispatchAt(lastDispatchAt.get())
+                .build();
+    }
+
+    /**
+     * Drain one environment, unless another dispatcher is already draining it.
+     */
+    private void dispatchEnvironment(String environmentId, int limit) {
+        transactionTemplate.executeWithoutResult(status -> {
+            if (outboxRepository.tryLockEnvironment(environmentId)) {
+                drainEnvironment(environmentId, limit);
+            }
+        });
+    }
+
+    private void drainEnvironment(String environmentId, int limit) {
+        List<ApisixOutboxEntry> entries = outboxRepository.findByEnvironmentIdAndStatusOrderByCommitSequenceAscIdAsc(
+                environmentId, OutboxStatus.PENDING, PageRequest.of(0, limit));
+        Optional<Environment> environment = lookupCache.findEnvironment(environmentId);
+        if (environment.isEmpty()) {
+            entries.forEach(entry -> giveUp(entry, "Environment no longer exists: " + environmentId));
+            return;
+        }
+        ApisixAdminClient client = clientRegistry.forEnvironment(environment.get());
+
+        int start = 0;
+        while (start < entries.size()) {
+            // Head of line is still backing off: keep everything behind it waiting too
+            if (entries.get(start).getNextAttemptAt().isAfter(LocalDateTime.now())) {
+                return;
+            }
+            int end = runEnd(entries, start);
+            if (!sendRun(client, entries.subList(start, end))) {
+                return;
+            }
+            start = end;
+        }
+    }
+
+    /**
+     * End (exclusive) of the run of entries starting at {@code start} that can be sent concurrently:
+     * same operation and resource type, distinct resource IDs, and all due.
+     */
+    private int runEnd(List<ApisixOutboxEntry> entries, int start) {
+        ApisixOutboxEntry head = entries.get(start);
+        Set<String> ids = new HashSet<>();
+        ids.add(head.getResourceId());
+        LocalDateTime now = LocalDateTime.now();
+        int end = start + 1;
+        while (end < entries.size()) {
+            ApisixOutboxEntry next = entries.get(end);
+            if (next.getOperation() != head.getOperation()
+                    || !next.getResourceType().equals(head.getResourceType())
+                    || next.getNextAttemptAt().isAfter(now)
+                    || !ids.add(next.getResourceId())) {
+                break;
+            }
+            end++;
+        }
+        return end;
+    }
+
+    /**
+     * Send a run of entries concurrently. Returns false if any entry failed.
+     * <p>
+     * Only the HTTP calls run concurrently; outcomes are recorded afterwards on this thread, which
+     * already holds a boundedElastic worker, so a run never waits on workers it is itself occupying.
+     */
+    private boolean sendRun(ApisixAdminClient client, List<ApisixOutboxEntry> run) {
+        List<Map.Entry<ApisixOutboxEntry, Optional<Throwable>>> outcomes = Flux.fromIterable(run)
+                .flatMapSequential(entry -> send(client, entry)
+                        .then(Mono.fromCallable(() -> Optional.<Throwable>empty()))
+                        .onErrorResume(e -> Mono.just(Optional.of(e)))
+                        .map(error -> Map.entry(entry, error)), writeConcurrency)
+                .collectList()
+                .blockOptional()
+                .orElse(List.of());
+
+        boolean allSent = true;
+        for (Map.Entry<ApisixOutboxEntry, Optional<Throwable>> outcome : outcomes) {
+            if (outcome.getValue().isPresent()) {
+                recordFailure(outcome.getKey(), outcome.getValue().get());
+                allSent = false;
+            } else {
+                outboxRepository.delete(outcome.getKey());
+                dispatchedTotal.incrementAndGet();
+            }
+        }
+        return allSent;
+    }
+
+    private Mono<String> send(ApisixAdminClient client, ApisixOutboxEntry entry) {
+        return entry.getOperation() == ApisixOperation.PUT
+                ? client.put(entry.getResourceType(), entry.getResourceId(), entry.getPayload())
+                : client.delete(entry.getResourceType(), entry.getResourceId());
+    }
+
+    private void recordFailure(ApisixOutboxEntry entry, Throwable e) {
+        failedAttemptsTotal.incrementAndGet();
+        int attempts = entry.getAttempts() + 1;
+        if (attempts >= maxAttempts) {
+            entry.setAttempts(attempts);
+            giveUp(entry, e.getMessage());
+            return;
+        }
+        long backoff = Math.min(maxBackoff, initialBackoff * (1L << Math.min(attempts - 1, 20)));
+        entry.setAttempts(attempts);
+        entry.setLastError(e.getMessage());
+        entry.setNextAttemptAt(LocalDateTime.now().plus(Duration.ofMillis(backoff)));
+        outboxRepository.save(entry);
+        log.warn("APISIX {} {} {} failed (attempt {}), retrying in {} ms: {}", entry.getOperation(),
+                entry.getResourceType(), entry.getResourceId(), attempts, backoff, e.getMessage());
+    }
+
+    private void giveUp(ApisixOutboxEntry entry, String error) {
+        entry.setStatus(OutboxStatus.FAILED);
+        entry.setLastError(error);
+        outboxRepository.save(entry);
+        // The recorded hash no longer reflects APISIX, so the next write must go through
+        resourceStateService.forget(entry.getEnvironmentId(), entry.getResourceType(), List.of(entry.getResourceId()));
+        log.error("Giving up on APISIX {} {} {} after {} attempts: {}", entry.getOperation(),
+                entry.getResourceType(), entry.getResourceId(), entry.getAttempts(), error);
+    }
+}
@@ -0,0 +1,119 @@
+package com.apisix.controlplane.service;
+
+import com.apisix.controlplane.entity.ApisixOutboxEntry;
+import com.apisix.controlplane.enums.ApisixOperation;
+import com.apisix.controlplane.enums.OutboxStatus;
+import com.apisix.controlplane.repository.ApisixOutboxRepository;
+import com.apisix.controlplane.repository.ApisixOutboxSequenceRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Writes APISIX side effects to the {@code apisix_outbox} table instead of calling the Admin API inline.
+ * <p>
+ * Enabled with {@code apisix.outbox.enabled}. Entries must be written inside the caller's transaction
+ * so they commit or roll back together with the control-plane change; {@link ApisixOutboxDispatcher}
+ * sends them afterwards.
+ * <p>
+ * The first entry a transaction writes for an environment takes the environment's next commit sequence,
+ * which locks the environment's sequence row until the transaction ends. Transactions queueing writes for
+ * the same environment therefore commit in sequence order, and the dispatcher replays them in that order.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ApisixOutboxService {
+
+    private final ApisixOutboxRepository outboxRepository;
+    private final ApisixOutboxSequenceRepository sequenceRepository;
+    private final ObjectMapper objectMapper;
+
+    @Value("${apisix.outbox.enabled:false}")
+    private boolean enabled;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    @SuppressWarnings("unchecked")
+    public void enqueuePut(String environmentId, String resourceType, String resourceId, Object payload) {
+        Map<String, Object> body = payload instanceof Map<?, ?> map
+                ? (Map<String, Object>) map
+                : objectMapper.convertValue(payload, LinkedHashMap.class);
+        enqueue(environmentId, resourceType, resourceId, ApisixOperation.PUT, body);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueDelete(String environmentId, String resourceType, String resourceId) {
+        enqueue(environmentId, resourceType, resourceId, ApisixOperation.DELETE, null);
+    }
+
+    /**
+     * Take the commit sequences of several environments up front, in a fixed order, so transactions that
+     * queue writes for several environments cannot deadlock on each other's sequence rows.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void lockEnvironments(Collection<String> environmentIds) {
+        environmentIds.stream().distinct().sorted().forEach(this::commitSequence);
+    }
+
+    /**
+     * Drop everything queued for an environment, e.g. because it was deleted.
+     */
+    @Transactional
+    public int discardEnvironment(String environmentId) {
+        int discarded = outboxRepository.deleteByEnvironmentIdWithoutLoading(environmentId);
+        sequenceRepository.deleteByEnvironmentIdWithoutLoading(environmentId);
+        return discarded;
+    }
+
+    private void enqueue(String environmentId, String resourceType, String resourceId,
+                         ApisixOperation operation, Map<String, Object> payload) {
+        outboxRepository.save(ApisixOutboxEntry.builder()
+                .environmentId(environmentId)
+                .commitSequence(commitSequence(environmentId))
+                .resourceType(resourceType)
+                .resourceId(resourceId)
+                .operation(operation)
+                .payload(payload)
+                .status(OutboxStatus.PENDING)
+                .nextAttemptAt(LocalDateTime.now())
+                .build());
+        log.debug("Queued APISIX {} {} {} for environment {}", operation, resourceType, resourceId, environmentId);
+    }
+
+    /**
+     * The current transaction's commit sequence for an environment, taken on first use.
+     */
+    private long commitSequence(String environmentId) {
+        // Kept on a synchronization so a nested REQUIRES_NEW transaction takes its own sequence
+        TransactionSequences sequences = TransactionSynchronizationManager.getSynchronizations().stream()
+                .filter(TransactionSequences.class::isInstance)
+                .map(TransactionSequences.class::cast)
+                .findFirst()
+                .orElseGet(() -> {
+                    TransactionSequences created = new TransactionSequences();
+                    TransactionSynchronizationManager.registerSynchronization(created);
+                    return created;
+                });
+        return sequences.byEnvironment.computeIfAbsent(environmentId, sequenceRepository::next);
+    }
+
+    private static class TransactionSequences implements TransactionSynchronization {
+        private final Map<String, Long> byEnvironment = new HashMap<>();
+    }
+}
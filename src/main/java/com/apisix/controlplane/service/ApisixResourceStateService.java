@@ -0,0 +1,224 @@
+package com.apisix.controlplane.service;
+
+import com.apisix.controlplane.apisix.client.ApisixAdminClientRegistry;
+import com.apisix.controlplane.entity.ApisixResourceState;
+import com.apisix.controlplane.entity.Environment;
+import com.apisix.controlplane.repository.ApisixResourceStateRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Tracks the SHA-256 of the last payload pushed to APISIX per (environment, resource type, resource id)
+ * so writes whose canonical payload has not changed can be skipped.
+ * <p>
+ * Payloads are hashed as JSON with map keys sorted, so two payloads that differ only in key order
+ * produce the same hash.
+ * <p>
+ * Hashes are written in the caller's transaction, but direct (non-outbox) writes reach APISIX before it
+ * commits. When a transaction that recorded or forgot hashes rolls back, the hashes it touched are forgotten
+ * in a new transaction, so the next push of those resources is always sent whatever the gateway now holds.
+ */
+@Service
+@Slf4j
+public class ApisixResourceStateService {
+
+    private final ApisixResourceStateRepository stateRepository;
+    private final ApisixAdminClientRegistry clientRegistry;
+    private final ApisixOutboxService outboxService;
+    private final ObjectWriter canonicalWriter;
+    private final TransactionTemplate newTransaction;
+
+    public ApisixResourceStateService(ApisixResourceStateRepository stateRepository,
+                                      ApisixAdminClientRegistry clientRegistry,
+                                      ApisixOutboxService outboxService,
+                                      ObjectMapper objectMapper,
+                                      PlatformTransactionManager transactionManager) {
+        this.stateRepository = stateRepository;
+        this.clientRegistry = clientRegistry;
+        this.outboxService = outboxService;
+        this.canonicalWriter = objectMapper.writer().with(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS);
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * SHA-256 (hex) of the canonical JSON form of a payload.
+     */
+    public String hash(Object payload) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(canonicalWriter.writeValueAsBytes(payload));
+            return HexFormat.of().formatHex(digest);
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Failed to hash APISIX payload", e);
+        }
+    }
+
+    /**
+     * Last pushed hashes for the given resources, keyed by resource id. Missing ids have never been pushed.
+     */
+    public Map<String, String> findHashes(String environmentId, String resourceType, Collection<String> resourceIds) {
+        if (resourceIds.isEmpty()) {
+            return Map.of();
+        }
+        return stateRepository.findByEnvironmentIdAndResourceTypeAndResourceIdIn(environmentId, resourceType, resourceIds)
+                .stream()
+                .collect(Collectors.toMap(ApisixResourceState::getResourceId, ApisixResourceState::getPayloadHash));
+    }
+
+    /**
+     * Record successfully pushed payload hashes, keyed by resource id.
+     */
+    @Transactional
+    public void recordPushed(String environmentId, String resourceType, Map<String, String> hashesById) {
+        if (hashesById.isEmpty()) {
+            return;
+        }
+        forgetOnRollback(environmentId, resourceType, hashesById.keySet());
+        Map<String, ApisixResourceState> existing = stateRepository
+                .findByEnvironmentIdAndResourceTypeAndResourceIdIn(environmentId, resourceType, hashesById.keySet())
+                .stream()
+                .collect(Collectors.toMap(ApisixResourceState::getResourceId, Function.identity()));
+
+        List<ApisixResourceState> states = hashesById.entrySet().stream()
+                .map(entry -> {
+                    ApisixResourceState state = existing.get(entry.getKey());
+                    if (state == null) {
+                        state = ApisixResourceState.builder()
+                                .environmentId(environmentId)
+                                .resourceType(resourceType)
+                                .resourceId(entry.getKey())
+                                .build();
+                    }
+                    state.setPayloadHash(entry.getValue());
+                    return state;
+                })
+                .toList();
+        stateRepository.saveAll(states);
+    }
+
+    /**
+     * Forget recorded hashes so the next push of these resources is always sent.
+     */
+    @Transactional
+    public void forget(String environmentId, String resourceType, Collection<String> resourceIds) {
+        if (!resourceIds.isEmpty()) {
+            forgetOnRollback(environmentId, resourceType, resourceIds);
+            stateRepository.deleteByEnvironmentIdAndResourceTypeAndResourceIdIn(environmentId, resourceType, resourceIds);
+        }
+    }
+
+    /**
+     * Record that these resources were seen on the gateway.
+     */
+    @Transactional
+    public void markVerified(String environmentId, String resourceType, Collection<String> resourceIds,
+                             LocalDateTime verifiedAt) {
+        if (!resourceIds.isEmpty()) {
+            stateRepository.markVerified(environmentId, resourceType, resourceIds, verifiedAt);
+        }
+    }
+
+    @Transactional
+    public void forgetEnvironment(String environmentId) {
+        stateRepository.deleteByEnvironmentId(environmentId);
+    }
+
+    /**
+     * PUT a resource unless the same payload was already pushed.
+     * With the outbox enabled the write is queued and its hash recorded as the desired state.
+     *
+     * @return true if the resource was written (or queued), false if it was unchanged
+     */
+    @Transactional
+    public boolean putIfChanged(Environment environment, String resourceType, String resourceId, Object payload) {
+        String hash = hash(payload);
+        if (hash.equals(findHashes(environment.getId(), resourceType, List.of(resourceId)).get(resourceId))) {
+            log.debug("APISIX {} {} unchanged, skipping write", resourceType, resourceId);
+            return false;
+        }
+        if (outboxService.isEnabled()) {
+            outboxService.enqueuePut(environment.getId(), resourceType, resourceId, payload);
+        } else {
+            clientRegistry.forEnvironment(environment).put(resourceType, resourceId, payload).block();
+        }
+        recordPushed(environment.getId(), resourceType, Map.of(resourceId, hash));
+        return true;
+    }
+
+    /**
+     * DELETE a resource (or queue the delete) and forget its recorded hash.
+     */
+    @Transactional
+    public void delete(Environment environment, String resourceType, String resourceId) {
+        forget(environment.getId(), resourceType, List.of(resourceId));
+        if (outboxService.isEnabled()) {
+            outboxService.enqueueDelete(environment.getId(), resourceType, resourceId);
+        } else {
+            clientRegistry.forEnvironment(environment).delete(resourceType, resourceId).block();
+        }
+    }
+
+    /**
+     * Remember resources whose hashes the current transaction changed, to forget them if it rolls back.
+     */
+    private void forgetOnRollback(String environmentId, String resourceType, Collection<String> resourceIds) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TouchedHashes touched = TransactionSynchronizationManager.getSynchronizations().stream()
+                .filter(TouchedHashes.class::isInstance)
+                .map(TouchedHashes.class::cast)
+                .findFirst()
+                .orElseGet(() -> {
+                    TouchedHashes created = new TouchedHashes();
+                    TransactionSynchronizationManager.registerSynchronization(created);
+                    return created;
+                });
+        touched.resourceIds.computeIfAbsent(Map.entry(environmentId, resourceType), key -> new LinkedHashSet<>())
+                .addAll(resourceIds);
+    }
+
+    private class TouchedHashes implements TransactionSynchronization {
+        /** Resource IDs keyed by (environment ID, resource type). */
+        private final Map<Map.Entry<String, String>, Set<String>> resourceIds = new LinkedHashMap<>();
+
+        @Override
+        public void afterCompletion(int status) {
+            if (status != STATUS_ROLLED_BACK) {
+                return;
+            }
+            try {
+                newTransaction.executeWithoutResult(tx -> resourceIds.forEach((key, ids) ->
+                        stateRepository.deleteByEnvironmentIdAndResourceTypeAndResourceIdIn(key.getKey(), key.getValue(), ids)));
+                log.info("Forgot pushed hashes of {} APISIX resources after a rollback",
+                        resourceIds.values().stream().mapToInt(Set::size).sum());
+            } catch (RuntimeException e) {
+                log.error("Could not forget pushed hashes after a rollback; the next push of these resources "
+                        + "may be skipped as unchanged: {}", e.getMessage());
+            }
+        }
+    }
+}
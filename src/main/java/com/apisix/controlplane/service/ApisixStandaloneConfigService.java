@@ -0,0 +1,263 @@
+package com.apisix.controlplane.service;
+
+import com.apisix.controlplane.apisix.client.ApisixAdminClient;
+import com.apisix.controlplane.dto.StandaloneConfigExportResponse;
+import com.apisix.controlplane.entity.*;
+import com.apisix.controlplane.enums.StandaloneConfigFormat;
+import com.apisix.controlplane.enums.SubscriptionStatus;
+import com.apisix.controlplane.repository.*;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import com.fasterxml.jackson.dataformat.yaml.YAMLGenerator;
+import com.fasterxml.jackson.dataformat.yaml.YAMLMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Compiles the complete declarative APISIX standalone configuration of an environment from the DB:
+ * routes and services of every deployed revision, the environment's upstreams, consumers of active
+ * API and product subscriptions, and product consumer groups.
+ * <p>
+ * Payloads come from the same builders the Admin API path uses, so a gateway loading the file ends up
+ * with what the incremental writes would have produced. Sections and entries are sorted, so the
+ * content hash only changes when the configuration does.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ApisixStandaloneConfigService {
+
+    private static final byte[] YAML_END_MARKER = "#END\n".getBytes(StandardCharsets.UTF_8);
+
+    private static final ObjectWriter YAML_WRITER = new YAMLMapper(new YAMLFactory()
+            .disable(YAMLGenerator.Feature.WRITE_DOC_START_MARKER)
+            .enable(YAMLGenerator.Feature.MINIMIZE_QUOTES))
+            .writer()
+            .with(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+            .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+    private final EnvironmentService environmentService;
+    private final DeploymentRepository deploymentRepository;
+    private final ServiceRevisionRepository revisionRepository;
+    private final ApiRepository apiRepository;
+    private final UpstreamRepository upstreamRepository;
+    private final UpstreamBindingRepository upstreamBindingRepository;
+    private final APISubscriptionRepository apiSubscriptionRepository;
+    private final ProductRepository productRepository;
+    private final ProductSubscriptionRepository productSubscriptionRepository;
+    private final ApisixIntegrationService apisixIntegrationService;
+    private final UpstreamService upstreamService;
+    private final APISubscriptionService apiSubscriptionService;
+    private final ProductService productService;
+    private final ProductSubscriptionService productSubscriptionService;
+    private final ApisixResourceStateService resourceStateService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${apisix.standalone.output-dir:./standalone}")
+    private String outputDir;
+
+    /**
+     * Build the standalone configuration of an environment.
+     */
+    @Transactional(readOnly = true)
+    public CompiledConfig compile(String environmentId) {
+        Environment environment = environmentService.getEnvironmentById(environmentId);
+        String orgId = environment.getOrgId();
+
+        // Upstreams
+        List<Upstream> upstreams = upstreamRepository.findByEnvironmentId(environmentId);
+        Map<String, Upstream> upstreamById = upstreams.stream()
+                .collect(Collectors.toMap(Upstream::getId, Function.identity()));
+        List<Map<String, Object>> upstreamEntries = upstreams.stream()
+                .map(u -> withId(u.getApisixId(), upstreamService.buildUpstreamPayload(u)))
+                .toList();
+
+        // Services and routes of deployed revisions
+        List<Deployment> deployments = deploymentRepository.findByEnvironmentId(environmentId);
+        Map<String, ServiceRevision> revisions = revisionRepository.findAllById(
+                        deployments.stream().map(Deployment::getRevisionId).toList())
+                .stream().collect(Collectors.toMap(ServiceRevision::getId, Function.identity()));
+        Map<String, Api> apis = apiRepository.findAllById(deployments.stream().map(Deployment::getApiId).toList())
+                .stream().collect(Collectors.toMap(Api::getId, Function.identity()));
+
+        List<Map<String, Object>> serviceEntries = new ArrayList<>();
+        List<Map<String, Object>> routeEntries = new ArrayList<>();
+        Set<String> deployedApiIds = new HashSet<>();
+        for (Deployment deployment : deployments) {
+            ServiceRevision revision = revisions.get(deployment.getRevisionId());
+            Api api = apis.get(deployment.getApiId());
+            Upstream upstream = upstreamBindingRepository
+                    .findByRevisionIdAndEnvironmentId(deployment.getRevisionId(), environmentId)
+                    .map(binding -> upstreamById.get(binding.getUpstreamId()))
+                    .orElse(null);
+            if (revision == null || api == null || upstream == null) {
+                log.warn("Skipping deployment {} of API {} in env {}: revision, API or upstream is missing",
+                        deployment.getId(), deployment.getApiId(), environmentId);
+                continue;
+            }
+
+            var desired = apisixIntegrationService.buildDesiredResources(environment, revision, api, upstream);
+            serviceEntries.add(withId(desired.serviceId(), desired.servicePayload()));
+            desired.routePayloads().forEach((routeId, payload) -> routeEntries.add(withId(routeId, payload)));
+            deployedApiIds.add(api.getId());
+        }
+
+        // Consumer groups of products, restricted to their deployed APIs
+        List<Map<String, Object>> consumerGroupEntries = new ArrayList<>();
+        for (Product product : productRepository.findByOrgIdAndEnvId(orgId, environmentId)) {
+            List<String> serviceIds = product.getApis().stream()
+                    .map(Api::getId)
+                    .filter(deployedApiIds::contains)
+                    .distinct()
+                    .sorted()
+                    .collect(Collectors.toList());
+            consumerGroupEntries.add(withId(product.getId(), productService.buildConsumerGroupPayload(
+                    product.getDisplayName(), serviceIds, product.getPlugins())));
+        }
+
+        // Consumers: one per developer for API subscriptions, one per product subscription
+        List<Map<String, Object>> consumerEntries = new ArrayList<>();
+        Map<String, List<APISubscription>> apiSubscriptionsByDeveloper = apiSubscriptionRepository
+                .findByOrgIdAndEnvIdAndStatus(orgId, environmentId, SubscriptionStatus.ACTIVE)
+                .stream()
+                .collect(Collectors.groupingBy(APISubscription::getDeveloperId));
+        apiSubscriptionsByDeveloper.forEach((developerId, subscriptions) -> {
+            List<String> whitelist = subscriptions.stream()
+                    .map(APISubscription::getApiId)
+                    .distinct()
+                    .sorted()
+                    .collect(Collectors.toList());
+            consumerEntries.add(apiSubscriptionService.buildConsumerPayload(developerId,
+                    subscriptions.get(0).getApiKey(), orgId, developerId, whitelist));
+        });
+        for (ProductSubscription subscription : productSubscriptionRepository
+                .findByOrgIdAndEnvIdAndStatus(orgId, environmentId, SubscriptionStatus.ACTIVE)) {
+            consumerEntries.add(productSubscriptionService.buildConsumerPayload(subscription.getId(),
+                    subscription.getProductId(), subscription.getApiKey(), orgId, subscription.getDeveloperId()));
+        }
+
+        Map<String, Object> document = new LinkedHashMap<>();
+        document.put(ApisixAdminClient.ROUTES, sorted(routeEntries, "id"));
+        document.put(ApisixAdminClient.SERVICES, sorted(serviceEntries, "id"));
+        document.put(ApisixAdminClient.UPSTREAMS, sorted(upstreamEntries, "id"));
+        document.put(ApisixAdminClient.CONSUMERS, sorted(consumerEntries, "username"));
+        document.put(ApisixAdminClient.CONSUMER_GROUPS, sorted(consumerGroupEntries, "id"));
+
+        CompiledConfig config = new CompiledConfig(environmentId, document, resourceStateService.hash(document));
+        log.info("Compiled standalone config for env {}: {} (hash {})", environmentId, config.resourceCounts(),
+                config.contentHash());
+        return config;
+    }
+
+    /**
+     * Serialize a compiled configuration. The stream is left open.
+     */
+    public void write(CompiledConfig config, StandaloneConfigFormat format, OutputStream out) throws IOException {
+        if (format == StandaloneConfigFormat.YAML) {
+            YAML_WRITER.writeValue(out, config.document());
+            out.write(YAML_END_MARKER);
+        } else {
+            objectMapper.writer()
+                    .with(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+                    .withDefaultPrettyPrinter()
+                    .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                    .writeValue(out, config.document());
+        }
+        out.flush();
+    }
+
+    /**
+     * Compile an environment's configuration and write it under {@code apisix.standalone.output-dir}.
+     * The file is replaced atomically, so a gateway watching it never reads a partial config; it is left
+     * untouched when the content is already identical.
+     */
+    @Transactional(readOnly = true)
+    public StandaloneConfigExportResponse export(String environmentId, StandaloneConfigFormat format) {
+        CompiledConfig config = compile(environmentId);
+
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        Path target = Path.of(outputDir, fileName(environmentId, format)).toAbsolutePath();
+        boolean written;
+        try {
+            write(config, format, buffer);
+            byte[] content = buffer.toByteArray();
+            written = !(Files.exists(target) && Arrays.equals(Files.readAllBytes(target), content));
+            if (written) {
+                writeAtomically(target, content);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write standalone config to " + target, e);
+        }
+
+        log.info("Standalone config for env {} {} {}", environmentId, written ? "written to" : "unchanged at", target);
+        return StandaloneConfigExportResponse.builder()
+                .environmentId(environmentId)
+                .format(format)
+                .path(target.toString())
+                .contentHash(config.contentHash())
+                .sizeBytes(buffer.size())
+                .written(written)
+                .resourceCounts(config.resourceCounts())
+                .generatedAt(LocalDateTime.now())
+                .build();
+    }
+
+    public String fileName(String environmentId, StandaloneConfigFormat format) {
+        return environmentId + (format == StandaloneConfigFormat.YAML ? ".yaml" : ".json");
+    }
+
+    private void writeAtomically(Path target, byte[] content) throws IOException {
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        try {
+            Files.write(temp, content);
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private Map<String, Object> withId(String id, Map<String, Object> payload) {
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("id", id);
+        entry.putAll(payload);
+        return entry;
+    }
+
+    private List<Map<String, Object>> sorted(List<Map<String, Object>> entries, String key) {
+        return entries.stream()
+                .sorted(Comparator.comparing(entry -> String.valueOf(entry.get(key))))
+                .toList();
+    }
+
+    /**
+     * A compiled standalone configuration: one list per APISIX resource type, and the SHA-256 of its canonical JSON.
+     */
+    public record CompiledConfig(String environmentId, Map<String, Object> document, String contentHash) {
+
+        public Map<String, Integer> resourceCounts() {
+            Map<String, Integer> counts = new LinkedHashMap<>();
+            document.forEach((section, entries) -> counts.put(section, ((List<?>) entries).size()));
+            return counts;
+        }
+    }
+}
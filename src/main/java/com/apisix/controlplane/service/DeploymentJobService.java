@@ -0,0 +1,167 @@
+package com.apisix.controlplane.service;
+
+import com.apisix.controlplane.dto.DeployRequest;
+import com.apisix.controlplane.dto.UndeployRequest;
+import com.apisix.controlplane.entity.DeploymentJob;
+import com.apisix.controlplane.entity.DeploymentJobStep;
+import com.apisix.controlplane.enums.DeploymentJobStatus;
+import com.apisix.controlplane.enums.DeploymentJobType;
+import com.apisix.controlplane.exception.BusinessException;
+import com.apisix.controlplane.exception.ResourceNotFoundException;
+import com.apisix.controlplane.repository.DeploymentJobRepository;
+import com.apisix.controlplane.repository.ServiceRevisionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Runs deploy/undeploy of revisions on the bounded deployment executor so the HTTP request
+ * returns immediately with a {@link DeploymentJob} that can be polled for progress.
+ * Each step is stored on the job as soon as it completes.
+ * <p>
+ * The queue lives in memory, so a node heartbeats the jobs it holds. Jobs left PENDING or RUNNING by a node
+ * that stopped (e.g. a restart) are failed once their heartbeat is older than {@code apisix.deploy.async.stale-after},
+ * on startup and by a periodic sweep, so pollers always see them finish.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DeploymentJobService {
+
+    private final DeploymentJobRepository jobRepository;
+    private final ServiceRevisionRepository revisionRepository;
+    private final ServiceRevisionService revisionService;
+    private final ThreadPoolTaskExecutor deploymentExecutor;
+
+    private static final String INTERRUPTED_ERROR = "Interrupted: the control plane node running this job stopped";
+
+    /** Jobs queued or running on this node. */
+    private final Set<String> activeJobs = ConcurrentHashMap.newKeySet();
+
+    @Value("${apisix.deploy.async.stale-after:120000}")
+    private long staleAfter;
+
+    public DeploymentJob submitDeploy(String revisionId, DeployRequest request) {
+        DeploymentJob job = createJob(revisionId, request.getEnvironmentId(), DeploymentJobType.DEPLOY, request.isForce());
+        return submit(job, steps -> revisionService.deployRevision(revisionId, request, steps));
+    }
+
+    public DeploymentJob submitUndeploy(String revisionId, UndeployRequest request) {
+        DeploymentJob job = createJob(revisionId, request.getEnvironmentId(), DeploymentJobType.UNDEPLOY, false);
+        return submit(job, steps -> revisionService.undeployRevision(revisionId, request, steps));
+    }
+
+    public DeploymentJob getJob(String orgId, String jobId) {
+        DeploymentJob job = jobRepository.findById(jobId)
+                .orElseThrow(() -> new ResourceNotFoundException("Deployment job not found: " + jobId));
+        if (!job.getOrgId().equals(orgId)) {
+            // Same answer as for a missing ID, so other organizations' job IDs cannot be probed
+            throw new ResourceNotFoundException("Deployment job not found: " + jobId);
+        }
+        return job;
+    }
+
+    private DeploymentJob createJob(String revisionId, String environmentId, DeploymentJobType type, boolean force) {
+        var revision = revisionRepository.findHeaderById(revisionId)
+                .orElseThrow(() -> new ResourceNotFoundException("Service revision not found with ID: " + revisionId));
+
+        return jobRepository.save(DeploymentJob.builder()
+                .orgId(revision.getOrgId())
+                .apiId(revision.getApiId())
+                .revisionId(revisionId)
+                .environmentId(environmentId)
+                .type(type)
+                .force(force)
+                .heartbeatAt(LocalDateTime.now())
+                .build());
+    }
+
+    /**
+     * Keep this node's jobs alive and fail the jobs of nodes that stopped.
+     */
+    @Scheduled(fixedDelayString = "${apisix.deploy.async.heartbeat-interval:30000}")
+    public void heartbeat() {
+        if (!activeJobs.isEmpty()) {
+            jobRepository.touch(List.copyOf(activeJobs), LocalDateTime.now());
+        }
+        failStaleJobs();
+    }
+
+    /**
+     * Jobs this node held before a restart are gone from its queue; fail them instead of leaving them unfinished.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void failStaleJobs() {
+        LocalDateTime now = LocalDateTime.now();
+        int failed = jobRepository.failStale(List.of(DeploymentJobStatus.PENDING, DeploymentJobStatus.RUNNING),
+                DeploymentJobStatus.FAILED, INTERRUPTED_ERROR, now.minusNanos(staleAfter * 1_000_000), now);
+        if (failed > 0) {
+            log.warn("Failed {} deployment jobs whose node stopped heartbeating", failed);
+        }
+    }
+
+    private DeploymentJob submit(DeploymentJob job, Consumer<DeploymentStepRecorder> action) {
+        activeJobs.add(job.getId());
+        try {
+            deploymentExecutor.execute(() -> run(job.getId(), action));
+        } catch (TaskRejectedException e) {
+            activeJobs.remove(job.getId());
+            job.setStatus(DeploymentJobStatus.FAILED);
+            job.setError("Deployment queue is full");
+            job.setFinishedAt(LocalDateTime.now());
+            jobRepository.save(job);
+            throw new BusinessException("Deployment queue is full, retry later");
+        }
+        log.info("Queued {} job {} for revision {} in environment {}",
+                job.getType(), job.getId(), job.getRevisionId(), job.getEnvironmentId());
+        return job;
+    }
+
+    private void run(String jobId, Consumer<DeploymentStepRecorder> action) {
+        try {
+            DeploymentJob job = jobRepository.findById(jobId).orElseThrow();
+            job.setStatus(DeploymentJobStatus.RUNNING);
+            job.setStartedAt(LocalDateTime.now());
+            job.setHeartbeatAt(job.getStartedAt());
+            job = jobRepository.save(job);
+
+            DeploymentStepRecorder steps = new DeploymentStepRecorder(recorded -> saveSteps(jobId, recorded));
+            try {
+                action.accept(steps);
+                job.setStatus(DeploymentJobStatus.SUCCEEDED);
+            } catch (Exception e) {
+                log.error("{} job {} failed: {}", job.getType(), jobId, e.getMessage());
+                job.setStatus(DeploymentJobStatus.FAILED);
+                job.setError(e.getMessage());
+            }
+
+            job.setSteps(steps.getSteps());
+            job.setFinishedAt(LocalDateTime.now());
+            jobRepository.save(job);
+            log.info("{} job {} finished with status {}", job.getType(), jobId, job.getStatus());
+        } finally {
+            activeJobs.remove(jobId);
+        }
+    }
+
+    private void saveSteps(String jobId, List<DeploymentJobStep> steps) {
+        try {
+            jobRepository.updateSteps(jobId, steps, LocalDateTime.now());
+        } catch (RuntimeException e) {
+            // Progress is informational; the job itself carries on and stores all steps when it finishes
+            log.warn("Could not store progress of deployment job {}: {}", jobId, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.apisix.controlplane.service;
+
+import com.apisix.controlplane.entity.DeploymentJobStep;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Times the named steps of a deploy/undeploy run. Synchronous calls use a throwaway instance;
+ * {@link DeploymentJobService} stores the steps on the job as each one completes.
+ */
+public class DeploymentStepRecorder {
+
+    private final List<DeploymentJobStep> steps = new ArrayList<>();
+    private final Consumer<List<DeploymentJobStep>> onStep;
+
+    public DeploymentStepRecorder() {
+        this(steps -> { });
+    }
+
+    /**
+     * @param onStep called with all steps recorded so far after each step completes, one call at a time
+     */
+    public DeploymentStepRecorder(Consumer<List<DeploymentJobStep>> onStep) {
+        this.onStep = onStep;
+    }
+
+    public <T> T step(String name, Supplier<T> action) {
+        LocalDateTime startedAt = LocalDateTime.now();
+        long start = System.nanoTime();
+        try {
+            T result = action.get();
+            record(name, startedAt, start, null);
+            return result;
+        } catch (RuntimeException e) {
+            record(name, startedAt, start, e.getMessage());
+            throw e;
+        }
+    }
+
+    public void step(String name, Runnable action) {
+        step(name, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    public synchronized List<DeploymentJobStep> getSteps() {
+        return List.copyOf(steps);
+    }
+
+    private synchronized void record(String name, LocalDateTime startedAt, long startNanos, String error) {
+        steps.add(DeploymentJobStep.builder()
+                .name(name)
+                .startedAt(startedAt)
+                .durationMs((System.nanoTime() - startNanos) / 1_000_000)
+                .error(error)
+                .build());
+        onStep.accept(List.copyOf(steps));
+    }
+}
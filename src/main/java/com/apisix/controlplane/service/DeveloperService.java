@@ -12,8 +12,12 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -76,6 +80,16 @@ public class DeveloperService {
 
         return developerRepository.findByOrgId(orgId, pageable);
     }
+
+    public Window<Developer> getDevelopersByOrganization(String orgId, ScrollPosition position, Sort sort, Limit limit) {
+        log.info("Scrolling developers for organization: {}", orgId);
+
+        if (!organizationRepository.existsById(orgId)) {
+            throw new ResourceNotFoundException("Organization not found: " + orgId);
+        }
+
+        return developerRepository.findByOrgId(orgId, position, sort, limit);
+    }
     
     public Developer getDeveloperById(String orgId, String developerId) {
         log.info("Fetching developer {} in organization {}", developerId, orgId);
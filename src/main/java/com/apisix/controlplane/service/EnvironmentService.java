@@ -1,5 +1,8 @@
 package com.apisix.controlplane.service;
 
+import com.apisix.controlplane.apisix.client.ApisixAdminClientRegistry;
+import com.apisix.controlplane.apisix.validation.ApisixSchemaRegistry;
+import com.apisix.controlplane.cache.EntityLookupCache;
 import com.apisix.controlplane.dto.CreateEnvironmentRequest;
 import com.apisix.controlplane.entity.Environment;
 import com.apisix.controlplane.exception.BusinessException;
@@ -19,6 +22,11 @@ public class EnvironmentService {
 
     private final EnvironmentRepository environmentRepository;
     private final OrganizationRepository organizationRepository;
+    private final ApisixAdminClientRegistry clientRegistry;
+    private final ApisixResourceStateService resourceStateService;
+    private final ApisixOutboxService outboxService;
+    private final EntityLookupCache lookupCache;
+    private final ApisixSchemaRegistry schemaRegistry;
 
     public Environment createEnvironment(String orgId, CreateEnvironmentRequest request) {
         log.info("Creating environment '{}' for organization: {}", request.getName(), orgId);
@@ -33,12 +41,19 @@ public class EnvironmentService {
             throw new BusinessException("Environment with name '" + request.getName() + "' already exists in this organization");
         }
 
+        if (!schemaRegistry.isSupported(request.getApisixVersion())) {
+            throw new BusinessException("Unsupported APISIX version '" + request.getApisixVersion()
+                    + "'. Supported: " + schemaRegistry.getVersions());
+        }
+
         Environment environment = Environment.builder()
                 .orgId(orgId)
                 .name(request.getName())
                 .description(request.getDescription())
                 .apisixAdminUrl(request.getApisixAdminUrl())
                 .active(request.isActive())
+                .routePushConcurrency(request.getRoutePushConcurrency())
+                .apisixVersion(request.getApisixVersion())
                 .build();
 
         Environment saved = environmentRepository.save(environment);
@@ -51,7 +66,7 @@ public class EnvironmentService {
     }
 
     public Environment getEnvironmentById(String id) {
-        return environmentRepository.findById(id)
+        return lookupCache.findEnvironment(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Environment not found with ID: " + id));
     }
 
@@ -60,6 +75,13 @@ public class EnvironmentService {
             throw new ResourceNotFoundException("Environment not found with ID: " + id);
         }
         environmentRepository.deleteById(id);
+        lookupCache.evictEnvironment(id);
+        clientRegistry.invalidate(id);
+        resourceStateService.forgetEnvironment(id);
+        int discarded = outboxService.discardEnvironment(id);
+        if (discarded > 0) {
+            log.info("Discarded {} queued APISIX writes of environment {}", discarded, id);
+        }
         log.info("Environment deleted with ID: {}", id);
     }
 }
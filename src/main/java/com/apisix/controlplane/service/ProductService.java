@@ -1,5 +1,8 @@
 package com.apisix.controlplane.service;
 
+import com.apisix.controlplane.apisix.client.ApisixAdminClient;
+import com.apisix.controlplane.apisix.validation.ApisixSchemaValidator;
+import com.apisix.controlplane.cache.EntityLookupCache;
 import com.apisix.controlplane.dto.CreateProductRequest;
 import com.apisix.controlplane.dto.ProductResponse;
 import com.apisix.controlplane.entity.*;
@@ -8,10 +11,7 @@ import com.apisix.controlplane.exception.ResourceNotFoundException;
 import com.apisix.controlplane.repository.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.reactive.function.client.WebClient;
-import reactor.core.publisher.Mono;
 
 import java.time.LocalDateTime;
 import java.util.*;
@@ -25,13 +25,11 @@ public class ProductService {
     private final ProductRepository productRepository;
     private final ProductSubscriptionRepository productSubscriptionRepository;
     private final OrganizationRepository organizationRepository;
-    private final EnvironmentRepository environmentRepository;
+    private final EntityLookupCache lookupCache;
     private final ApiRepository apiRepository;
     private final DeploymentRepository deploymentRepository;
-    private final WebClient.Builder webClientBuilder;
-
-    @Value("${apisix.admin.key}")
-    private String adminKey;
+    private final ApisixResourceStateService resourceStateService;
+    private final ApisixSchemaValidator schemaValidator;
 
     @Transactional
     public Product createProduct(String orgId, String envId, CreateProductRequest request) {
@@ -41,7 +39,7 @@ public class ProductService {
             throw new ResourceNotFoundException("Organization not found: " + orgId);
         }
 
-        Environment environment = environmentRepository.findById(envId)
+        Environment environment = lookupCache.findEnvironment(envId)
                 .orElseThrow(() -> new ResourceNotFoundException("Environment not found: " + envId));
         if (!environment.getOrgId().equals(orgId)) {
             throw new BusinessException("Environment does not belong to this organization");
@@ -52,6 +50,7 @@ public class ProductService {
         }
 
         validateServiceIds(orgId, request.getApiIds());
+        validatePlugins(environment, request.getPlugins());
         List<Api> apis = apiRepository.findAllById(request.getApiIds());
 
         Product product = Product.builder()
@@ -82,7 +81,11 @@ public class ProductService {
             throw new BusinessException("Product does not belong to this environment");
         }
 
+        Environment environment = lookupCache.findEnvironment(envId)
+                .orElseThrow(() -> new ResourceNotFoundException("Environment not found: " + envId));
+
         validateServiceIds(orgId, request.getApiIds());
+        validatePlugins(environment, request.getPlugins());
         List<Api> apis = apiRepository.findAllById(request.getApiIds());
 
         product.setDescription(request.getDescription());
@@ -91,9 +94,6 @@ public class ProductService {
         product.setPlugins(request.getPlugins());
         product.setUpdatedAt(LocalDateTime.now());
 
-        Environment environment = environmentRepository.findById(envId)
-                .orElseThrow(() -> new ResourceNotFoundException("Environment not found: " + envId));
-
         createOrUpdateConsumerGroupForProduct(environment, product);
 
         return productRepository.save(product);
@@ -130,18 +130,20 @@ public class ProductService {
             throw new BusinessException("Cannot delete product. " + subscriptions.size() + " subscriptions exist. Use force delete.");
         }
 
-        Environment environment = environmentRepository.findById(envId)
+        Environment environment = lookupCache.findEnvironment(envId)
                 .orElseThrow(() -> new ResourceNotFoundException("Environment not found: " + envId));
 
         if (force && !subscriptions.isEmpty()) {
+            List<ProductSubscription> removed = new ArrayList<>();
             for (ProductSubscription sub : subscriptions) {
                 try {
                     deleteConsumerFromApisix(environment, sub.getId());
-                    productSubscriptionRepository.delete(sub);
+                    removed.add(sub);
                 } catch (Exception e) {
                     log.error("Failed to delete subscription {}: {}", sub.getId(), e.getMessage());
                 }
             }
+            productSubscriptionRepository.deleteAll(removed);
         }
 
         deleteConsumerGroupFromApisix(environment, product.getId());
@@ -157,7 +159,7 @@ public class ProductService {
             throw new BusinessException("Product does not belong to this environment");
         }
 
-        Environment targetEnv = environmentRepository.findById(targetEnvId)
+        Environment targetEnv = lookupCache.findEnvironment(targetEnvId)
                 .orElseThrow(() -> new ResourceNotFoundException("Target environment not found: " + targetEnvId));
         if (!targetEnv.getOrgId().equals(orgId)) {
             throw new BusinessException("Target environment does not belong to this organization");
@@ -215,11 +217,18 @@ public class ProductService {
     private void createOrUpdateConsumerGroupInApisix(Environment environment, String groupId,
                                                      String displayName, List<String> serviceIds,
                                                      Map<String, Object> customPlugins) {
-        WebClient webClient = webClientBuilder
-                .baseUrl(environment.getApisixAdminUrl())
-                .defaultHeader("X-API-KEY", adminKey)
-                .build();
+        Map<String, Object> payload = buildConsumerGroupPayload(displayName, serviceIds, customPlugins);
+
+        if (!resourceStateService.putIfChanged(environment, ApisixAdminClient.CONSUMER_GROUPS, groupId, payload)) {
+            log.info("Consumer group {} unchanged, skipped APISIX write", groupId);
+        }
+    }
 
+    /**
+     * APISIX consumer group of a product: restricted to the product's deployed services, plus the product's plugins.
+     */
+    public Map<String, Object> buildConsumerGroupPayload(String displayName, List<String> serviceIds,
+                                                         Map<String, Object> customPlugins) {
         Map<String, Object> payload = new HashMap<>();
         payload.put("desc", "Product: " + displayName);
 
@@ -237,60 +246,38 @@ public class ProductService {
         }
 
         payload.put("plugins", plugins);
-
-        webClient.put()
-                .uri("/apisix/admin/consumer_groups/{id}", groupId)
-                .bodyValue(payload)
-                .retrieve()
-                .onStatus(status -> status.is4xxClientError() || status.is5xxServerError(),
-                        resp -> resp.bodyToMono(String.class)
-                                .flatMap(body -> Mono.error(new RuntimeException("APISIX: " + resp.statusCode() + ": " + body))))
-                .bodyToMono(String.class)
-                .block();
+        return payload;
     }
 
     private void deleteConsumerGroupFromApisix(Environment environment, String groupId) {
-        WebClient webClient = webClientBuilder
-                .baseUrl(environment.getApisixAdminUrl())
-                .defaultHeader("X-API-KEY", adminKey)
-                .build();
-
         try {
-            webClient.delete()
-                    .uri("/apisix/admin/consumer_groups/{id}", groupId)
-                    .retrieve()
-                    .onStatus(status -> status.value() == 404, resp -> Mono.empty())
-                    .onStatus(status -> status.is4xxClientError() || status.is5xxServerError(),
-                            resp -> resp.bodyToMono(String.class)
-                                    .flatMap(body -> Mono.error(new RuntimeException("APISIX: " + body))))
-                    .bodyToMono(String.class)
-                    .block();
+            resourceStateService.delete(environment, ApisixAdminClient.CONSUMER_GROUPS, groupId);
         } catch (Exception e) {
             log.warn("Failed to delete consumer group: {}", e.getMessage());
         }
     }
 
     private void deleteConsumerFromApisix(Environment environment, String consumerId) {
-        WebClient webClient = webClientBuilder
-                .baseUrl(environment.getApisixAdminUrl())
-                .defaultHeader("X-API-KEY", adminKey)
-                .build();
-
         try {
-            webClient.delete()
-                    .uri("/apisix/admin/consumers/{id}", consumerId)
-                    .retrieve()
-                    .onStatus(status -> status.value() == 404, resp -> Mono.empty())
-                    .bodyToMono(String.class)
-                    .block();
+            resourceStateService.delete(environment, ApisixAdminClient.CONSUMERS, consumerId);
         } catch (Exception e) {
             log.warn("Failed to delete consumer: {}", e.getMessage());
         }
     }
 
+    /**
+     * Reject product plugins the environment's APISIX version would refuse on the consumer group.
+     */
+    private void validatePlugins(Environment environment, Map<String, Object> plugins) {
+        List<String> errors = schemaValidator.validatePlugins(environment.getApisixVersion(), plugins);
+        if (!errors.isEmpty()) {
+            throw new BusinessException("Invalid product plugins: " + String.join("; ", errors));
+        }
+    }
+
     private void validateServiceIds(String orgId, List<String> serviceIds) {
         for (String serviceId : serviceIds) {
-            Api svc = apiRepository.findById(serviceId)
+            Api svc = lookupCache.findApi(serviceId)
                     .orElseThrow(() -> new ResourceNotFoundException("API not found: " + serviceId));
             if (!svc.getOrgId().equals(orgId)) {
                 throw new BusinessException("API " + serviceId + " does not belong to this organization");
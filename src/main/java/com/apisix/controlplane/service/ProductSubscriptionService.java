@@ -1,5 +1,8 @@
 package com.apisix.controlplane.service;
 
+import com.apisix.controlplane.apisix.client.ApisixAdminClient;
+import com.apisix.controlplane.apisix.client.ApisixUnavailableException;
+import com.apisix.controlplane.cache.EntityLookupCache;
 import com.apisix.controlplane.dto.CreateProductSubscriptionRequest;
 import com.apisix.controlplane.entity.Developer;
 import com.apisix.controlplane.entity.Environment;
@@ -8,19 +11,18 @@ import com.apisix.controlplane.entity.ProductSubscription;
 import com.apisix.controlplane.enums.SubscriptionStatus;
 import com.apisix.controlplane.exception.BusinessException;
 import com.apisix.controlplane.exception.ResourceNotFoundException;
-import com.apisix.controlplane.repository.EnvironmentRepository;
 import com.apisix.controlplane.repository.ProductRepository;
 import com.apisix.controlplane.repository.ProductSubscriptionRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.http.HttpStatus;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.reactive.function.client.WebClient;
-import reactor.core.publisher.Mono;
 
 import java.security.SecureRandom;
 import java.time.LocalDateTime;
@@ -34,11 +36,8 @@ public class ProductSubscriptionService {
     private final ProductSubscriptionRepository subscriptionRepository;
     private final ProductRepository productRepository;
     private final DeveloperService developerService;
-    private final EnvironmentRepository environmentRepository;
-    private final WebClient.Builder webClientBuilder;
-
-    @Value("${apisix.admin.key}")
-    private String adminKey;
+    private final EntityLookupCache lookupCache;
+    private final ApisixResourceStateService resourceStateService;
 
     private static final SecureRandom SECURE_RANDOM = new SecureRandom();
 
@@ -53,7 +52,7 @@ public class ProductSubscriptionService {
         Product product = productRepository.findByOrgIdAndId(orgId, productId)
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found: " + productId));
 
-        Environment environment = environmentRepository.findById(envId)
+        Environment environment = lookupCache.findEnvironment(envId)
                 .orElseThrow(() -> new ResourceNotFoundException("Environment not found: " + envId));
 
         Optional<ProductSubscription> existingSubscription = subscriptionRepository
@@ -99,6 +98,9 @@ public class ProductSubscriptionService {
             saved = subscriptionRepository.save(saved);
         } catch (Exception e) {
             log.error("Failed to create consumer in APISIX", e);
+            if (e instanceof ApisixUnavailableException unavailable) {
+                throw unavailable;
+            }
             throw new BusinessException("Failed to create subscription in APISIX: " + e.getMessage());
         }
 
@@ -126,6 +128,28 @@ public class ProductSubscriptionService {
         return subscriptionRepository.findByOrgIdAndProductId(orgId, productId, pageable);
     }
 
+    public Window<ProductSubscription> getSubscriptionsByOrganization(String orgId, String envId, String developerId,
+                                                                      ScrollPosition position, Sort sort, Limit limit) {
+        log.info("Scrolling product subscriptions for org {} (envId: {}, developerId: {})", orgId, envId, developerId);
+
+        if (developerId != null && !developerId.isEmpty() && envId != null && !envId.isEmpty()) {
+            return subscriptionRepository.findByOrgIdAndDeveloperIdAndEnvId(orgId, developerId, envId, position, sort, limit);
+        }
+        if (developerId != null && !developerId.isEmpty()) {
+            return subscriptionRepository.findByOrgIdAndDeveloperId(orgId, developerId, position, sort, limit);
+        }
+        if (envId != null && !envId.isEmpty()) {
+            return subscriptionRepository.findByOrgIdAndEnvId(orgId, envId, position, sort, limit);
+        }
+        return subscriptionRepository.findByOrgId(orgId, position, sort, limit);
+    }
+
+    public Window<ProductSubscription> getSubscriptionsByProduct(String orgId, String productId,
+                                                                 ScrollPosition position, Sort sort, Limit limit) {
+        log.info("Scrolling product subscriptions for org {} product {}", orgId, productId);
+        return subscriptionRepository.findByOrgIdAndProductId(orgId, productId, position, sort, limit);
+    }
+
     @Transactional
     public ProductSubscription grantSubscription(String orgId, String subscriptionId) {
         log.info("Granting product subscription {} in organization {}", subscriptionId, orgId);
@@ -148,7 +172,7 @@ public class ProductSubscriptionService {
         Product product = productRepository.findByOrgIdAndId(orgId, subscription.getProductId())
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found: " + subscription.getProductId()));
 
-        Environment environment = environmentRepository.findById(subscription.getEnvId())
+        Environment environment = lookupCache.findEnvironment(subscription.getEnvId())
                 .orElseThrow(() -> new ResourceNotFoundException("Environment not found: " + subscription.getEnvId()));
 
         subscription.setStatus(SubscriptionStatus.ACTIVE);
@@ -167,6 +191,9 @@ public class ProductSubscriptionService {
             subscriptionRepository.save(subscription);
 
             log.error("Failed to grant subscription in APISIX", e);
+            if (e instanceof ApisixUnavailableException unavailable) {
+                throw unavailable;
+            }
             throw new BusinessException("Failed to grant subscription: " + e.getMessage());
         }
     }
@@ -186,7 +213,7 @@ public class ProductSubscriptionService {
             throw new BusinessException("Subscription is already revoked");
         }
 
-        Environment environment = environmentRepository.findById(subscription.getEnvId())
+        Environment environment = lookupCache.findEnvironment(subscription.getEnvId())
                 .orElseThrow(() -> new ResourceNotFoundException("Environment not found: " + subscription.getEnvId()));
 
         subscription.setStatus(SubscriptionStatus.REVOKED);
@@ -202,6 +229,9 @@ public class ProductSubscriptionService {
             subscriptionRepository.save(subscription);
 
             log.error("Failed to revoke subscription in APISIX", e);
+            if (e instanceof ApisixUnavailableException unavailable) {
+                throw unavailable;
+            }
             throw new BusinessException("Failed to revoke subscription: " + e.getMessage());
         }
     }
@@ -211,11 +241,18 @@ public class ProductSubscriptionService {
                                        String orgId, String developerId) {
         log.info("Creating consumer {} in APISIX at {}", consumerId, environment.getApisixAdminUrl());
 
-        WebClient webClient = webClientBuilder
-                .baseUrl(environment.getApisixAdminUrl())
-                .defaultHeader("X-API-KEY", adminKey)
-                .build();
+        Map<String, Object> consumerPayload = buildConsumerPayload(consumerId, consumerGroupId, apiKey, orgId, developerId);
 
+        if (!resourceStateService.putIfChanged(environment, ApisixAdminClient.CONSUMERS, consumerId, consumerPayload)) {
+            log.info("Consumer {} unchanged, skipped APISIX write", consumerId);
+        }
+    }
+
+    /**
+     * APISIX consumer of a product subscription: key-auth with the subscription key, in the product's consumer group.
+     */
+    public Map<String, Object> buildConsumerPayload(String consumerId, String consumerGroupId, String apiKey,
+                                                    String orgId, String developerId) {
         Map<String, Object> consumerPayload = new HashMap<>();
         consumerPayload.put("username", consumerId);
         consumerPayload.put("desc", "Developer " + developerId + " in org " + orgId);
@@ -227,40 +264,14 @@ public class ProductSubscriptionService {
         plugins.put("key-auth", keyAuth);
 
         consumerPayload.put("plugins", plugins);
-
-        webClient.put()
-                .uri("/apisix/admin/consumers/{id}", consumerId)
-                .bodyValue(consumerPayload)
-                .retrieve()
-                .onStatus(status -> status.is4xxClientError() || status.is5xxServerError(),
-                        resp -> resp.bodyToMono(String.class)
-                                .flatMap(body -> Mono.error(new RuntimeException("APISIX: " + resp.statusCode() + ": " + body))))
-                .bodyToMono(String.class)
-                .block();
+        return consumerPayload;
     }
 
     private void deleteConsumerFromApisix(Environment environment, String consumerId) {
         log.info("Deleting consumer {} from APISIX at {}", consumerId, environment.getApisixAdminUrl());
 
-        WebClient webClient = webClientBuilder
-                .baseUrl(environment.getApisixAdminUrl())
-                .defaultHeader("X-API-KEY", adminKey)
-                .build();
-
         try {
-            webClient.delete()
-                    .uri("/apisix/admin/consumers/{id}", consumerId)
-                    .retrieve()
-                    .onStatus(status -> status.is4xxClientError(),
-                            resp -> {
-                                if (resp.statusCode() == HttpStatus.NOT_FOUND) {
-                                    return Mono.empty();
-                                }
-                                return resp.bodyToMono(String.class)
-                                        .flatMap(body -> Mono.error(new RuntimeException("APISIX: " + resp.statusCode() + ": " + body)));
-                            })
-                    .bodyToMono(String.class)
-                    .block();
+            resourceStateService.delete(environment, ApisixAdminClient.CONSUMERS, consumerId);
         } catch (Exception e) {
             log.warn("Failed to delete consumer from APISIX: {}", e.getMessage());
         }
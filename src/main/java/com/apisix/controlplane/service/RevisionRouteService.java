@@ -0,0 +1,241 @@
+package com.apisix.controlplane.service;
+
+import com.apisix.controlplane.apisix.model.RouteSpec;
+import com.apisix.controlplane.entity.RevisionRoute;
+import com.apisix.controlplane.entity.ServiceRevision;
+import com.apisix.controlplane.exception.ResourceNotFoundException;
+import com.apisix.controlplane.repository.RevisionRouteRepository;
+import com.apisix.controlplane.repository.ServiceRevisionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Stores the routes of revisions, one {@link RevisionRoute} row per route pointing at a shared,
+ * content-addressed spec (see {@link SpecContentService}).
+ * <p>
+ * Writes only touch rows whose content hash changed, clones copy rows without their specs, and deploys
+ * read routes a page at a time, so revisions with thousands of routes are never rewritten or held in
+ * memory as a whole.
+ */
+@org.springframework.stereotype.Service
+@RequiredArgsConstructor
+@Slf4j
+public class RevisionRouteService {
+
+    private final RevisionRouteRepository routeRepository;
+    private final ServiceRevisionRepository revisionRepository;
+    private final SpecContentService specContentService;
+
+    @Value("${apisix.deploy.route-page-size:500}")
+    private int routePageSize;
+
+    /**
+     * Store the routes of a new revision.
+     */
+    public void createRoutes(String revisionId, List<RouteSpec> routeSpecs) {
+        List<String> hashes = specContentService.acquireAll(routeSpecs);
+        List<RevisionRoute> routes = new ArrayList<>(routeSpecs.size());
+        for (int i = 0; i < routeSpecs.size(); i++) {
+            routes.add(RevisionRoute.builder()
+                    .revisionId(revisionId)
+                    .routeIndex(i)
+                    .name(routeSpecs.get(i).getName())
+                    .contentHash(hashes.get(i))
+                    .build());
+        }
+        routeRepository.saveAll(routes);
+    }
+
+    /**
+     * Replace the routes of a revision. Routes whose spec is unchanged are left alone,
+     * and routes past the end of the new list are deleted.
+     *
+     * @return how many routes were inserted, updated or deleted
+     */
+    public int replaceRoutes(String revisionId, List<RouteSpec> routeSpecs) {
+        Map<Integer, RevisionRoute> existing = routeRepository.findByRevisionIdOrderByRouteIndexAsc(revisionId).stream()
+                .collect(Collectors.toMap(RevisionRoute::getRouteIndex, Function.identity()));
+
+        List<RouteSpec> changedSpecs = new ArrayList<>();
+        List<Integer> changedIndexes = new ArrayList<>();
+        List<String> releasedHashes = new ArrayList<>();
+        for (int i = 0; i < routeSpecs.size(); i++) {
+            RevisionRoute route = existing.get(i);
+            if (route == null || !specContentService.hash(routeSpecs.get(i)).equals(route.getContentHash())) {
+                changedSpecs.add(routeSpecs.get(i));
+                changedIndexes.add(i);
+                if (route != null) {
+                    releasedHashes.add(route.getContentHash());
+                }
+            }
+        }
+        existing.forEach((index, route) -> {
+            if (index >= routeSpecs.size()) {
+                releasedHashes.add(route.getContentHash());
+            }
+        });
+
+        // Take the new references before dropping the old ones, so a spec moving between indexes is never deleted
+        List<String> hashes = specContentService.acquireAll(changedSpecs);
+        List<RevisionRoute> changed = new ArrayList<>(changedSpecs.size());
+        for (int i = 0; i < changedSpecs.size(); i++) {
+            int index = changedIndexes.get(i);
+            RevisionRoute route = existing.getOrDefault(index, RevisionRoute.builder()
+                    .revisionId(revisionId)
+                    .routeIndex(index)
+                    .build());
+            route.setName(changedSpecs.get(i).getName());
+            route.setContentHash(hashes.get(i));
+            changed.add(route);
+        }
+        routeRepository.saveAll(changed);
+
+        int removed = existing.size() > routeSpecs.size()
+                ? routeRepository.deleteFromIndex(revisionId, routeSpecs.size()) : 0;
+        specContentService.releaseAll(releasedHashes);
+        log.debug("Revision {} routes replaced: {} written, {} removed, {} unchanged",
+                revisionId, changed.size(), removed, routeSpecs.size() - changed.size());
+        return changed.size() + removed;
+    }
+
+    /**
+     * Replace the spec of a single route.
+     *
+     * @return the route, unchanged if the spec had the same content hash
+     */
+    public RevisionRoute updateRoute(String revisionId, int routeIndex, RouteSpec spec) {
+        RevisionRoute route = getRoute(revisionId, routeIndex);
+        String previousHash = route.getContentHash();
+        if (specContentService.hash(spec).equals(previousHash)) {
+            return route;
+        }
+        route.setName(spec.getName());
+        route.setContentHash(specContentService.acquire(spec));
+        RevisionRoute saved = routeRepository.save(route);
+        specContentService.release(previousHash);
+        return saved;
+    }
+
+    /**
+     * Copy the routes of one revision to another. Only route rows are written; the specs are shared.
+     */
+    public void copyRoutes(String sourceRevisionId, String targetRevisionId) {
+        routeRepository.copyRoutes(sourceRevisionId, targetRevisionId);
+        specContentService.acquireRevisionRoutes(targetRevisionId);
+    }
+
+    public void deleteRoutes(String revisionId) {
+        specContentService.releaseRevisionRoutes(revisionId);
+        routeRepository.deleteByRevisionIdWithoutLoading(revisionId);
+    }
+
+    public RevisionRoute getRoute(String revisionId, int routeIndex) {
+        return routeRepository.findByRevisionIdAndRouteIndex(revisionId, routeIndex)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "Route " + routeIndex + " not found in revision " + revisionId));
+    }
+
+    public Page<RevisionRoute> getRoutes(String revisionId, Pageable pageable) {
+        return routeRepository.findByRevisionId(revisionId, pageable);
+    }
+
+    /**
+     * Spec of each route, keyed by content hash, for building responses from route rows.
+     */
+    public Map<String, RouteSpec> getSpecs(Collection<RevisionRoute> routes) {
+        return specContentService.loadAll(routes.stream().map(RevisionRoute::getContentHash).toList(), RouteSpec.class);
+    }
+
+    public List<RouteSpec> getRouteSpecs(String revisionId) {
+        return getRouteSpecs(List.of(revisionId)).getOrDefault(revisionId, List.of());
+    }
+
+    /**
+     * Route specs of several revisions in one query, in index order, keyed by revision ID.
+     */
+    public Map<String, List<RouteSpec>> getRouteSpecs(Collection<String> revisionIds) {
+        if (revisionIds.isEmpty()) {
+            return Map.of();
+        }
+        Map<String, List<RouteSpec>> specsByRevision = new LinkedHashMap<>();
+        for (RevisionRouteRepository.RouteSpecRow row : routeRepository.findSpecsByRevisionIdIn(revisionIds)) {
+            specsByRevision.computeIfAbsent(row.getRevisionId(), k -> new ArrayList<>())
+                    .add(specContentService.convert(row.getContent(), RouteSpec.class));
+        }
+        return specsByRevision;
+    }
+
+    /**
+     * Index and name of every route of a revision, without the specs.
+     */
+    public List<RevisionRouteRepository.RouteKey> getRouteKeys(String revisionId) {
+        return routeRepository.findKeysByRevisionId(revisionId);
+    }
+
+    /**
+     * The routes of a revision as consecutive pages of {@code apisix.deploy.route-page-size}, in index order.
+     * Pages after the first are only queried as the stream reaches them.
+     */
+    public Stream<List<RouteEntry>> streamRoutePages(String revisionId) {
+        return Stream.iterate(findRoutePage(revisionId, -1),
+                page -> !page.isEmpty(),
+                page -> page.size() < routePageSize ? List.of()
+                        : findRoutePage(revisionId, page.get(page.size() - 1).routeIndex()));
+    }
+
+    /**
+     * Move a revision's specs out of the legacy inline columns into route rows and content-addressed
+     * storage, holding its row lock so concurrent nodes migrate it only once.
+     *
+     * @return false if there was nothing left to move
+     */
+    @Transactional
+    public boolean migrateLegacySpecs(String revisionId) {
+        ServiceRevision revision = revisionRepository.findByIdForUpdate(revisionId).orElse(null);
+        if (revision == null) {
+            return false;
+        }
+        boolean migrated = false;
+
+        // Route specs stored as one array on the revision row
+        if (revision.getLegacyRouteSpecifications() != null) {
+            createRoutes(revisionId, revision.getLegacyRouteSpecifications());
+            revisionRepository.clearLegacyRouteSpecifications(revisionId);
+            migrated = true;
+        }
+
+        // Service spec stored on the revision row
+        if (revision.getLegacyServiceSpecification() != null) {
+            String hash = specContentService.acquire(revision.getLegacyServiceSpecification());
+            revisionRepository.moveLegacyServiceSpecification(revisionId, hash);
+            migrated = true;
+        }
+        return migrated;
+    }
+
+    private List<RouteEntry> findRoutePage(String revisionId, int afterIndex) {
+        return routeRepository.findSpecPage(revisionId, afterIndex, Limit.of(routePageSize)).stream()
+                .map(row -> new RouteEntry(row.getRouteIndex(), row.getName(),
+                        specContentService.convert(row.getContent(), RouteSpec.class)))
+                .toList();
+    }
+
+    /**
+     * A route of a revision with its spec loaded.
+     */
+    public record RouteEntry(int routeIndex, String name, RouteSpec specification) {}
+}
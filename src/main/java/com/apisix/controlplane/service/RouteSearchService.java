@@ -0,0 +1,66 @@
+package com.apisix.controlplane.service;
+
+import com.apisix.controlplane.dto.PaginatedResponse;
+import com.apisix.controlplane.dto.RouteSearchRequest;
+import com.apisix.controlplane.dto.RouteSearchResult;
+import com.apisix.controlplane.entity.Deployment;
+import com.apisix.controlplane.enums.RevisionState;
+import com.apisix.controlplane.repository.DeploymentRepository;
+import com.apisix.controlplane.repository.RevisionRouteRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Finds routes across all revisions of an org by plugin, host or uri, in the database.
+ * Matching runs against the deduplicated specs in spec_contents, so each distinct spec is examined once
+ * no matter how many revisions share it.
+ */
+@org.springframework.stereotype.Service
+@RequiredArgsConstructor
+@Slf4j
+public class RouteSearchService {
+
+    private final RevisionRouteRepository routeRepository;
+    private final DeploymentRepository deploymentRepository;
+
+    public PaginatedResponse<RouteSearchResult> searchRoutes(String orgId, RouteSearchRequest request, Pageable pageable) {
+        Page<RevisionRouteRepository.RouteSearchRow> page = routeRepository.searchRoutes(orgId,
+                blankToNull(request.getPlugin()), blankToNull(request.getHost()), request.toUriPattern(),
+                blankToNull(request.getEnvironmentId()),
+                request.getState() != null ? request.getState().name() : null,
+                pageable);
+
+        // Deployed environments of the revisions on this page, in one query
+        List<String> revisionIds = page.getContent().stream()
+                .map(RevisionRouteRepository.RouteSearchRow::getRevisionId).distinct().toList();
+        Map<String, List<String>> environmentsByRevision = revisionIds.isEmpty() ? Map.of() :
+                deploymentRepository.findByRevisionIdIn(revisionIds).stream()
+                        .collect(Collectors.groupingBy(Deployment::getRevisionId,
+                                Collectors.mapping(Deployment::getEnvironmentId, Collectors.toList())));
+
+        List<RouteSearchResult> results = page.getContent().stream()
+                .map(row -> RouteSearchResult.builder()
+                        .apiId(row.getApiId())
+                        .apiName(row.getApiName())
+                        .revisionId(row.getRevisionId())
+                        .revisionNumber(row.getRevisionNumber())
+                        .state(RevisionState.valueOf(row.getState()))
+                        .routeIndex(row.getRouteIndex())
+                        .routeName(row.getRouteName())
+                        .uri(row.getUri())
+                        .deployedEnvironmentIds(environmentsByRevision.getOrDefault(row.getRevisionId(), List.of()))
+                        .build())
+                .toList();
+        return PaginatedResponse.from(page, results);
+    }
+
+    private String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+}
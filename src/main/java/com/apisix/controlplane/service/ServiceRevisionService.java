@@ -1,30 +1,46 @@
 package com.apisix.controlplane.service;
 
+import com.apisix.controlplane.apisix.client.ApisixUnavailableException;
 import com.apisix.controlplane.apisix.model.RouteSpec;
+import com.apisix.controlplane.apisix.model.ServiceSpec;
+import com.apisix.controlplane.apisix.validation.ApisixSchemaRegistry;
+import com.apisix.controlplane.apisix.validation.ApisixSchemaValidator;
+import com.apisix.controlplane.cache.EntityLookupCache;
 import com.apisix.controlplane.dto.*;
 import com.apisix.controlplane.entity.*;
+import com.apisix.controlplane.enums.DeployMode;
+import com.apisix.controlplane.enums.EnvironmentDeployStatus;
 import com.apisix.controlplane.enums.RevisionState;
 import com.apisix.controlplane.exception.BusinessException;
 import com.apisix.controlplane.exception.ResourceNotFoundException;
 import com.apisix.controlplane.repository.DeploymentRepository;
-import com.apisix.controlplane.repository.EnvironmentRepository;
 import com.apisix.controlplane.repository.ServiceRevisionRepository;
 import com.apisix.controlplane.repository.UpstreamBindingRepository;
-import com.apisix.controlplane.repository.UpstreamRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.transaction.annotation.Transactional;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @org.springframework.stereotype.Service
 @RequiredArgsConstructor
@@ -32,14 +48,23 @@ import java.util.stream.Collectors;
 public class ServiceRevisionService {
 
     private final ServiceRevisionRepository revisionRepository;
+    private final RevisionRouteService revisionRouteService;
+    private final SpecContentService specContentService;
     private final DeploymentRepository deploymentRepository;
     private final UpstreamBindingRepository upstreamBindingRepository;
-    private final EnvironmentRepository environmentRepository;
-    private final UpstreamRepository upstreamRepository;
+    private final EntityLookupCache lookupCache;
     private final ApiService apiService;
     private final EnvironmentService environmentService;
     private final ApisixIntegrationService apisixIntegrationService;
     private final UpstreamService upstreamService;
+    private final ApisixOutboxService outboxService;
+    private final ApisixSchemaRegistry schemaRegistry;
+    private final ApisixSchemaValidator schemaValidator;
+
+    private static final int MAX_REPORTED_SCHEMA_VIOLATIONS = 20;
+
+    @Value("${apisix.deploy.environment-concurrency:8}")
+    private int environmentConcurrency;
 
     @Transactional
     public ServiceRevisionResponse createRevision(String apiId, CreateServiceRevisionRequest request) {
@@ -47,27 +72,24 @@ public class ServiceRevisionService {
 
         Api api = apiService.getApiById(apiId);
 
-        int nextRevisionNumber = revisionRepository
-                .findFirstByApiIdOrderByRevisionNumberDesc(apiId)
-                .map(rev -> rev.getRevisionNumber() + 1)
-                .orElse(1);
-
         if (request.getRouteSpecifications() == null || request.getRouteSpecifications().isEmpty()) {
             throw new BusinessException("At least one route specification is required");
         }
 
         stampServiceIdOnRoutes(request.getRouteSpecifications(), apiId);
 
+        int nextRevisionNumber = apiService.allocateRevisionNumber(apiId);
+
         ServiceRevision revision = ServiceRevision.builder()
                 .orgId(api.getOrgId())
                 .apiId(apiId)
                 .revisionNumber(nextRevisionNumber)
                 .state(RevisionState.INACTIVE)
-                .serviceSpecification(request.getServiceSpecification())
-                .routeSpecifications(request.getRouteSpecifications())
+                .serviceSpecHash(specContentService.acquire(request.getServiceSpecification()))
                 .build();
 
         ServiceRevision saved = revisionRepository.save(revision);
+        revisionRouteService.createRoutes(saved.getId(), request.getRouteSpecifications());
 
         // Create upstream bindings from environment-upstream mappings
         List<UpstreamBinding> bindings = new ArrayList<>();
@@ -89,8 +111,9 @@ public class ServiceRevisionService {
                         .environmentId(envId)
                         .upstreamId(upstreamId)
                         .build();
-                bindings.add(upstreamBindingRepository.save(binding));
+                bindings.add(binding);
             }
+            upstreamBindingRepository.saveAll(bindings);
         }
 
         log.info("Revision created with ID: {} (Rev {})", saved.getId(), saved.getRevisionNumber());
@@ -98,12 +121,14 @@ public class ServiceRevisionService {
         // Resolve names for upstream binding responses
         List<String> envIds = bindings.stream().map(UpstreamBinding::getEnvironmentId).distinct().toList();
         List<String> upsIds = bindings.stream().map(UpstreamBinding::getUpstreamId).distinct().toList();
-        Map<String, Environment> envMap = environmentRepository.findAllById(envIds)
+        Map<String, Environment> envMap = lookupCache.findEnvironments(envIds)
                 .stream().collect(Collectors.toMap(Environment::getId, Function.identity()));
-        Map<String, Upstream> upstreamMap = upstreamRepository.findAllById(upsIds)
+        Map<String, Upstream> upstreamMap = lookupCache.findUpstreams(upsIds)
                 .stream().collect(Collectors.toMap(Upstream::getId, Function.identity()));
 
-        return ServiceRevisionResponse.fromEntity(saved, List.of(), toBindingResponses(bindings, envMap, upstreamMap));
+        return ServiceRevisionResponse.fromEntity(saved, request.getServiceSpecification(),
+                request.getRouteSpecifications(), List.of(),
+                toBindingResponses(bindings, envMap, upstreamMap));
     }
 
     @Transactional
@@ -120,14 +145,51 @@ public class ServiceRevisionService {
 
         stampServiceIdOnRoutes(request.getRouteSpecifications(), revision.getApiId());
 
-        revision.setServiceSpecification(request.getServiceSpecification());
-        revision.setRouteSpecifications(request.getRouteSpecifications());
+        // Only routes whose spec changed are rewritten
+        int changedRoutes = revisionRouteService.replaceRoutes(revisionId, request.getRouteSpecifications());
+        String previousServiceSpecHash = revision.getServiceSpecHash();
+        revision.setServiceSpecHash(specContentService.acquire(request.getServiceSpecification()));
+        revision.setUpdatedAt(LocalDateTime.now());
 
         ServiceRevision updated = revisionRepository.save(revision);
-        log.info("Revision {} specs updated", revisionId);
+        specContentService.release(previousServiceSpecHash);
+        log.info("Revision {} specs updated ({} routes changed)", revisionId, changedRoutes);
         return toResponse(updated);
     }
 
+    public PaginatedResponse<RevisionRouteResponse> getRoutes(String revisionId, Pageable pageable) {
+        findRevisionHeader(revisionId);
+        Page<RevisionRoute> page = revisionRouteService.getRoutes(revisionId, pageable);
+        Map<String, RouteSpec> specs = revisionRouteService.getSpecs(page.getContent());
+        return PaginatedResponse.from(page, page.getContent().stream()
+                .map(route -> RevisionRouteResponse.fromEntity(route, specs.get(route.getContentHash())))
+                .toList());
+    }
+
+    public RevisionRouteResponse getRoute(String revisionId, int routeIndex) {
+        RevisionRoute route = revisionRouteService.getRoute(revisionId, routeIndex);
+        return RevisionRouteResponse.fromEntity(route, specContentService.load(route.getContentHash(), RouteSpec.class));
+    }
+
+    /**
+     * Replace a single route of an INACTIVE revision without touching its other routes.
+     */
+    @Transactional
+    public RevisionRouteResponse updateRoute(String revisionId, int routeIndex, RouteSpec routeSpec) {
+        ServiceRevisionRepository.RevisionHeader revision = findRevisionHeader(revisionId);
+
+        if (revision.getState() != RevisionState.INACTIVE) {
+            throw new BusinessException("Route specifications can only be updated for INACTIVE revisions. Current state: " + revision.getState());
+        }
+
+        stampServiceIdOnRoutes(List.of(routeSpec), revision.getApiId());
+
+        RevisionRoute route = revisionRouteService.updateRoute(revisionId, routeIndex, routeSpec);
+        revisionRepository.touch(revisionId, LocalDateTime.now());
+        log.info("Revision {} route {} updated", revisionId, routeIndex);
+        return RevisionRouteResponse.fromEntity(route, routeSpec);
+    }
+
     @Transactional
     public ServiceRevisionResponse updateUpstreamBindings(String revisionId, UpdateUpstreamBindingsRequest request) {
         ServiceRevision revision = findRevisionById(revisionId);
@@ -140,6 +202,10 @@ public class ServiceRevisionService {
                     .collect(Collectors.toSet());
         }
 
+        // Upsert against the revision's current bindings and write them in one batch
+        Map<String, UpstreamBinding> bindingsByEnv = upstreamBindingRepository.findByRevisionId(revisionId).stream()
+                .collect(Collectors.toMap(UpstreamBinding::getEnvironmentId, Function.identity()));
+        Map<String, UpstreamBinding> changed = new LinkedHashMap<>();
         for (EnvironmentUpstreamMapping mapping : request.getEnvironmentUpstreams()) {
             String envId = mapping.getEnvironmentId();
             String upstreamId = mapping.getUpstreamId();
@@ -155,8 +221,16 @@ public class ServiceRevisionService {
                 throw new BusinessException("Upstream " + upstreamId + " does not belong to environment " + envId);
             }
 
-            upsertUpstreamBinding(revision.getOrgId(), revision.getApiId(), revisionId, envId, upstreamId);
+            UpstreamBinding binding = bindingsByEnv.computeIfAbsent(envId, id -> UpstreamBinding.builder()
+                    .orgId(revision.getOrgId())
+                    .apiId(revision.getApiId())
+                    .revisionId(revisionId)
+                    .environmentId(envId)
+                    .build());
+            binding.setUpstreamId(upstreamId);
+            changed.put(envId, binding);
         }
+        upstreamBindingRepository.saveAll(changed.values());
 
         log.info("Revision {} upstream bindings updated", revisionId);
         return toResponse(revision);
@@ -168,21 +242,20 @@ public class ServiceRevisionService {
 
         ServiceRevision source = findRevisionById(revisionId);
 
-        int nextRevisionNumber = revisionRepository
-                .findFirstByApiIdOrderByRevisionNumberDesc(source.getApiId())
-                .map(rev -> rev.getRevisionNumber() + 1)
-                .orElse(source.getRevisionNumber() + 1);
+        int nextRevisionNumber = apiService.allocateRevisionNumber(source.getApiId());
 
         ServiceRevision cloned = ServiceRevision.builder()
                 .orgId(source.getOrgId())
                 .apiId(source.getApiId())
                 .revisionNumber(nextRevisionNumber)
                 .state(RevisionState.INACTIVE)
-                .serviceSpecification(source.getServiceSpecification())
-                .routeSpecifications(source.getRouteSpecifications())
+                .serviceSpecHash(source.getServiceSpecHash())
                 .build();
 
+        // Metadata only: the clone references the source's specs instead of copying them
         ServiceRevision saved = revisionRepository.save(cloned);
+        specContentService.addReference(saved.getServiceSpecHash());
+        revisionRouteService.copyRoutes(revisionId, saved.getId());
 
         // Copy upstream bindings from source revision
         List<UpstreamBinding> sourceBindings = upstreamBindingRepository.findByRevisionId(revisionId);
@@ -195,37 +268,52 @@ public class ServiceRevisionService {
                     .environmentId(sourceBinding.getEnvironmentId())
                     .upstreamId(sourceBinding.getUpstreamId())
                     .build();
-            clonedBindings.add(upstreamBindingRepository.save(newBinding));
+            clonedBindings.add(newBinding);
         }
+        upstreamBindingRepository.saveAll(clonedBindings);
 
         log.info("Cloned revision: {} (Rev {}) from {}", saved.getId(), saved.getRevisionNumber(), revisionId);
 
         // Resolve names for upstream binding responses
         List<String> envIds = clonedBindings.stream().map(UpstreamBinding::getEnvironmentId).distinct().toList();
         List<String> upsIds = clonedBindings.stream().map(UpstreamBinding::getUpstreamId).distinct().toList();
-        Map<String, Environment> envMap = environmentRepository.findAllById(envIds)
+        Map<String, Environment> envMap = lookupCache.findEnvironments(envIds)
                 .stream().collect(Collectors.toMap(Environment::getId, Function.identity()));
-        Map<String, Upstream> upstreamMap = upstreamRepository.findAllById(upsIds)
+        Map<String, Upstream> upstreamMap = lookupCache.findUpstreams(upsIds)
                 .stream().collect(Collectors.toMap(Upstream::getId, Function.identity()));
 
-        return ServiceRevisionResponse.fromEntity(saved, List.of(), toBindingResponses(clonedBindings, envMap, upstreamMap));
+        return ServiceRevisionResponse.fromEntity(saved,
+                specContentService.load(saved.getServiceSpecHash(), ServiceSpec.class),
+                revisionRouteService.getRouteSpecs(saved.getId()), List.of(),
+                toBindingResponses(clonedBindings, envMap, upstreamMap));
     }
 
     @Transactional
     public void deleteRevision(String revisionId) {
-        ServiceRevision revision = findRevisionById(revisionId);
+        ServiceRevisionRepository.RevisionHeader revision = findRevisionHeader(revisionId);
 
         if (revision.getState() != RevisionState.INACTIVE) {
             throw new BusinessException("Only INACTIVE revisions can be deleted. Current state: " + revision.getState());
         }
 
         upstreamBindingRepository.deleteByRevisionId(revisionId);
-        revisionRepository.delete(revision);
+        revisionRouteService.deleteRoutes(revisionId);
+        revisionRepository.deleteWithoutLoading(revisionId);
+        specContentService.release(revision.getServiceSpecHash());
         log.info("Revision {} deleted", revisionId);
     }
 
     @Transactional
     public ServiceRevisionResponse deployRevision(String revisionId, DeployRequest request) {
+        return deployRevision(revisionId, request, new DeploymentStepRecorder());
+    }
+
+    /**
+     * Deploy a revision, timing each phase on the given recorder.
+     */
+    @Transactional
+    public ServiceRevisionResponse deployRevision(String revisionId, DeployRequest request,
+                                                  DeploymentStepRecorder steps) {
         ServiceRevision revision = findRevisionById(revisionId);
         Api api = apiService.getApiById(revision.getApiId());
 
@@ -241,17 +329,28 @@ public class ServiceRevisionService {
 
         var upstream = upstreamService.getUpstreamById(binding.getUpstreamId());
 
+        String schemaViolations = findSchemaViolations(revision, environment.getApisixVersion());
+        if (schemaViolations != null) {
+            throw new BusinessException(schemaViolations);
+        }
+
         Optional<Deployment> existingDeployment = deploymentRepository
                 .findByApiIdAndEnvironmentId(revision.getApiId(), envId);
+        boolean redeploySameRevision = false;
 
         if (existingDeployment.isPresent()) {
             Deployment existing = existingDeployment.get();
             if (existing.getRevisionId().equals(revisionId) && !request.isForce()) {
                 throw new BusinessException("Already deployed to environment " + envId + ". Use force to redeploy.");
             }
+            redeploySameRevision = existing.getRevisionId().equals(revisionId);
+        }
+
+        if (existingDeployment.isPresent() && !redeploySameRevision) {
+            Deployment existing = existingDeployment.get();
 
             if (!request.isForce()) {
-                ServiceRevision otherRevision = findRevisionById(existing.getRevisionId());
+                var otherRevision = findRevisionHeader(existing.getRevisionId());
                 throw new BusinessException(
                         String.format("Another revision (Rev %d) is already deployed to environment '%s'. " +
                                         "Undeploy it first or use force deploy.",
@@ -260,39 +359,53 @@ public class ServiceRevisionService {
 
             // Force: auto-undeploy old revision
             log.info("Force deploy: auto-undeploying revision {} from env {}", existing.getRevisionId(), envId);
-            ServiceRevision oldRevision = findRevisionById(existing.getRevisionId());
             UpstreamBinding oldBinding = upstreamBindingRepository
                     .findByRevisionIdAndEnvironmentId(existing.getRevisionId(), envId)
                     .orElse(null);
 
             if (oldBinding != null) {
-                try {
-                    apisixIntegrationService.undeployServiceAndRoutes(environment, oldRevision, api);
-                } catch (Exception e) {
-                    throw new BusinessException("Failed to auto-undeploy old revision: " + e.getMessage());
-                }
+                // Only the undeploy needs the old revision's routes
+                ServiceRevision oldRevision = findRevisionById(existing.getRevisionId());
+                steps.step("undeploy-previous", () -> {
+                    try {
+                        apisixIntegrationService.undeployServiceAndRoutes(environment, oldRevision, api);
+                    } catch (Exception e) {
+                        if (e instanceof ApisixUnavailableException unavailable) {
+                            throw unavailable;
+                        }
+                        throw new BusinessException("Failed to auto-undeploy old revision: " + e.getMessage());
+                    }
+                });
             }
 
             deploymentRepository.delete(existing);
-            recalculateState(oldRevision);
-            revisionRepository.save(oldRevision);
+            recalculateState(existing.getRevisionId());
         }
 
-        // Deploy to APISIX
-        try {
-            apisixIntegrationService.deployServiceAndRoutes(environment, revision, api, upstream);
-        } catch (Exception e) {
-            throw new BusinessException("Deployment failed for environment " + envId + ": " + e.getMessage());
-        }
+        // Deploy to APISIX (a forced redeploy of the same revision re-syncs in place, skipping unchanged resources)
+        steps.step("push", () -> {
+            try {
+                var summary = apisixIntegrationService.deployServiceAndRoutes(environment, revision, api, upstream);
+                log.info("Rev {} pushed to env {}: {} unchanged / {} updated",
+                        revision.getRevisionNumber(), envId, summary.unchanged(), summary.updated());
+            } catch (Exception e) {
+                if (e instanceof ApisixUnavailableException unavailable) {
+                    throw unavailable;
+                }
+                throw new BusinessException("Deployment failed for environment " + envId + ": " + e.getMessage());
+            }
+        });
 
         // Create Deployment record
-        Deployment deployment = Deployment.builder()
-                .orgId(revision.getOrgId())
-                .apiId(revision.getApiId())
-                .revisionId(revisionId)
-                .environmentId(envId)
-                .build();
-        deploymentRepository.save(deployment);
+        if (!redeploySameRevision) {
+            Deployment deployment = Deployment.builder()
+                    .orgId(revision.getOrgId())
+                    .apiId(revision.getApiId())
+                    .revisionId(revisionId)
+                    .environmentId(envId)
+                    .build();
+            deploymentRepository.save(deployment);
+        }
 
         // Update revision state
         revision.setState(RevisionState.ACTIVE);
@@ -304,6 +417,15 @@ public class ServiceRevisionService {
 
     @Transactional
     public ServiceRevisionResponse undeployRevision(String revisionId, UndeployRequest request) {
+        return undeployRevision(revisionId, request, new DeploymentStepRecorder());
+    }
+
+    /**
+     * Undeploy a revision, timing each phase on the given recorder.
+     */
+    @Transactional
+    public ServiceRevisionResponse undeployRevision(String revisionId, UndeployRequest request,
+                                                    DeploymentStepRecorder steps) {
         ServiceRevision revision = findRevisionById(revisionId);
         Api api = apiService.getApiById(revision.getApiId());
 
@@ -325,11 +447,16 @@ public class ServiceRevisionService {
                     .orElse(null);
 
             if (binding != null) {
-                try {
-                    apisixIntegrationService.undeployServiceAndRoutes(environment, revision, api);
-                } catch (Exception e) {
-                    throw new BusinessException("Undeployment failed for environment " + envId + ": " + e.getMessage());
-                }
+                steps.step("undeploy", () -> {
+                    try {
+                        apisixIntegrationService.undeployServiceAndRoutes(environment, revision, api);
+                    } catch (Exception e) {
+                        if (e instanceof ApisixUnavailableException unavailable) {
+                            throw unavailable;
+                        }
+                        throw new BusinessException("Undeployment failed for environment " + envId + ": " + e.getMessage());
+                    }
+                });
             }
 
             deploymentRepository.delete(existingDeployment.get());
@@ -343,106 +470,453 @@ public class ServiceRevisionService {
         return toResponse(saved);
     }
 
+    /**
+     * Deploy a revision to several environments at once.
+     * <p>
+     * Every target is checked up front with the same rules as {@link #deployRevision(String, DeployRequest)};
+     * route payloads are built once and the gateways are pushed concurrently, so the rollout takes about
+     * as long as the slowest environment. In {@link DeployMode#ALL_OR_NOTHING} mode a rejected target stops
+     * the whole rollout before anything is pushed, and a failed push reverts every environment written to
+     * (undeploying the revision and restoring the one it replaced). In either mode an environment whose own
+     * push failed part-way is reverted the same way, so it keeps matching its deployment record. Deployment
+     * records are only written for environments that end up DEPLOYED.
+     */
+    @Transactional
+    public DeployManyResponse deployRevisionToEnvironments(String revisionId, DeployManyRequest request) {
+        ServiceRevision revision = findRevisionById(revisionId);
+        Api api = apiService.getApiById(revision.getApiId());
+        List<String> envIds = List.copyOf(new LinkedHashSet<>(request.getEnvironmentIds()));
+        boolean allOrNothing = request.getMode() == DeployMode.ALL_OR_NOTHING;
+
+        log.info("Deploying revision {} (Rev {}) of API '{}' to {} environments ({})",
+                revisionId, revision.getRevisionNumber(), api.getName(), envIds.size(), request.getMode());
+
+        // Batch-load everything the per-environment checks need
+        Map<String, Environment> envMap = lookupCache.findEnvironments(envIds)
+                .stream().collect(Collectors.toMap(Environment::getId, Function.identity()));
+        Map<String, Deployment> deploymentByEnv = deploymentRepository.findByApiId(revision.getApiId())
+                .stream().collect(Collectors.toMap(Deployment::getEnvironmentId, Function.identity()));
+
+        List<String> otherRevisionIds = envIds.stream().map(deploymentByEnv::get).filter(Objects::nonNull)
+                .map(Deployment::getRevisionId).filter(id -> !id.equals(revisionId)).distinct().toList();
+        Map<String, ServiceRevisionRepository.RevisionHeader> otherRevisions = otherRevisionIds.isEmpty() ? Map.of() :
+                revisionRepository.findHeadersByIdIn(otherRevisionIds).stream()
+                        .collect(Collectors.toMap(ServiceRevisionRepository.RevisionHeader::getId, Function.identity()));
+        // Specs of replaced revisions are only needed to roll them back, which only a forced rollout does
+        Map<String, ServiceRevision> replaceableRevisions = !request.isForce() || otherRevisionIds.isEmpty() ? Map.of() :
+                revisionRepository.findAllById(otherRevisionIds).stream()
+                        .collect(Collectors.toMap(ServiceRevision::getId, Function.identity()));
+
+        Map<String, UpstreamBinding> bindingByRevisionAndEnv = new HashMap<>();
+        List<String> bindingRevisionIds = new ArrayList<>(List.of(revisionId));
+        bindingRevisionIds.addAll(replaceableRevisions.keySet());
+        for (String revId : bindingRevisionIds) {
+            upstreamBindingRepository.findByRevisionId(revId)
+                    .forEach(b -> bindingByRevisionAndEnv.put(revId + "/" + b.getEnvironmentId(), b));
+        }
+        Map<String, Upstream> upstreamMap = lookupCache.findUpstreams(bindingByRevisionAndEnv.values().stream()
+                        .map(UpstreamBinding::getUpstreamId).distinct().toList())
+                .stream().collect(Collectors.toMap(Upstream::getId, Function.identity()));
+
+        // Resolve targets; anything a single deploy would reject is reported without being pushed
+        Map<String, EnvironmentDeployOutcome> outcomes = new HashMap<>();
+        List<FanOutTarget> targets = new ArrayList<>();
+        Map<String, Optional<String>> schemaViolationsByVersion = new HashMap<>();
+        for (String envId : envIds) {
+            Environment environment = envMap.get(envId);
+            if (environment == null) {
+                outcomes.put(envId, outcome(envId, null, EnvironmentDeployStatus.FAILED,
+                        "Environment not found with ID: " + envId));
+                continue;
+            }
+
+            UpstreamBinding binding = bindingByRevisionAndEnv.get(revisionId + "/" + envId);
+            Upstream upstream = binding != null ? upstreamMap.get(binding.getUpstreamId()) : null;
+            Deployment existing = deploymentByEnv.get(envId);
+            boolean redeploySameRevision = existing != null && existing.getRevisionId().equals(revisionId);
+
+            String error = null;
+            if (upstream == null) {
+                error = "Upstream not configured for environment: " + envId;
+            } else if (redeploySameRevision && !request.isForce()) {
+                error = "Already deployed to environment " + envId + ". Use force to redeploy.";
+            } else if (existing != null && !redeploySameRevision && !request.isForce()) {
+                error = String.format("Another revision (Rev %d) is already deployed to environment '%s'. " +
+                                "Undeploy it first or use force deploy.",
+                        otherRevisions.get(existing.getRevisionId()).getRevisionNumber(), environment.getName());
+            } else {
+                error = schemaViolationsByVersion.computeIfAbsent(String.valueOf(environment.getApisixVersion()),
+                        v -> Optional.ofNullable(findSchemaViolations(revision, environment.getApisixVersion())))
+                        .orElse(null);
+            }
+            if (error != null) {
+                outcomes.put(envId, outcome(envId, environment, EnvironmentDeployStatus.FAILED, error));
+                continue;
+            }
+
+            ServiceRevision previousRevision = null;
+            Upstream previousUpstream = null;
+            if (existing != null && !redeploySameRevision) {
+                UpstreamBinding previousBinding = bindingByRevisionAndEnv.get(existing.getRevisionId() + "/" + envId);
+                if (previousBinding != null) {
+                    previousRevision = replaceableRevisions.get(existing.getRevisionId());
+                    previousUpstream = upstreamMap.get(previousBinding.getUpstreamId());
+                }
+            }
+            targets.add(new FanOutTarget(environment, upstream, existing, redeploySameRevision,
+                    previousRevision, previousUpstream));
+        }
+
+        if (allOrNothing && !outcomes.isEmpty()) {
+            log.warn("{} of {} environments rejected, nothing pushed", outcomes.size(), envIds.size());
+            targets.forEach(t -> outcomes.put(t.environment().getId(),
+                    outcome(t.environment().getId(), t.environment(), EnvironmentDeployStatus.NOT_ATTEMPTED, null)));
+            return toDeployManyResponse(revision, request.getMode(), envIds, outcomes);
+        }
+
+        if (outboxService.isEnabled()) {
+            // Take the environments' outbox sequences in a fixed order so concurrent rollouts cannot deadlock
+            outboxService.lockEnvironments(targets.stream().map(t -> t.environment().getId()).toList());
+        }
+
+        // Plan every target here, push them concurrently, then record what was written in this transaction
+        var routes = apisixIntegrationService.prepareRoutes(revision);
+        List<FanOutResult> results = fanOut(targets.stream()
+                .map(target -> planPush(target, revision, api, routes))
+                .toList()).stream()
+                .map(this::record)
+                .toList();
+
+        List<FanOutResult> failed = results.stream().filter(r -> r.error() != null).toList();
+        List<FanOutResult> pushed = results.stream().filter(r -> r.error() == null).toList();
+
+        if (allOrNothing && !failed.isEmpty()) {
+            List<FanOutResult> written = results.stream().filter(FanOutResult::attempted).toList();
+            log.warn("{} of {} environments failed, rolling back {}", failed.size(), targets.size(), written.size());
+            failed.forEach(r -> outcomes.put(r.target().environment().getId(), toOutcome(r, EnvironmentDeployStatus.FAILED)));
+            rollBack(written, revision, api).forEach(r -> outcomes.put(r.result().target().environment().getId(),
+                    toOutcome(r.result(), r.reverted() ? EnvironmentDeployStatus.ROLLED_BACK : EnvironmentDeployStatus.FAILED)));
+            return toDeployManyResponse(revision, request.getMode(), envIds, outcomes);
+        }
+
+        // Record deployments for the environments that made it
+        Set<String> replacedRevisionIds = new LinkedHashSet<>();
+        List<Deployment> replacedDeployments = new ArrayList<>();
+        List<Deployment> newDeployments = new ArrayList<>();
+        List<FanOutResult> partiallyWritten = new ArrayList<>();
+        for (FanOutResult result : results) {
+            FanOutTarget target = result.target();
+            if (result.error() != null) {
+                outcomes.put(target.environment().getId(), toOutcome(result, EnvironmentDeployStatus.FAILED));
+                if (result.attempted()) {
+                    partiallyWritten.add(result);
+                }
+                continue;
+            }
+            if (!target.redeploySameRevision()) {
+                if (target.existing() != null) {
+                    replacedDeployments.add(target.existing());
+                    replacedRevisionIds.add(target.existing().getRevisionId());
+                }
+                newDeployments.add(Deployment.builder()
+                        .orgId(revision.getOrgId())
+                        .apiId(revision.getApiId())
+                        .revisionId(revisionId)
+                        .environmentId(target.environment().getId())
+                        .build());
+            }
+            outcomes.put(target.environment().getId(), toOutcome(result, EnvironmentDeployStatus.DEPLOYED));
+        }
+        if (!partiallyWritten.isEmpty()) {
+            log.warn("Rolling back {} environments whose push failed", partiallyWritten.size());
+            rollBack(partiallyWritten, revision, api).forEach(r -> outcomes.put(r.result().target().environment().getId(),
+                    toOutcome(r.result(), r.reverted() ? EnvironmentDeployStatus.ROLLED_BACK : EnvironmentDeployStatus.FAILED)));
+        }
+
+        // Delete first: a flush runs inserts before deletes, which would trip uk_deployment_api_env
+        if (!replacedDeployments.isEmpty()) {
+            deploymentRepository.deleteAllInBatch(replacedDeployments);
+        }
+        deploymentRepository.saveAll(newDeployments);
+
+        replacedRevisionIds.forEach(this::recalculateState);
+        if (!pushed.isEmpty()) {
+            revision.setState(RevisionState.ACTIVE);
+            revisionRepository.save(revision);
+        }
+
+        log.info("Rev {} deployed to {}/{} environments", revision.getRevisionNumber(), pushed.size(), envIds.size());
+        return toDeployManyResponse(revision, request.getMode(), envIds, outcomes);
+    }
+
     public ServiceRevisionResponse getRevisionById(String revisionId) {
         return toResponse(findRevisionById(revisionId));
     }
 
     public List<ServiceRevisionResponse> getRevisionsByApi(String apiId) {
-        List<ServiceRevision> revisions = revisionRepository.findByApiIdOrderByRevisionNumberDesc(apiId);
-        return revisions.stream().map(this::toResponse).toList();
+        return toResponses(revisionRepository.findByApiIdOrderByRevisionNumberDesc(apiId));
     }
 
     public PaginatedResponse<ServiceRevisionResponse> getRevisionsByApi(String apiId, Pageable pageable) {
         Page<ServiceRevision> page = revisionRepository.findByApiId(apiId, pageable);
-        List<ServiceRevisionResponse> content = page.getContent().stream()
-                .map(this::toResponse)
-                .toList();
-        return PaginatedResponse.from(page, content);
+        return PaginatedResponse.from(page, toResponses(page.getContent()));
     }
 
     /**
      * Batch-fetch revision summaries (without specs) for multiple APIs at once.
      * Returns a map of apiId to its list of RevisionSummary DTOs.
+     * <p>
+     * Two statements regardless of page size: one for the revision columns, one for all their
+     * deployments and upstream bindings with environment and upstream names already joined in.
      */
     public Map<String, List<RevisionSummary>> getRevisionSummariesByApiIds(List<String> apiIds) {
         if (apiIds == null || apiIds.isEmpty()) {
             return Map.of();
         }
 
-        List<ServiceRevision> allRevisions = revisionRepository
-                .findByApiIdInOrderByApiIdAscRevisionNumberDesc(apiIds);
-
-        if (allRevisions.isEmpty()) {
+        List<ServiceRevisionRepository.RevisionSummaryRow> revisions = revisionRepository.findSummariesByApiIdIn(apiIds);
+        if (revisions.isEmpty()) {
             return apiIds.stream().collect(Collectors.toMap(id -> id, id -> List.of()));
         }
 
-        // Collect all revision IDs for batch lookups
-        List<String> revisionIds = allRevisions.stream().map(ServiceRevision::getId).toList();
+        // Split facet rows into deployments and bindings per revision
+        Map<String, List<DeploymentResponse>> deploymentsByRevision = new HashMap<>();
+        Map<String, List<UpstreamBindingResponse>> bindingsByRevision = new HashMap<>();
+        for (ServiceRevisionRepository.RevisionFacetRow row : revisionRepository.findFacetsByApiIdIn(apiIds)) {
+            if (row.getUpstreamId() != null) {
+                bindingsByRevision.computeIfAbsent(row.getRevisionId(), k -> new ArrayList<>())
+                        .add(UpstreamBindingResponse.builder()
+                                .environmentId(row.getEnvironmentId())
+                                .environmentName(row.getEnvironmentName())
+                                .upstreamId(row.getUpstreamId())
+                                .upstreamName(row.getUpstreamName())
+                                .build());
+            } else {
+                deploymentsByRevision.computeIfAbsent(row.getRevisionId(), k -> new ArrayList<>())
+                        .add(DeploymentResponse.builder()
+                                .environmentId(row.getEnvironmentId())
+                                .environmentName(row.getEnvironmentName())
+                                .deployedAt(row.getDeployedAt())
+                                .build());
+            }
+        }
 
-        // Batch-fetch deployments and upstream bindings
-        List<Deployment> allDeployments = new ArrayList<>();
-        List<UpstreamBinding> allBindings = new ArrayList<>();
-        for (String revId : revisionIds) {
-            allDeployments.addAll(deploymentRepository.findByRevisionId(revId));
-            allBindings.addAll(upstreamBindingRepository.findByRevisionId(revId));
+        // Build RevisionSummary DTOs and group by service ID
+        Map<String, List<RevisionSummary>> result = new java.util.LinkedHashMap<>();
+        for (ServiceRevisionRepository.RevisionSummaryRow revision : revisions) {
+            RevisionSummary summary = RevisionSummary.builder()
+                    .id(revision.getId())
+                    .revisionNumber(revision.getRevisionNumber())
+                    .state(revision.getState())
+                    .createdAt(revision.getCreatedAt())
+                    .updatedAt(revision.getUpdatedAt())
+                    .deployments(deploymentsByRevision.getOrDefault(revision.getId(), List.of()))
+                    .upstreamBindings(bindingsByRevision.getOrDefault(revision.getId(), List.of()))
+                    .build();
+            result.computeIfAbsent(revision.getApiId(), k -> new ArrayList<>()).add(summary);
         }
 
-        // Collect all environment and upstream IDs for name resolution
-        List<String> envIds = new ArrayList<>();
-        allDeployments.forEach(d -> envIds.add(d.getEnvironmentId()));
-        allBindings.forEach(b -> envIds.add(b.getEnvironmentId()));
+        return result;
+    }
 
-        List<String> upstreamIds = allBindings.stream()
-                .map(UpstreamBinding::getUpstreamId)
-                .distinct()
-                .toList();
+    /**
+     * Check a revision against the schemas of the APISIX version an environment runs. Specs are validated
+     * against the default version when written, so only environments on another version are checked.
+     *
+     * @return a description of the first violations, or null if the revision is valid for that version
+     */
+    private String findSchemaViolations(ServiceRevision revision, String apisixVersion) {
+        if (schemaRegistry.isDefault(apisixVersion)) {
+            return null;
+        }
+        if (!schemaRegistry.isSupported(apisixVersion)) {
+            return "Unsupported APISIX version '" + apisixVersion + "'. Supported: " + schemaRegistry.getVersions();
+        }
+        List<String> violations = new ArrayList<>();
+        ServiceSpec serviceSpec = specContentService.load(revision.getServiceSpecHash(), ServiceSpec.class);
+        if (serviceSpec != null) {
+            schemaValidator.validateService(apisixVersion, serviceSpec)
+                    .forEach(message -> violations.add("service: " + message));
+        }
+        try (Stream<List<RevisionRouteService.RouteEntry>> pages = revisionRouteService.streamRoutePages(revision.getId())) {
+            pages.forEach(page -> schemaValidator.validateRoutes(apisixVersion,
+                            page.stream().map(RevisionRouteService.RouteEntry::specification).toList())
+                    .forEach((i, messages) -> messages.forEach(message ->
+                            violations.add("route " + page.get(i).routeIndex() + ": " + message))));
+        }
+        if (violations.isEmpty()) {
+            return null;
+        }
+        int shown = Math.min(violations.size(), MAX_REPORTED_SCHEMA_VIOLATIONS);
+        return String.format("Revision is not valid for APISIX %s: %s%s", schemaRegistry.resolve(apisixVersion),
+                String.join("; ", violations.subList(0, shown)),
+                shown < violations.size() ? " (and " + (violations.size() - shown) + " more)" : "");
+    }
 
-        Map<String, Environment> envMap = envIds.isEmpty() ? Map.of() :
-                environmentRepository.findAllById(envIds.stream().distinct().toList())
-                        .stream()
-                        .collect(Collectors.toMap(Environment::getId, Function.identity()));
+    private ServiceRevision findRevisionById(String revisionId) {
+        return revisionRepository.findById(revisionId)
+                .orElseThrow(() -> new ResourceNotFoundException("Service revision not found with ID: " + revisionId));
+    }
 
-        Map<String, Upstream> upstreamMap = upstreamIds.isEmpty() ? Map.of() :
-                upstreamRepository.findAllById(upstreamIds)
-                        .stream()
-                        .collect(Collectors.toMap(Upstream::getId, Function.identity()));
+    /**
+     * Revision identity and state without the spec columns, for checks that never touch routes.
+     */
+    private ServiceRevisionRepository.RevisionHeader findRevisionHeader(String revisionId) {
+        return revisionRepository.findHeaderById(revisionId)
+                .orElseThrow(() -> new ResourceNotFoundException("Service revision not found with ID: " + revisionId));
+    }
 
-        // Group deployments and bindings by revision ID
-        Map<String, List<Deployment>> deploymentsByRevision = allDeployments.stream()
-                .collect(Collectors.groupingBy(Deployment::getRevisionId));
+    // --- Helper methods ---
 
-        Map<String, List<UpstreamBinding>> bindingsByRevision = allBindings.stream()
-                .collect(Collectors.groupingBy(UpstreamBinding::getRevisionId));
+    /**
+     * Plan an environment's deploy (and the undeploy of the revision it force-replaces) on the caller's thread.
+     */
+    private EnvironmentPush planPush(FanOutTarget target, ServiceRevision revision, Api api,
+                                     ApisixIntegrationService.PreparedRoutes routes) {
+        Environment environment = target.environment();
+        try {
+            ApisixIntegrationService.UndeployPlan undeploy = null;
+            if (target.previousRevision() != null) {
+                log.info("Force deploy: auto-undeploying revision {} from env {}",
+                        target.previousRevision().getId(), environment.getId());
+                undeploy = apisixIntegrationService.planUndeploy(environment, target.previousRevision(), api);
+            }
+            return new EnvironmentPush(target, undeploy,
+                    apisixIntegrationService.planDeploy(environment, revision, api, target.upstream(), routes), null);
+        } catch (Exception e) {
+            return new EnvironmentPush(target, null, null, e.getMessage());
+        }
+    }
 
-        // Build RevisionSummary DTOs and group by service ID
-        Map<String, List<RevisionSummary>> result = new java.util.LinkedHashMap<>();
-        for (ServiceRevision revision : allRevisions) {
-            List<Deployment> deps = deploymentsByRevision.getOrDefault(revision.getId(), List.of());
-            List<UpstreamBinding> binds = bindingsByRevision.getOrDefault(revision.getId(), List.of());
+    /**
+     * Revert environments the rollout wrote to, fully or part-way: undeploy the new revision and restore
+     * the one it replaced. A same-revision redeploy is left in place since the gateway already ran that
+     * revision; it only counts as reverted if its push had succeeded.
+     */
+    private List<RollBackResult> rollBack(List<FanOutResult> written, ServiceRevision revision, Api api) {
+        Map<String, FanOutResult> writtenByEnv = new HashMap<>();
+        List<RollBackResult> results = new ArrayList<>();
+        List<EnvironmentPush> rollbacks = new ArrayList<>();
+        for (FanOutResult result : written) {
+            FanOutTarget target = result.target();
+            if (target.redeploySameRevision()) {
+                results.add(new RollBackResult(result, result.error() == null));
+                continue;
+            }
+            writtenByEnv.put(target.environment().getId(), result);
+            try {
+                var undeploy = apisixIntegrationService.planUndeploy(target.environment(), revision, api);
+                var restore = target.previousRevision() == null ? null : apisixIntegrationService.planDeploy(
+                        target.environment(), target.previousRevision(), api, target.previousUpstream(),
+                        apisixIntegrationService.prepareRoutes(target.previousRevision()));
+                rollbacks.add(new EnvironmentPush(target, undeploy, restore, null));
+            } catch (Exception e) {
+                rollbacks.add(new EnvironmentPush(target, null, null, e.getMessage()));
+            }
+        }
 
-            List<DeploymentResponse> depResponses = deps.stream()
-                    .map(d -> {
-                        String envName = Optional.ofNullable(envMap.get(d.getEnvironmentId()))
-                                .map(Environment::getName).orElse(null);
-                        return DeploymentResponse.from(d, envName);
-                    })
-                    .toList();
+        for (PushOutcome outcome : fanOut(rollbacks)) {
+            FanOutResult rolledBack = record(outcome);
+            FanOutResult original = writtenByEnv.get(rolledBack.target().environment().getId());
+            if (rolledBack.error() == null) {
+                results.add(new RollBackResult(original, true));
+            } else {
+                String error = "Rollback failed: " + rolledBack.error();
+                results.add(new RollBackResult(new FanOutResult(original.target(), original.summary(),
+                        original.error() == null ? error : original.error() + "; " + error,
+                        original.durationMs(), true), false));
+            }
+        }
+        return results;
+    }
 
-            List<UpstreamBindingResponse> bindResponses = toBindingResponses(binds, envMap, upstreamMap);
+    /**
+     * Send planned pushes, up to {@code apisix.deploy.environment-concurrency} environments at a time.
+     * Only the APISIX calls run on the workers; with the outbox enabled they only enqueue rows, so they
+     * run on the caller's thread and transaction.
+     */
+    private List<PushOutcome> fanOut(List<EnvironmentPush> pushes) {
+        Scheduler scheduler = outboxService.isEnabled() ? Schedulers.immediate() : Schedulers.boundedElastic();
+        return Flux.fromIterable(pushes)
+                .flatMap(push -> Mono.fromCallable(() -> send(push)).subscribeOn(scheduler),
+                        environmentConcurrency)
+                .collectList()
+                .blockOptional()
+                .orElse(List.of());
+    }
 
-            RevisionSummary summary = RevisionSummary.fromEntity(revision, depResponses, bindResponses);
-            result.computeIfAbsent(revision.getApiId(), k -> new ArrayList<>()).add(summary);
+    private PushOutcome send(EnvironmentPush push) {
+        if (push.error() != null) {
+            return new PushOutcome(push, null, push.error(), 0);
+        }
+        long start = System.nanoTime();
+        try {
+            if (push.undeploy() != null) {
+                apisixIntegrationService.push(push.undeploy());
+            }
+            var result = push.deploy() != null ? apisixIntegrationService.push(push.deploy()) : null;
+            return new PushOutcome(push, result, null, elapsedMs(start));
+        } catch (Exception e) {
+            return new PushOutcome(push, null, e.getMessage(), elapsedMs(start));
         }
+    }
 
-        return result;
+    /**
+     * Record the hashes an environment's push wrote, on the caller's thread and transaction.
+     */
+    private FanOutResult record(PushOutcome outcome) {
+        FanOutTarget target = outcome.push().target();
+        String error = outcome.error();
+        ApisixIntegrationService.DeploySummary summary = null;
+        if (error == null && outcome.push().deploy() != null) {
+            try {
+                summary = apisixIntegrationService.record(outcome.push().deploy(), outcome.result());
+            } catch (Exception e) {
+                error = e.getMessage();
+            }
+        }
+        if (error != null) {
+            log.error("APISIX writes to environment {} failed: {}", target.environment().getId(), error);
+        }
+        return new FanOutResult(target, summary, error, outcome.durationMs(), outcome.push().error() == null);
     }
 
-    private ServiceRevision findRevisionById(String revisionId) {
-        return revisionRepository.findById(revisionId)
-                .orElseThrow(() -> new ResourceNotFoundException("Service revision not found with ID: " + revisionId));
+    private DeployManyResponse toDeployManyResponse(ServiceRevision revision, DeployMode mode, List<String> envIds,
+                                                    Map<String, EnvironmentDeployOutcome> outcomes) {
+        List<EnvironmentDeployOutcome> ordered = envIds.stream().map(outcomes::get).toList();
+        return DeployManyResponse.builder()
+                .revisionId(revision.getId())
+                .mode(mode)
+                .success(ordered.stream().allMatch(o -> o.getStatus() == EnvironmentDeployStatus.DEPLOYED))
+                .environments(ordered)
+                .revision(toResponse(revision))
+                .build();
     }
 
-    // --- Helper methods ---
+    private EnvironmentDeployOutcome outcome(String envId, Environment environment,
+                                             EnvironmentDeployStatus status, String error) {
+        return EnvironmentDeployOutcome.builder()
+                .environmentId(envId)
+                .environmentName(environment != null ? environment.getName() : null)
+                .status(status)
+                .error(error)
+                .build();
+    }
+
+    private EnvironmentDeployOutcome toOutcome(FanOutResult result, EnvironmentDeployStatus status) {
+        EnvironmentDeployOutcome outcome = outcome(result.target().environment().getId(),
+                result.target().environment(), status, result.error());
+        if (result.summary() != null) {
+            outcome.setUnchanged(result.summary().unchanged());
+            outcome.setUpdated(result.summary().updated());
+        }
+        outcome.setDurationMs(result.durationMs());
+        return outcome;
+    }
+
+    private long elapsedMs(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
 
     /**
      * Recalculate revision state based on Deployment records.
@@ -456,26 +930,12 @@ public class ServiceRevisionService {
     }
 
     /**
-     * Upsert an upstream binding for a revision + environment.
+     * Recalculate the state of a revision that is not loaded, without reading its specs.
      */
-    private void upsertUpstreamBinding(String orgId, String apiId, String revisionId, String envId, String upstreamId) {
-        Optional<UpstreamBinding> existing = upstreamBindingRepository
-                .findByRevisionIdAndEnvironmentId(revisionId, envId);
-
-        if (existing.isPresent()) {
-            UpstreamBinding binding = existing.get();
-            binding.setUpstreamId(upstreamId);
-            upstreamBindingRepository.save(binding);
-        } else {
-            UpstreamBinding binding = UpstreamBinding.builder()
-                    .orgId(orgId)
-                    .apiId(apiId)
-                    .revisionId(revisionId)
-                    .environmentId(envId)
-                    .upstreamId(upstreamId)
-                    .build();
-            upstreamBindingRepository.save(binding);
-        }
+    private void recalculateState(String revisionId) {
+        RevisionState state = deploymentRepository.existsByRevisionId(revisionId)
+                ? RevisionState.ACTIVE : RevisionState.INACTIVE;
+        revisionRepository.updateState(revisionId, state, LocalDateTime.now());
     }
 
     /**
@@ -483,11 +943,27 @@ public class ServiceRevisionService {
      * with resolved environment and upstream names.
      */
     private ServiceRevisionResponse toResponse(ServiceRevision revision) {
-        List<Deployment> deployments = deploymentRepository.findByRevisionId(revision.getId());
-        List<UpstreamBinding> bindings = upstreamBindingRepository.findByRevisionId(revision.getId());
+        return toResponses(List.of(revision)).get(0);
+    }
+
+    /**
+     * Build response DTOs for a list of revisions, keeping their order.
+     * Deployments, bindings, environments and upstreams are fetched once for the whole list,
+     * so the query count does not grow with the number of revisions.
+     */
+    private List<ServiceRevisionResponse> toResponses(List<ServiceRevision> revisions) {
+        if (revisions.isEmpty()) {
+            return List.of();
+        }
+        List<String> revisionIds = revisions.stream().map(ServiceRevision::getId).toList();
+        List<Deployment> deployments = deploymentRepository.findByRevisionIdIn(revisionIds);
+        List<UpstreamBinding> bindings = upstreamBindingRepository.findByRevisionIdIn(revisionIds);
+        Map<String, List<RouteSpec>> routesByRevision = revisionRouteService.getRouteSpecs(revisionIds);
+        Map<String, ServiceSpec> serviceSpecs = specContentService.loadAll(
+                revisions.stream().map(ServiceRevision::getServiceSpecHash).toList(), ServiceSpec.class);
 
         // Collect all referenced environment IDs and upstream IDs for batch lookup
-        List<String> envIds = new ArrayList<>();
+        Set<String> envIds = new LinkedHashSet<>();
         deployments.forEach(d -> envIds.add(d.getEnvironmentId()));
         bindings.forEach(b -> envIds.add(b.getEnvironmentId()));
 
@@ -496,25 +972,39 @@ public class ServiceRevisionService {
                 .distinct()
                 .toList();
 
-        Map<String, Environment> envMap = environmentRepository.findAllById(envIds.stream().distinct().toList())
-                .stream()
-                .collect(Collectors.toMap(Environment::getId, Function.identity()));
+        Map<String, Environment> envMap = envIds.isEmpty() ? Map.of() :
+                lookupCache.findEnvironments(envIds)
+                        .stream()
+                        .collect(Collectors.toMap(Environment::getId, Function.identity()));
 
-        Map<String, Upstream> upstreamMap = upstreamRepository.findAllById(upstreamIds)
-                .stream()
-                .collect(Collectors.toMap(Upstream::getId, Function.identity()));
+        Map<String, Upstream> upstreamMap = upstreamIds.isEmpty() ? Map.of() :
+                lookupCache.findUpstreams(upstreamIds)
+                        .stream()
+                        .collect(Collectors.toMap(Upstream::getId, Function.identity()));
 
-        List<DeploymentResponse> deploymentResponses = deployments.stream()
-                .map(d -> {
-                    String envName = Optional.ofNullable(envMap.get(d.getEnvironmentId()))
-                            .map(Environment::getName).orElse(null);
-                    return DeploymentResponse.from(d, envName);
+        Map<String, List<Deployment>> deploymentsByRevision = deployments.stream()
+                .collect(Collectors.groupingBy(Deployment::getRevisionId));
+        Map<String, List<UpstreamBinding>> bindingsByRevision = bindings.stream()
+                .collect(Collectors.groupingBy(UpstreamBinding::getRevisionId));
+
+        return revisions.stream()
+                .map(revision -> {
+                    List<DeploymentResponse> deploymentResponses = deploymentsByRevision
+                            .getOrDefault(revision.getId(), List.of()).stream()
+                            .map(d -> {
+                                String envName = Optional.ofNullable(envMap.get(d.getEnvironmentId()))
+                                        .map(Environment::getName).orElse(null);
+                                return DeploymentResponse.from(d, envName);
+                            })
+                            .toList();
+                    List<UpstreamBindingResponse> bindingResponses = toBindingResponses(
+                            bindingsByRevision.getOrDefault(revision.getId(), List.of()), envMap, upstreamMap);
+                    return ServiceRevisionResponse.fromEntity(revision,
+                            revision.getServiceSpecHash() != null ? serviceSpecs.get(revision.getServiceSpecHash()) : null,
+                            routesByRevision.getOrDefault(revision.getId(), List.of()),
+                            deploymentResponses, bindingResponses);
                 })
                 .toList();
-
-        List<UpstreamBindingResponse> bindingResponses = toBindingResponses(bindings, envMap, upstreamMap);
-
-        return ServiceRevisionResponse.fromEntity(revision, deploymentResponses, bindingResponses);
     }
 
     /**
@@ -546,4 +1036,22 @@ public class ServiceRevisionService {
             route.setServiceId(apiId);
         }
     }
+
+    private record FanOutTarget(Environment environment, Upstream upstream, Deployment existing,
+                                boolean redeploySameRevision,
+                                ServiceRevision previousRevision, Upstream previousUpstream) {}
+
+    /**
+     * @param attempted whether any APISIX write was sent; false if the environment failed while planning
+     */
+    private record FanOutResult(FanOutTarget target, ApisixIntegrationService.DeploySummary summary,
+                                String error, long durationMs, boolean attempted) {}
+
+    private record RollBackResult(FanOutResult result, boolean reverted) {}
+
+    private record EnvironmentPush(FanOutTarget target, ApisixIntegrationService.UndeployPlan undeploy,
+                                   ApisixIntegrationService.DeployPlan deploy, String error) {}
+
+    private record PushOutcome(EnvironmentPush push, ApisixIntegrationService.PushResult result,
+                               String error, long durationMs) {}
 }
@@ -0,0 +1,197 @@
+package com.apisix.controlplane.service;
+
+import com.apisix.controlplane.dto.SpecStorageReport;
+import com.apisix.controlplane.entity.SpecContent;
+import com.apisix.controlplane.repository.SpecContentRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Content-addressed storage for route and service specifications.
+ * <p>
+ * A spec is stored once under the SHA-256 of its canonical JSON (the same hash used for APISIX payloads)
+ * with a reference count. Callers acquire a reference for every place that points at a hash and release it
+ * when that place goes away; specs nobody references any more are deleted in the same transaction.
+ */
+@org.springframework.stereotype.Service
+@RequiredArgsConstructor
+@Slf4j
+public class SpecContentService {
+
+    private final SpecContentRepository contentRepository;
+    private final ApisixResourceStateService resourceStateService;
+    private final ObjectMapper objectMapper;
+
+    public String hash(Object spec) {
+        return resourceStateService.hash(spec);
+    }
+
+    /**
+     * Store a spec (if new) and add a reference to it.
+     *
+     * @return its content hash, or null for a null spec
+     */
+    public String acquire(Object spec) {
+        if (spec == null) {
+            return null;
+        }
+        return acquireAll(List.of(spec)).get(0);
+    }
+
+    /**
+     * Store a batch of specs and add one reference per list element, in a single statement.
+     *
+     * @return the content hash of each spec, aligned with the input
+     */
+    public List<String> acquireAll(List<?> specs) {
+        List<String> hashes = new ArrayList<>(specs.size());
+        Map<String, Object> specsByHash = new HashMap<>();
+        Map<String, Long> refs = new TreeMap<>();
+        for (Object spec : specs) {
+            String hash = hash(spec);
+            hashes.add(hash);
+            specsByHash.putIfAbsent(hash, spec);
+            refs.merge(hash, 1L, Long::sum);
+        }
+        if (refs.isEmpty()) {
+            return hashes;
+        }
+
+        ArrayNode entries = objectMapper.createArrayNode();
+        refs.forEach((hash, count) -> {
+            JsonNode content = objectMapper.valueToTree(specsByHash.get(hash));
+            ObjectNode entry = entries.addObject();
+            entry.put("hash", hash);
+            entry.set("content", content);
+            entry.put("size", jsonSize(content));
+            entry.put("refs", count);
+        });
+        contentRepository.acquire(entries.toString());
+        return hashes;
+    }
+
+    /**
+     * Add a reference to a spec that is already stored, e.g. when a clone points at its source's spec.
+     */
+    public void addReference(String hash) {
+        if (hash != null) {
+            contentRepository.addReference(hash);
+        }
+    }
+
+    /**
+     * Drop one reference per element (null hashes are ignored) and delete specs left unreferenced.
+     */
+    public void releaseAll(Collection<String> hashes) {
+        Map<String, Long> refs = new TreeMap<>();
+        for (String hash : hashes) {
+            if (hash != null) {
+                refs.merge(hash, 1L, Long::sum);
+            }
+        }
+        if (refs.isEmpty()) {
+            return;
+        }
+
+        ArrayNode entries = objectMapper.createArrayNode();
+        refs.forEach((hash, count) -> entries.addObject().put("hash", hash).put("refs", count));
+        contentRepository.release(entries.toString());
+        contentRepository.deleteUnreferenced(refs.keySet());
+    }
+
+    public void release(String hash) {
+        if (hash != null) {
+            releaseAll(List.of(hash));
+        }
+    }
+
+    /**
+     * Add one reference per route of a revision whose route rows were copied without their specs.
+     */
+    public void acquireRevisionRoutes(String revisionId) {
+        contentRepository.acquireRevisionRoutes(revisionId);
+    }
+
+    /**
+     * Drop the references held by a revision's routes. Call before deleting its route rows.
+     */
+    public void releaseRevisionRoutes(String revisionId) {
+        contentRepository.releaseRevisionRoutes(revisionId);
+        contentRepository.deleteUnreferencedByRevisionRoutes(revisionId);
+    }
+
+    /**
+     * Load a spec by hash as the given type, or null for a null hash.
+     */
+    public <T> T load(String hash, Class<T> type) {
+        if (hash == null) {
+            return null;
+        }
+        return contentRepository.findById(hash)
+                .map(content -> convert(content.getContent(), type))
+                .orElseThrow(() -> new IllegalStateException("Stored spec not found: " + hash));
+    }
+
+    /**
+     * Load several specs in one query, keyed by hash. Null hashes are skipped.
+     */
+    public <T> Map<String, T> loadAll(Collection<String> hashes, Class<T> type) {
+        List<String> ids = hashes.stream().filter(Objects::nonNull).distinct().toList();
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return contentRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(SpecContent::getContentHash, content -> convert(content.getContent(), type),
+                        (a, b) -> a, LinkedHashMap::new));
+    }
+
+    public <T> T convert(JsonNode content, Class<T> type) {
+        try {
+            return objectMapper.treeToValue(content, type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Stored spec cannot be read as " + type.getSimpleName(), e);
+        }
+    }
+
+    /**
+     * Create the JSONB search indexes on spec_contents if they are missing.
+     */
+    @Transactional
+    public void createSearchIndexes() {
+        contentRepository.createContentIndex();
+        contentRepository.createUriIndex();
+        contentRepository.createHostIndex();
+    }
+
+    public SpecStorageReport getStorageReport() {
+        SpecContentRepository.StorageTotals totals = contentRepository.findStorageTotals();
+        return SpecStorageReport.builder()
+                .distinctSpecs(totals.getSpecs())
+                .references(totals.getReferenceCount())
+                .storedBytes(totals.getStoredBytes())
+                .referencedBytes(totals.getReferencedBytes())
+                .reclaimedBytes(totals.getReferencedBytes() - totals.getStoredBytes())
+                .build();
+    }
+
+    private int jsonSize(JsonNode content) {
+        return content.toString().getBytes(StandardCharsets.UTF_8).length;
+    }
+}
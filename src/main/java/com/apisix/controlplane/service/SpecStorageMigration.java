@@ -0,0 +1,50 @@
+package com.apisix.controlplane.service;
+
+import com.apisix.controlplane.dto.SpecStorageReport;
+import com.apisix.controlplane.repository.ServiceRevisionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * On startup, moves route and service specifications still stored inline in the legacy
+ * service_revisions.route_specifications and service_specification columns into revision_routes rows and
+ * content-addressed storage, one revision per transaction, then logs the space reclaimed.
+ * A no-op once every revision is migrated. Also creates the spec search indexes JPA cannot declare.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SpecStorageMigration implements ApplicationRunner {
+
+    private final ServiceRevisionRepository revisionRepository;
+    private final RevisionRouteService revisionRouteService;
+    private final SpecContentService specContentService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        specContentService.createSearchIndexes();
+
+        List<String> revisionIds = revisionRepository.findIdsWithLegacySpecs();
+        if (revisionIds.isEmpty()) {
+            return;
+        }
+        log.info("Moving inline specs of {} revisions into content-addressed storage", revisionIds.size());
+        int migrated = 0;
+        for (String revisionId : revisionIds) {
+            if (revisionRouteService.migrateLegacySpecs(revisionId)) {
+                migrated++;
+            }
+        }
+
+        SpecStorageReport report = specContentService.getStorageReport();
+        log.info("Moved specs of {} revisions ({} already moved by another node): {} references to {} distinct specs, "
+                        + "{} bytes stored for {} bytes referenced ({} bytes reclaimed)",
+                migrated, revisionIds.size() - migrated, report.getReferences(), report.getDistinctSpecs(),
+                report.getStoredBytes(), report.getReferencedBytes(), report.getReclaimedBytes());
+    }
+}
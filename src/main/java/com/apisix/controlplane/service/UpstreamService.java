@@ -1,5 +1,8 @@
 package com.apisix.controlplane.service;
 
+import com.apisix.controlplane.apisix.client.ApisixAdminClient;
+import com.apisix.controlplane.apisix.client.ApisixUnavailableException;
+import com.apisix.controlplane.cache.EntityLookupCache;
 import com.apisix.controlplane.dto.CreateUpstreamRequest;
 import com.apisix.controlplane.entity.Environment;
 import com.apisix.controlplane.entity.Upstream;
@@ -9,13 +12,14 @@ import com.apisix.controlplane.repository.UpstreamRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.reactive.function.client.WebClient;
-import reactor.core.publisher.Mono;
 
 import java.util.List;
 import java.util.Map;
@@ -30,11 +34,9 @@ public class UpstreamService {
 
     private final UpstreamRepository upstreamRepository;
     private final EnvironmentService environmentService;
-    private final WebClient.Builder webClientBuilder;
+    private final ApisixResourceStateService resourceStateService;
     private final ObjectMapper objectMapper;
-
-    @Value("${apisix.admin-key:edd1c9f034335f136f87ad84b625c8f1}")
-    private String adminKey;
+    private final EntityLookupCache lookupCache;
 
     @Transactional
     public Upstream createUpstream(String environmentId, CreateUpstreamRequest config) {
@@ -69,6 +71,9 @@ public class UpstreamService {
         } catch (Exception e) {
             log.error("Failed to create upstream in APISIX", e);
             upstreamRepository.save(saved);
+            if (e instanceof ApisixUnavailableException unavailable) {
+                throw unavailable;
+            }
             throw new BusinessException("Upstream created in control plane but failed to create in APISIX: " + e.getMessage());
         }
 
@@ -76,33 +81,22 @@ public class UpstreamService {
     }
 
     private void createUpstreamInApisix(Environment environment, Upstream upstream) {
-        WebClient webClient = webClientBuilder
-                .baseUrl(environment.getApisixAdminUrl())
-                .defaultHeader("X-API-KEY", adminKey)
-                .build();
+        Map<String, Object> payload = buildUpstreamPayload(upstream);
+
+        boolean written = resourceStateService.putIfChanged(environment, ApisixAdminClient.UPSTREAMS, upstream.getApisixId(), payload);
+        log.info("APISIX upstream {} {}", upstream.getApisixId(), written ? "written" : "unchanged");
+    }
 
-        // Serialize the spec directly as the APISIX payload
-        @SuppressWarnings("unchecked")
-        Map<String, Object> payload = objectMapper.convertValue(upstream.getSpecification(), Map.class);
-
-        String response = webClient.put()
-                .uri("/apisix/admin/upstreams/{id}", upstream.getApisixId())
-                .bodyValue(payload)
-                .retrieve()
-                .onStatus(status -> status.is4xxClientError() || status.is5xxServerError(),
-                        resp -> resp.bodyToMono(String.class)
-                                .flatMap(body -> {
-                                    log.error("APISIX upstream creation failed: {} {}", resp.statusCode(), body);
-                                    return Mono.error(new RuntimeException("APISIX returned " + resp.statusCode() + ": " + body));
-                                }))
-                .bodyToMono(String.class)
-                .block();
-
-        log.info("APISIX upstream creation response: {}", response);
+    /**
+     * APISIX payload of an upstream: its spec serialized as-is.
+     */
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> buildUpstreamPayload(Upstream upstream) {
+        return objectMapper.convertValue(upstream.getSpecification(), Map.class);
     }
 
     public Upstream getUpstreamById(String upstreamId) {
-        return upstreamRepository.findById(upstreamId)
+        return lookupCache.findUpstream(upstreamId)
                 .orElseThrow(() -> new ResourceNotFoundException("Upstream not found with ID: " + upstreamId));
     }
 
@@ -114,6 +108,10 @@ public class UpstreamService {
         return upstreamRepository.findByEnvironmentId(environmentId, pageable);
     }
 
+    public Window<Upstream> getUpstreamsByEnvironment(String environmentId, ScrollPosition position, Sort sort, Limit limit) {
+        return upstreamRepository.findByEnvironmentId(environmentId, position, sort, limit);
+    }
+
     public List<Upstream> getUpstreamsByOrg(String orgId) {
         return upstreamRepository.findByOrgId(orgId);
     }
@@ -130,22 +128,11 @@ public class UpstreamService {
         }
 
         upstreamRepository.delete(upstream);
+        lookupCache.evictUpstream(upstreamId);
         log.info("Deleted upstream '{}'", upstream.getName());
     }
 
     private void deleteUpstreamFromApisix(Environment environment, Upstream upstream) {
-        WebClient webClient = webClientBuilder
-                .baseUrl(environment.getApisixAdminUrl())
-                .defaultHeader("X-API-KEY", adminKey)
-                .build();
-
-        webClient.delete()
-                .uri("/apisix/admin/upstreams/{id}", upstream.getApisixId())
-                .retrieve()
-                .onStatus(status -> status.is4xxClientError() || status.is5xxServerError(),
-                        resp -> resp.bodyToMono(String.class)
-                                .flatMap(body -> Mono.error(new RuntimeException("Failed to delete: " + body))))
-                .bodyToMono(String.class)
-                .block();
+        resourceStateService.delete(environment, ApisixAdminClient.UPSTREAMS, upstream.getApisixId());
     }
 }
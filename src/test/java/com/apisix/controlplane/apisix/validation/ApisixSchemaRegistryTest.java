@@ -0,0 +1,52 @@
+package com.apisix.controlplane.apisix.validation;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ApisixSchemaRegistryTest {
+
+    @TempDir
+    private Path dir;
+
+    @Test
+    void snapshotIsReusedUntilTheSourceContentChanges() throws IOException {
+        Path source = dir.resolve("control_plane_schema.json");
+        writeSchema(source, 1);
+
+        assertThat(registry(source).get("3.14").fromSnapshot()).isFalse();
+        assertThat(registry(source).get("3.14").fromSnapshot()).isTrue();
+
+        // Same size, different content
+        long size = Files.size(source);
+        writeSchema(source, 2);
+        assertThat(Files.size(source)).isEqualTo(size);
+
+        ApisixSchemas schemas = registry(source).get("3.14");
+        assertThat(schemas.fromSnapshot()).isFalse();
+        assertThat(schemas.route().getSchemaNode().path("maxProperties").asInt()).isEqualTo(2);
+        assertThat(registry(source).get("3.14").fromSnapshot()).isTrue();
+    }
+
+    private ApisixSchemaRegistry registry(Path source) {
+        return new ApisixSchemaRegistry(new ObjectMapper(), new DefaultResourceLoader(), "3.14",
+                List.of("3.14=file:" + source), dir.resolve("snapshots").toString());
+    }
+
+    private static void writeSchema(Path file, int maxRouteProperties) throws IOException {
+        Files.writeString(file, """
+                {"main": {"route": {"type": "object", "maxProperties": %d},
+                          "upstream": {"type": "object"},
+                          "service": {"type": "object"}},
+                 "plugins": {}}
+                """.formatted(maxRouteProperties));
+    }
+}
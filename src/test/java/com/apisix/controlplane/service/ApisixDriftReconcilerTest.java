@@ -0,0 +1,175 @@
+package com.apisix.controlplane.service;
+
+import com.apisix.controlplane.apisix.client.ApisixAdminClient;
+import com.apisix.controlplane.apisix.model.RouteSpec;
+import com.apisix.controlplane.apisix.model.TimeoutConfig;
+import com.apisix.controlplane.apisix.model.UpstreamSpec;
+import com.apisix.controlplane.dto.CreateApiRequest;
+import com.apisix.controlplane.dto.CreateEnvironmentRequest;
+import com.apisix.controlplane.dto.CreateOrgRequest;
+import com.apisix.controlplane.dto.CreateServiceRevisionRequest;
+import com.apisix.controlplane.dto.CreateUpstreamRequest;
+import com.apisix.controlplane.dto.DeployRequest;
+import com.apisix.controlplane.dto.EnvironmentUpstreamMapping;
+import com.apisix.controlplane.entity.Api;
+import com.apisix.controlplane.entity.DriftItem;
+import com.apisix.controlplane.entity.Environment;
+import com.apisix.controlplane.entity.ReconcileRun;
+import com.apisix.controlplane.entity.Upstream;
+import com.apisix.controlplane.enums.DriftType;
+import com.apisix.controlplane.enums.ReconcileRunStatus;
+import com.apisix.controlplane.support.FakeApisixAdmin;
+import com.apisix.controlplane.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class ApisixDriftReconcilerTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private OrganizationService organizationService;
+
+    @Autowired
+    private EnvironmentService environmentService;
+
+    @Autowired
+    private UpstreamService upstreamService;
+
+    @Autowired
+    private ApiService apiService;
+
+    @Autowired
+    private ServiceRevisionService revisionService;
+
+    @Autowired
+    private ApisixDriftReconciler reconciler;
+
+    private FakeApisixAdmin apisix;
+    private Environment environment;
+    private Api api;
+
+    @BeforeEach
+    void deployRevision() {
+        apisix = new FakeApisixAdmin();
+
+        CreateOrgRequest orgRequest = new CreateOrgRequest();
+        orgRequest.setName("org-" + UUID.randomUUID());
+        String orgId = organizationService.createOrganization(orgRequest).getId();
+
+        CreateEnvironmentRequest environmentRequest = new CreateEnvironmentRequest();
+        environmentRequest.setName("prod");
+        environmentRequest.setApisixAdminUrl(apisix.url());
+        environment = environmentService.createEnvironment(orgId, environmentRequest);
+
+        CreateUpstreamRequest upstreamRequest = new CreateUpstreamRequest();
+        upstreamRequest.setName("orders");
+        upstreamRequest.setSpecification(UpstreamSpec.builder()
+                .type("roundrobin")
+                .nodes(List.of(Map.of("host", "10.0.0.10", "port", 8080, "weight", 100)))
+                .timeout(TimeoutConfig.builder().connect(3.0).read(30.0).send(30.0).build())
+                .build());
+        Upstream upstream = upstreamService.createUpstream(environment.getId(), upstreamRequest);
+
+        CreateApiRequest apiRequest = new CreateApiRequest();
+        apiRequest.setName("orders");
+        api = apiService.createApi(orgId, apiRequest);
+
+        CreateServiceRevisionRequest revisionRequest = new CreateServiceRevisionRequest();
+        revisionRequest.setEnvironmentUpstreams(List.of(new EnvironmentUpstreamMapping(environment.getId(), upstream.getId())));
+        revisionRequest.setRouteSpecifications(new ArrayList<>(List.of(RouteSpec.builder()
+                .name("list-orders")
+                .uri("/v1/orders")
+                .methods(List.of("GET"))
+                .timeout(TimeoutConfig.builder().connect(3.0).read(30.0).send(30.0).build())
+                .plugins(new LinkedHashMap<>(Map.of("limit-count", Map.of("count", 100, "time_window", 60))))
+                .build())));
+        String revisionId = revisionService.createRevision(api.getId(), revisionRequest).getId();
+
+        DeployRequest deployRequest = new DeployRequest();
+        deployRequest.setEnvironmentId(environment.getId());
+        revisionService.deployRevision(revisionId, deployRequest);
+    }
+
+    @AfterEach
+    void stopApisix() {
+        apisix.close();
+    }
+
+    @Test
+    void freshlyDeployedResourcesAreInSync() throws InterruptedException {
+        ReconcileRun run = reconcile();
+
+        assertThat(run.getScanned()).isEqualTo(3);
+        assertThat(run.getInSync()).isEqualTo(3);
+        assertThat(run.getDrifted()).isZero();
+    }
+
+    @Test
+    void gatewayEditIsReportedModified() throws InterruptedException {
+        apisix.get(ApisixAdminClient.SERVICES, api.getId()).put("desc", "edited on the gateway");
+
+        ReconcileRun run = reconcile();
+
+        assertThat(run.getInSync()).isEqualTo(2);
+        assertThat(run.getDrift()).extracting(DriftItem::getResourceId, DriftItem::getType)
+                .containsExactly(tuple(api.getId(), DriftType.MODIFIED));
+    }
+
+    @Test
+    void pluginAddedOnTheGatewayIsReportedModified() throws InterruptedException {
+        Map<String, Object> route = apisix.list(ApisixAdminClient.ROUTES).get(0);
+        @SuppressWarnings("unchecked")
+        Map<String, Object> plugins = (Map<String, Object>) route.get("plugins");
+        plugins.put("cors", new LinkedHashMap<>());
+
+        ReconcileRun run = reconcile();
+
+        assertThat(run.getInSync()).isEqualTo(2);
+        assertThat(run.getDrift()).extracting(DriftItem::getResourceId, DriftItem::getType)
+                .containsExactly(tuple(route.get("id"), DriftType.MODIFIED));
+    }
+
+    @Test
+    void fieldAddedOnTheGatewayIsReportedModified() throws InterruptedException {
+        Map<String, Object> route = apisix.list(ApisixAdminClient.ROUTES).get(0);
+        route.put("hosts", new ArrayList<>(List.of("orders.example.com")));
+
+        ReconcileRun run = reconcile();
+
+        assertThat(run.getDrift()).extracting(DriftItem::getResourceId, DriftItem::getType)
+                .containsExactly(tuple(route.get("id"), DriftType.MODIFIED));
+    }
+
+    @Test
+    void defaultChangedOnTheGatewayIsReportedModified() throws InterruptedException {
+        Map<String, Object> route = apisix.list(ApisixAdminClient.ROUTES).get(0);
+        route.put("priority", 10);
+
+        ReconcileRun run = reconcile();
+
+        assertThat(run.getDrift()).extracting(DriftItem::getResourceId, DriftItem::getType)
+                .containsExactly(tuple(route.get("id"), DriftType.MODIFIED));
+    }
+
+    private ReconcileRun reconcile() throws InterruptedException {
+        String runId = reconciler.trigger(environment.getId()).getId();
+        for (int attempt = 0; attempt < 300; attempt++) {
+            ReconcileRun run = reconciler.getRun(runId);
+            if (run.getStatus() == ReconcileRunStatus.COMPLETED) {
+                return run;
+            }
+            Thread.sleep(100);
+        }
+        throw new AssertionError("Reconcile run " + runId + " did not complete");
+    }
+}
@@ -0,0 +1,99 @@
+package com.apisix.controlplane.service;
+
+import com.apisix.controlplane.apisix.client.ApisixAdminClient;
+import com.apisix.controlplane.dto.CreateEnvironmentRequest;
+import com.apisix.controlplane.dto.CreateOrgRequest;
+import com.apisix.controlplane.enums.OutboxStatus;
+import com.apisix.controlplane.repository.ApisixOutboxRepository;
+import com.apisix.controlplane.support.FakeApisixAdmin;
+import com.apisix.controlplane.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Dispatch rounds are driven by the test, not the scheduler
+@TestPropertySource(properties = {"apisix.outbox.enabled=true", "apisix.outbox.poll-interval=3600000"})
+class ApisixOutboxDispatcherTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private OrganizationService organizationService;
+
+    @Autowired
+    private EnvironmentService environmentService;
+
+    @Autowired
+    private ApisixOutboxService outboxService;
+
+    @Autowired
+    private ApisixOutboxDispatcher dispatcher;
+
+    @Autowired
+    private ApisixOutboxRepository outboxRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final FakeApisixAdmin apisix = new FakeApisixAdmin();
+    private String environmentId;
+
+    @BeforeEach
+    void createEnvironment() {
+        CreateOrgRequest orgRequest = new CreateOrgRequest();
+        orgRequest.setName("org-" + UUID.randomUUID());
+        String orgId = organizationService.createOrganization(orgRequest).getId();
+
+        CreateEnvironmentRequest environmentRequest = new CreateEnvironmentRequest();
+        environmentRequest.setName("staging");
+        environmentRequest.setApisixAdminUrl(apisix.url());
+        environmentId = environmentService.createEnvironment(orgId, environmentRequest).getId();
+    }
+
+    @AfterEach
+    void stopApisix() {
+        apisix.close();
+    }
+
+    @Test
+    void environmentClaimedByAnotherDispatcherIsSkipped() throws Exception {
+        transactionTemplate.executeWithoutResult(status ->
+                outboxService.enqueuePut(environmentId, ApisixAdminClient.ROUTES, "orders", Map.of("uri", "/v1/orders")));
+
+        // Another instance holds the environment's claim
+        CountDownLatch claimed = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Boolean> otherDispatcher = CompletableFuture.supplyAsync(() ->
+                transactionTemplate.execute(status -> {
+                    boolean locked = outboxRepository.tryLockEnvironment(environmentId);
+                    claimed.countDown();
+                    try {
+                        release.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return locked;
+                }));
+        assertThat(claimed.await(10, TimeUnit.SECONDS)).isTrue();
+
+        dispatcher.dispatch();
+        assertThat(apisix.count(ApisixAdminClient.ROUTES)).isZero();
+        assertThat(outboxRepository.existsByEnvironmentIdAndStatus(environmentId, OutboxStatus.PENDING)).isTrue();
+
+        release.countDown();
+        assertThat(otherDispatcher.get(10, TimeUnit.SECONDS)).isTrue();
+
+        dispatcher.dispatch();
+        assertThat(apisix.get(ApisixAdminClient.ROUTES, "orders")).containsEntry("uri", "/v1/orders");
+        assertThat(outboxRepository.existsByEnvironmentIdAndStatus(environmentId, OutboxStatus.PENDING)).isFalse();
+    }
+}
@@ -0,0 +1,160 @@
+package com.apisix.controlplane.service;
+
+import com.apisix.controlplane.apisix.model.RouteSpec;
+import com.apisix.controlplane.apisix.model.ServiceSpec;
+import com.apisix.controlplane.apisix.model.UpstreamSpec;
+import com.apisix.controlplane.dto.CreateApiRequest;
+import com.apisix.controlplane.dto.CreateEnvironmentRequest;
+import com.apisix.controlplane.dto.CreateOrgRequest;
+import com.apisix.controlplane.dto.CreateServiceRevisionRequest;
+import com.apisix.controlplane.dto.CreateUpstreamRequest;
+import com.apisix.controlplane.dto.EnvironmentUpstreamMapping;
+import com.apisix.controlplane.dto.RouteSearchRequest;
+import com.apisix.controlplane.dto.RouteSearchResult;
+import com.apisix.controlplane.entity.Environment;
+import com.apisix.controlplane.repository.RevisionRouteRepository;
+import com.apisix.controlplane.support.FakeApisixAdmin;
+import com.apisix.controlplane.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RouteSearchServiceTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private OrganizationService organizationService;
+
+    @Autowired
+    private EnvironmentService environmentService;
+
+    @Autowired
+    private UpstreamService upstreamService;
+
+    @Autowired
+    private ApiService apiService;
+
+    @Autowired
+    private ServiceRevisionService revisionService;
+
+    @Autowired
+    private RouteSearchService searchService;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    private final FakeApisixAdmin gateway = new FakeApisixAdmin();
+    private String orgId;
+    private String revisionId;
+
+    @BeforeEach
+    void createRevision() {
+        CreateOrgRequest orgRequest = new CreateOrgRequest();
+        orgRequest.setName("org-" + UUID.randomUUID());
+        orgId = organizationService.createOrganization(orgRequest).getId();
+
+        CreateEnvironmentRequest environmentRequest = new CreateEnvironmentRequest();
+        environmentRequest.setName("staging");
+        environmentRequest.setApisixAdminUrl(gateway.url());
+        Environment environment = environmentService.createEnvironment(orgId, environmentRequest);
+        CreateUpstreamRequest upstreamRequest = new CreateUpstreamRequest();
+        upstreamRequest.setName("orders");
+        upstreamRequest.setSpecification(UpstreamSpec.builder()
+                .type("roundrobin")
+                .nodes(List.of(Map.of("host", "10.0.0.10", "port", 8080, "weight", 100)))
+                .build());
+        String upstreamId = upstreamService.createUpstream(environment.getId(), upstreamRequest).getId();
+
+        CreateApiRequest apiRequest = new CreateApiRequest();
+        apiRequest.setName("orders");
+        String apiId = apiService.createApi(orgId, apiRequest).getId();
+
+        CreateServiceRevisionRequest request = new CreateServiceRevisionRequest();
+        request.setEnvironmentUpstreams(List.of(new EnvironmentUpstreamMapping(environment.getId(), upstreamId)));
+        request.setServiceSpecification(ServiceSpec.builder()
+                .name("orders")
+                .hosts(List.of("orders.example.com"))
+                .plugins(Map.of("cors", Map.of()))
+                .build());
+        request.setRouteSpecifications(List.of(
+                RouteSpec.builder().name("list-orders").uri("/v1/orders").build(),
+                RouteSpec.builder().name("metrics").uri("/v1/metrics").host("metrics.example.com")
+                        .plugins(Map.of("prometheus", Map.of())).build(),
+                RouteSpec.builder().name("admin").uri("/admin/orders").hosts(List.of("admin.example.com")).build()));
+        revisionId = revisionService.createRevision(apiId, request).getId();
+    }
+
+    @AfterEach
+    void stopApisix() {
+        gateway.close();
+    }
+
+    @Test
+    void routesMatchOnTheirOwnSpecOrTheirService() {
+        assertThat(search(request(null, null, null))).containsExactly("list-orders", "metrics", "admin");
+        // Service plugins apply to every route, route plugins only to their own
+        assertThat(search(request("cors", null, null))).containsExactly("list-orders", "metrics", "admin");
+        assertThat(search(request("prometheus", null, null))).containsExactly("metrics");
+        assertThat(search(request("key-auth", null, null))).isEmpty();
+        // Service hosts only apply to routes that set neither host nor hosts
+        assertThat(search(request(null, "orders.example.com", null))).containsExactly("list-orders");
+        assertThat(search(request(null, "metrics.example.com", null))).containsExactly("metrics");
+        assertThat(search(request(null, "admin.example.com", null))).containsExactly("admin");
+        assertThat(search(request("cors", "admin.example.com", "/admin/*"))).containsExactly("admin");
+        assertThat(search(request("prometheus", "admin.example.com", null))).isEmpty();
+    }
+
+    @Test
+    void pluginAndHostFiltersUseTheSpecIndexes() {
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("orgId", orgId)
+                .addValue("plugin", "cors")
+                .addValue("host", "orders.example.com")
+                .addValue("uriPattern", null)
+                .addValue("environmentId", null)
+                .addValue("state", null);
+
+        // Enough routes in the org, none of them matching, that scanning them all is the expensive plan
+        jdbcTemplate.getJdbcTemplate().update("""
+                insert into spec_contents (content_hash, content, size_bytes, ref_count, created_at)
+                select md5(? || i) || md5(? || i), jsonb_build_object('uri', '/bulk/' || i), 20, 1, now()
+                from generate_series(1, 5000) i""", revisionId, revisionId);
+        jdbcTemplate.getJdbcTemplate().update("""
+                insert into revision_routes (id, revision_id, route_index, name, content_hash)
+                select gen_random_uuid()::text, ?, 100 + i, 'bulk-' || i, md5(? || i) || md5(? || i)
+                from generate_series(1, 5000) i""", revisionId, revisionId, revisionId);
+        jdbcTemplate.getJdbcTemplate().execute("analyze spec_contents");
+        jdbcTemplate.getJdbcTemplate().execute("analyze revision_routes");
+        jdbcTemplate.getJdbcTemplate().execute("analyze service_revisions");
+
+        String plan = String.join("\n", jdbcTemplate.queryForList(
+                "explain select count(*) " + RevisionRouteRepository.ROUTE_SEARCH_FROM, parameters, String.class));
+
+        // Containment is looked up in the GIN index, never tested spec by spec in a sequential scan
+        assertThat(plan).contains("idx_spec_content_gin", "idx_spec_content_host")
+                .doesNotContainPattern("Seq Scan on spec_contents.*\\n\\s*Filter: .*@>");
+    }
+
+    private List<String> search(RouteSearchRequest request) {
+        return searchService.searchRoutes(orgId, request, PageRequest.of(0, 10)).getContent().stream()
+                .map(RouteSearchResult::getRouteName)
+                .toList();
+    }
+
+    private static RouteSearchRequest request(String plugin, String host, String uri) {
+        RouteSearchRequest request = new RouteSearchRequest();
+        request.setPlugin(plugin);
+        request.setHost(host);
+        request.setUri(uri);
+        return request;
+    }
+}
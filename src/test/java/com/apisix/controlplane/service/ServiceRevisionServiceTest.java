@@ -0,0 +1,320 @@
+package com.apisix.controlplane.service;
+
+import com.apisix.controlplane.apisix.client.ApisixAdminClient;
+import com.apisix.controlplane.apisix.client.ApisixUnavailableException;
+import com.apisix.controlplane.apisix.model.RouteSpec;
+import com.apisix.controlplane.apisix.model.ServiceSpec;
+import com.apisix.controlplane.apisix.model.UpstreamSpec;
+import com.apisix.controlplane.dto.CreateApiRequest;
+import com.apisix.controlplane.dto.CreateEnvironmentRequest;
+import com.apisix.controlplane.dto.CreateOrgRequest;
+import com.apisix.controlplane.dto.CreateServiceRevisionRequest;
+import com.apisix.controlplane.dto.CreateUpstreamRequest;
+import com.apisix.controlplane.dto.DeployManyRequest;
+import com.apisix.controlplane.dto.DeployManyResponse;
+import com.apisix.controlplane.dto.DeployRequest;
+import com.apisix.controlplane.dto.EnvironmentDeployOutcome;
+import com.apisix.controlplane.dto.EnvironmentUpstreamMapping;
+import com.apisix.controlplane.dto.PaginatedResponse;
+import com.apisix.controlplane.dto.ServiceRevisionResponse;
+import com.apisix.controlplane.dto.UpdateUpstreamBindingsRequest;
+import com.apisix.controlplane.entity.Environment;
+import com.apisix.controlplane.enums.DeployMode;
+import com.apisix.controlplane.enums.EnvironmentDeployStatus;
+import com.apisix.controlplane.exception.BusinessException;
+import com.apisix.controlplane.support.FakeApisixAdmin;
+import com.apisix.controlplane.support.PostgresIntegrationTest;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ServiceRevisionServiceTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private OrganizationService organizationService;
+
+    @Autowired
+    private EnvironmentService environmentService;
+
+    @Autowired
+    private UpstreamService upstreamService;
+
+    @Autowired
+    private ApiService apiService;
+
+    @Autowired
+    private ServiceRevisionService revisionService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    /** One gateway per environment, in the order of {@link #upstreams}. */
+    private final List<FakeApisixAdmin> gateways = new ArrayList<>();
+    private List<EnvironmentUpstreamMapping> upstreams;
+    private String apiId;
+
+    @BeforeEach
+    void createApi() {
+        CreateOrgRequest orgRequest = new CreateOrgRequest();
+        orgRequest.setName("org-" + UUID.randomUUID());
+        String orgId = organizationService.createOrganization(orgRequest).getId();
+
+        upstreams = new ArrayList<>();
+        for (String name : List.of("staging", "prod")) {
+            addEnvironment(orgId, name);
+        }
+
+        CreateApiRequest apiRequest = new CreateApiRequest();
+        apiRequest.setName("orders");
+        apiId = apiService.createApi(orgId, apiRequest).getId();
+    }
+
+    @AfterEach
+    void stopApisix() {
+        gateways.forEach(FakeApisixAdmin::close);
+    }
+
+    @Test
+    void revisionPageIsAssembledInAFixedNumberOfStatements() {
+        List<String> revisionIds = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            revisionIds.add(revisionService.createRevision(apiId, revisionRequest(3)).getId());
+        }
+        DeployRequest deployRequest = new DeployRequest();
+        deployRequest.setEnvironmentId(upstreams.get(0).getEnvironmentId());
+        revisionService.deployRevision(revisionIds.get(0), deployRequest);
+
+        // Warm the environment and upstream lookup caches, which the first page fills
+        revisionService.getRevisionsByApi(apiId, page(10));
+
+        long smallPage = countStatements(() -> revisionService.getRevisionsByApi(apiId, page(2)));
+        long fullPage = countStatements(() -> {
+            PaginatedResponse<ServiceRevisionResponse> response = revisionService.getRevisionsByApi(apiId, page(10));
+            assertThat(response.getContent().get(0).getDeployments()).hasSize(1);
+            assertThat(response.getContent()).hasSize(10)
+                    .allSatisfy(revision -> {
+                        assertThat(revision.getRouteSpecifications()).hasSize(3);
+                        assertThat(revision.getServiceSpecification().getName()).isEqualTo("orders");
+                        assertThat(revision.getUpstreamBindings()).hasSize(2);
+                    });
+            return response;
+        });
+
+        // Page and count, then one each for deployments, upstream bindings, route specs and service specs
+        assertThat(smallPage).isEqualTo(6);
+        assertThat(fullPage).isEqualTo(6);
+    }
+
+    @Test
+    void concurrentCreatesAndClonesGetConsecutiveRevisionNumbers() throws Exception {
+        String firstRevisionId = revisionService.createRevision(apiId, revisionRequest(1)).getId();
+        int revisions = 16;
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<ServiceRevisionResponse>> results = new ArrayList<>();
+            for (int i = 1; i < revisions; i++) {
+                boolean clone = i % 2 == 0;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return clone
+                            ? revisionService.cloneRevision(firstRevisionId)
+                            : revisionService.createRevision(apiId, revisionRequest(1));
+                }));
+            }
+            start.countDown();
+            for (Future<ServiceRevisionResponse> result : results) {
+                result.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(revisionService.getRevisionsByApi(apiId))
+                .extracting(ServiceRevisionResponse::getRevisionNumber)
+                .containsExactlyInAnyOrderElementsOf(IntStream.rangeClosed(1, revisions).boxed().toList());
+    }
+
+    @Test
+    void revisionWritesAreBatchedPerTable() {
+        String orgId = environmentService.getEnvironmentById(upstreams.get(0).getEnvironmentId()).getOrgId();
+        List<EnvironmentUpstreamMapping> twoEnvironments = List.copyOf(upstreams);
+        for (int i = 0; i < 4; i++) {
+            addEnvironment(orgId, "region-" + i);
+        }
+        List<EnvironmentUpstreamMapping> sixEnvironments = List.copyOf(upstreams);
+
+        // Warm the environment and upstream lookup caches, which the first writes fill
+        revisionService.cloneRevision(revisionService.createRevision(apiId, revisionRequest(1)).getId());
+
+        upstreams = twoEnvironments;
+        String[] small = new String[1];
+        long smallCreate = countStatements(() -> small[0] = revisionService.createRevision(apiId, revisionRequest(1)).getId());
+        long smallClone = countStatements(() -> revisionService.cloneRevision(small[0]));
+        long smallBinding = countStatements(() -> revisionService.updateUpstreamBindings(small[0], bindings(sixEnvironments.subList(0, 3))));
+        assertThat(statistics().getEntityInsertCount()).isEqualTo(1);
+
+        upstreams = sixEnvironments;
+        String[] large = new String[1];
+        // Entity rows are the revision, its bindings and its routes; spec contents are upserted natively
+        long largeCreate = countStatements(() -> large[0] = revisionService.createRevision(apiId, revisionRequest(40)).getId());
+        assertThat(statistics().getEntityInsertCount()).isEqualTo(1 + 6 + 40);
+        // Clones copy route rows inside the database, so only the revision and its bindings are entities
+        long largeClone = countStatements(() -> revisionService.cloneRevision(large[0]));
+        assertThat(statistics().getEntityInsertCount()).isEqualTo(1 + 6);
+
+        upstreams = twoEnvironments;
+        String rebound = revisionService.createRevision(apiId, revisionRequest(1)).getId();
+        long largeBinding = countStatements(() -> revisionService.updateUpstreamBindings(rebound, bindings(sixEnvironments)));
+        assertThat(statistics().getEntityInsertCount()).isEqualTo(4);
+
+        // Rows scale with routes and environments; the statements (one batch per table) do not
+        assertThat(largeCreate).isEqualTo(smallCreate);
+        assertThat(largeClone).isEqualTo(smallClone);
+        assertThat(largeBinding).isEqualTo(smallBinding);
+    }
+
+    @Test
+    void failedForceDeployDoesNotLeaveStaleHashesBehind() {
+        String environmentId = upstreams.get(0).getEnvironmentId();
+        FakeApisixAdmin apisix = gateways.get(0);
+        DeployRequest deployRequest = new DeployRequest();
+        deployRequest.setEnvironmentId(environmentId);
+        deployRequest.setForce(true);
+        String deployed = revisionService.createRevision(apiId, revisionRequest(3)).getId();
+        revisionService.deployRevision(deployed, deployRequest);
+        String replacement = revisionService.createRevision(apiId, revisionRequest(3)).getId();
+
+        // The previous revision's routes are deleted from the gateway before the new ones are rejected
+        apisix.rejectWrites(ApisixAdminClient.ROUTES);
+        assertThatThrownBy(() -> revisionService.deployRevision(replacement, deployRequest))
+                .isInstanceOf(BusinessException.class);
+        assertThat(apisix.count(ApisixAdminClient.ROUTES)).isZero();
+
+        // The rollback restored the deployment, but not the belief that its routes are still on the gateway
+        apisix.acceptWrites();
+        revisionService.deployRevision(deployed, deployRequest);
+        assertThat(apisix.count(ApisixAdminClient.ROUTES)).isEqualTo(3);
+    }
+
+    @Test
+    void deployToAnUnavailableGatewayFailsWithTheGatewaysUnavailability() {
+        DeployRequest deployRequest = new DeployRequest();
+        deployRequest.setEnvironmentId(upstreams.get(0).getEnvironmentId());
+        String revisionId = revisionService.createRevision(apiId, revisionRequest(3)).getId();
+        gateways.get(0).close();
+
+        // Each failed deploy is one refused service write; five of them open the circuit
+        for (int i = 0; i < 5; i++) {
+            assertThatThrownBy(() -> revisionService.deployRevision(revisionId, deployRequest))
+                    .isInstanceOf(BusinessException.class);
+        }
+        assertThatThrownBy(() -> revisionService.deployRevision(revisionId, deployRequest))
+                .isInstanceOf(ApisixUnavailableException.class);
+    }
+
+    @ParameterizedTest
+    @EnumSource(DeployMode.class)
+    void environmentsWhosePushFailedAreRolledBack(DeployMode mode) {
+        DeployManyRequest deployRequest = new DeployManyRequest();
+        deployRequest.setEnvironmentIds(upstreams.stream().map(EnvironmentUpstreamMapping::getEnvironmentId).toList());
+        deployRequest.setMode(mode);
+        deployRequest.setForce(true);
+        String deployed = revisionService.createRevision(apiId, revisionRequest(3)).getId();
+        revisionService.deployRevisionToEnvironments(deployed, deployRequest);
+
+        CreateServiceRevisionRequest replacementRequest = revisionRequest(4);
+        replacementRequest.getRouteSpecifications().forEach(route -> route.setUri(route.getUri().replace("/v1/", "/v2/")));
+        String replacement = revisionService.createRevision(apiId, replacementRequest).getId();
+
+        // Every environment undeploys the previous revision and writes three routes before the fourth is rejected
+        gateways.forEach(gateway ->
+                gateway.rejectWrites(ApisixAdminClient.ROUTES, route -> "/v2/orders/3".equals(route.get("uri"))));
+        DeployManyResponse response = revisionService.deployRevisionToEnvironments(replacement, deployRequest);
+
+        assertThat(response.getEnvironments()).extracting(EnvironmentDeployOutcome::getStatus)
+                .containsOnly(EnvironmentDeployStatus.ROLLED_BACK);
+        assertThat(revisionService.getRevisionById(deployed).getDeployments()).hasSize(2);
+        assertThat(gateways).allSatisfy(gateway -> assertThat(gateway.list(ApisixAdminClient.ROUTES))
+                .extracting(route -> route.get("uri"))
+                .containsExactly("/v1/orders/0", "/v1/orders/1", "/v1/orders/2"));
+    }
+
+    private CreateServiceRevisionRequest revisionRequest(int routes) {
+        List<RouteSpec> routeSpecs = new ArrayList<>();
+        for (int i = 0; i < routes; i++) {
+            routeSpecs.add(RouteSpec.builder()
+                    .name("route-" + i)
+                    .uri("/v1/orders/" + i)
+                    .methods(List.of("GET"))
+                    .build());
+        }
+        CreateServiceRevisionRequest request = new CreateServiceRevisionRequest();
+        request.setEnvironmentUpstreams(upstreams);
+        request.setServiceSpecification(ServiceSpec.builder().name("orders").build());
+        request.setRouteSpecifications(routeSpecs);
+        return request;
+    }
+
+    private void addEnvironment(String orgId, String name) {
+        CreateEnvironmentRequest environmentRequest = new CreateEnvironmentRequest();
+        environmentRequest.setName(name);
+        FakeApisixAdmin gateway = new FakeApisixAdmin();
+        gateways.add(gateway);
+        environmentRequest.setApisixAdminUrl(gateway.url());
+        Environment environment = environmentService.createEnvironment(orgId, environmentRequest);
+
+        CreateUpstreamRequest upstreamRequest = new CreateUpstreamRequest();
+        upstreamRequest.setName("orders");
+        upstreamRequest.setSpecification(UpstreamSpec.builder()
+                .type("roundrobin")
+                .nodes(List.of(Map.of("host", "10.0.0.10", "port", 8080, "weight", 100)))
+                .build());
+        upstreams.add(new EnvironmentUpstreamMapping(environment.getId(),
+                upstreamService.createUpstream(environment.getId(), upstreamRequest).getId()));
+    }
+
+    private UpdateUpstreamBindingsRequest bindings(List<EnvironmentUpstreamMapping> mappings) {
+        UpdateUpstreamBindingsRequest request = new UpdateUpstreamBindingsRequest();
+        request.setEnvironmentUpstreams(mappings);
+        return request;
+    }
+
+    private PageRequest page(int size) {
+        return PageRequest.of(0, size, Sort.by("revisionNumber"));
+    }
+
+    private long countStatements(Supplier<?> work) {
+        statistics().clear();
+        work.get();
+        return statistics().getPrepareStatementCount();
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+}
@@ -0,0 +1,79 @@
+package com.apisix.controlplane.service;
+
+import com.apisix.controlplane.apisix.model.RouteSpec;
+import com.apisix.controlplane.apisix.model.ServiceSpec;
+import com.apisix.controlplane.dto.CreateApiRequest;
+import com.apisix.controlplane.dto.CreateOrgRequest;
+import com.apisix.controlplane.dto.ServiceRevisionResponse;
+import com.apisix.controlplane.entity.Api;
+import com.apisix.controlplane.entity.RevisionRoute;
+import com.apisix.controlplane.entity.ServiceRevision;
+import com.apisix.controlplane.repository.RevisionRouteRepository;
+import com.apisix.controlplane.repository.ServiceRevisionRepository;
+import com.apisix.controlplane.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SpecStorageMigrationTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private OrganizationService organizationService;
+
+    @Autowired
+    private ApiService apiService;
+
+    @Autowired
+    private ServiceRevisionService revisionService;
+
+    @Autowired
+    private ServiceRevisionRepository revisionRepository;
+
+    @Autowired
+    private RevisionRouteRepository routeRepository;
+
+    @Autowired
+    private SpecStorageMigration migration;
+
+    @Test
+    void inlineSpecsMoveToSharedRouteRowsAndServiceSpec() {
+        CreateOrgRequest orgRequest = new CreateOrgRequest();
+        orgRequest.setName("org-" + UUID.randomUUID());
+        CreateApiRequest apiRequest = new CreateApiRequest();
+        apiRequest.setName("orders");
+        Api api = apiService.createApi(organizationService.createOrganization(orgRequest).getId(), apiRequest);
+
+        // Revisions as the original schema stored them, with both specs inline on the revision row
+        List<RouteSpec> routeSpecs = List.of(
+                RouteSpec.builder().name("list-orders").uri("/v1/orders").methods(List.of("GET")).build(),
+                RouteSpec.builder().name("create-order").uri("/v1/orders").methods(List.of("POST")).build());
+        List<String> revisionIds = List.of(1, 2).stream()
+                .map(number -> revisionRepository.save(ServiceRevision.builder()
+                        .orgId(api.getOrgId())
+                        .apiId(api.getId())
+                        .revisionNumber(number)
+                        .legacyServiceSpecification(ServiceSpec.builder().name("orders").build())
+                        .legacyRouteSpecifications(routeSpecs)
+                        .build()).getId())
+                .toList();
+
+        migration.run(null);
+
+        assertThat(revisionRepository.findIdsWithLegacySpecs()).isEmpty();
+        for (String revisionId : revisionIds) {
+            ServiceRevisionResponse revision = revisionService.getRevisionById(revisionId);
+            assertThat(revision.getServiceSpecification().getName()).isEqualTo("orders");
+            assertThat(revision.getRouteSpecifications()).extracting(RouteSpec::getName)
+                    .containsExactly("list-orders", "create-order");
+        }
+        // Both revisions reference the same stored specs
+        assertThat(routeRepository.findByRevisionIdOrderByRouteIndexAsc(revisionIds.get(0)))
+                .extracting(RevisionRoute::getContentHash)
+                .containsExactlyElementsOf(routeRepository.findByRevisionIdOrderByRouteIndexAsc(revisionIds.get(1))
+                        .stream().map(RevisionRoute::getContentHash).toList());
+    }
+}
@@ -0,0 +1,212 @@
+package com.apisix.controlplane.support;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Predicate;
+
+/**
+ * In-memory stand-in for the APISIX Admin API on a local port.
+ * <p>
+ * Resources are stored the way APISIX stores them: with {@code id} and timestamps stamped on, schema
+ * defaults filled in (route priority, upstream scheme, pass_host and hash_on, node priority, limit-count
+ * options) and integral numbers returned without a fraction.
+ */
+public class FakeApisixAdmin implements AutoCloseable {
+
+    private static final String PREFIX = "/apisix/admin/";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, Map<String, Map<String, Object>>> resources = new ConcurrentHashMap<>();
+    private final Map<String, Predicate<Map<String, Object>>> rejectedWrites = new ConcurrentHashMap<>();
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    public FakeApisixAdmin() {
+        try {
+            server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        server.createContext(PREFIX, this::handle);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    public String url() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    /**
+     * The stored resource, or null. Changes to the returned map are seen by later reads, like an edit on the gateway.
+     */
+    public Map<String, Object> get(String resourceType, String id) {
+        return resources.getOrDefault(resourceType, Map.of()).get(id);
+    }
+
+    public int count(String resourceType) {
+        return list(resourceType).size();
+    }
+
+    /**
+     * Every stored resource of a type, in ID order.
+     */
+    public List<Map<String, Object>> list(String resourceType) {
+        Map<String, Map<String, Object>> stored = resources.getOrDefault(resourceType, Map.of());
+        synchronized (stored) {
+            return List.copyOf(stored.values());
+        }
+    }
+
+    /**
+     * Answer PUTs of a resource type with 400, as APISIX does for a payload that fails its schema.
+     */
+    public void rejectWrites(String resourceType) {
+        rejectWrites(resourceType, body -> true);
+    }
+
+    /**
+     * Answer PUTs of a resource type whose body matches with 400.
+     */
+    public void rejectWrites(String resourceType, Predicate<Map<String, Object>> body) {
+        rejectedWrites.put(resourceType, body);
+    }
+
+    public void acceptWrites() {
+        rejectedWrites.clear();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String[] path = exchange.getRequestURI().getPath().substring(PREFIX.length()).split("/");
+            String resourceType = path[0];
+            Map<String, Map<String, Object>> stored = resources.computeIfAbsent(resourceType, t -> new TreeMap<>());
+            switch (exchange.getRequestMethod()) {
+                case "PUT" -> {
+                    Map<String, Object> body = readBody(exchange);
+                    if (rejectedWrites.getOrDefault(resourceType, b -> false).test(body)) {
+                        respond(exchange, 400, Map.of("error_msg", "rejected by test"));
+                        return;
+                    }
+                    Map<String, Object> value = store(resourceType, path[1], body);
+                    synchronized (stored) {
+                        stored.put(path[1], value);
+                    }
+                    respond(exchange, 200, Map.of("key", PREFIX + resourceType + "/" + path[1], "value", value));
+                }
+                case "DELETE" -> {
+                    synchronized (stored) {
+                        stored.remove(path[1]);
+                    }
+                    respond(exchange, 200, Map.of("deleted", "1"));
+                }
+                case "GET" -> respond(exchange, 200, list(stored, exchange.getRequestURI()));
+                default -> respond(exchange, 405, Map.of("error_msg", "method not allowed"));
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> readBody(HttpExchange exchange) throws IOException {
+        return objectMapper.readValue(exchange.getRequestBody(), LinkedHashMap.class);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> store(String resourceType, String id, Map<String, Object> body) {
+        Map<String, Object> value = (Map<String, Object>) withoutFractions(body);
+        if (!"consumers".equals(resourceType)) {
+            value.put("id", id);
+        }
+        switch (resourceType) {
+            case "routes" -> value.putIfAbsent("priority", 0);
+            case "upstreams" -> {
+                value.putIfAbsent("scheme", "http");
+                value.putIfAbsent("pass_host", "pass");
+                value.putIfAbsent("hash_on", "vars");
+                if (value.get("nodes") instanceof List<?> nodes) {
+                    nodes.forEach(node -> ((Map<String, Object>) node).putIfAbsent("priority", 0));
+                }
+            }
+            default -> {
+            }
+        }
+        if (value.get("plugins") instanceof Map<?, ?> plugins && plugins.get("limit-count") instanceof Map<?, ?> limitCount) {
+            Map<String, Object> config = (Map<String, Object>) limitCount;
+            config.putIfAbsent("policy", "local");
+            config.putIfAbsent("key_type", "var");
+            config.putIfAbsent("key", "remote_addr");
+            config.putIfAbsent("rejected_code", 503);
+            config.putIfAbsent("allow_degradation", false);
+            config.putIfAbsent("show_limit_quota_header", true);
+        }
+        long now = System.currentTimeMillis() / 1000;
+        value.putIfAbsent("create_time", now);
+        value.put("update_time", now);
+        return value;
+    }
+
+    private Map<String, Object> list(Map<String, Map<String, Object>> stored, URI uri) {
+        Map<String, String> query = new LinkedHashMap<>();
+        if (uri.getQuery() != null) {
+            for (String param : uri.getQuery().split("&")) {
+                String[] pair = param.split("=", 2);
+                query.put(pair[0], pair.length > 1 ? pair[1] : "");
+            }
+        }
+        int page = Integer.parseInt(query.getOrDefault("page", "1"));
+        int pageSize = Integer.parseInt(query.getOrDefault("page_size", "10"));
+
+        List<Map<String, Object>> items = new ArrayList<>();
+        int total;
+        synchronized (stored) {
+            total = stored.size();
+            stored.entrySet().stream()
+                    .skip((long) (page - 1) * pageSize)
+                    .limit(pageSize)
+                    .forEach(entry -> items.add(Map.of("key", entry.getKey(), "value", entry.getValue())));
+        }
+        // APISIX encodes an empty list as an empty object
+        return Map.of("total", total, "list", items.isEmpty() ? Map.of() : items);
+    }
+
+    private Object withoutFractions(Object value) {
+        if (value instanceof Map<?, ?> map) {
+            Map<String, Object> copy = new LinkedHashMap<>();
+            map.forEach((key, item) -> copy.put((String) key, withoutFractions(item)));
+            return copy;
+        }
+        if (value instanceof List<?> list) {
+            return new ArrayList<>(list.stream().map(this::withoutFractions).toList());
+        }
+        if (value instanceof Double number && number == Math.rint(number) && !number.isInfinite()) {
+            return number.longValue();
+        }
+        return value;
+    }
+
+    private void respond(HttpExchange exchange, int status, Object body) throws IOException {
+        byte[] bytes = objectMapper.writeValueAsBytes(body);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+    }
+}
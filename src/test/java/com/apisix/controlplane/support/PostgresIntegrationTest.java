@@ -0,0 +1,43 @@
+package com.apisix.controlplane.support;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Base class for tests that run the whole application against a real PostgreSQL.
+ * <p>
+ * The database is embedded (no Docker needed), started once per test JVM and shared by every test class;
+ * the schema is created by Hibernate, as in development. Tests create their own organizations, so they
+ * do not need to clean up after each other.
+ */
+@SpringBootTest
+public abstract class PostgresIntegrationTest {
+
+    private static final EmbeddedPostgres POSTGRES = start();
+
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> POSTGRES.getJdbcUrl("postgres", "postgres") + "&reWriteBatchedInserts=true");
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "create");
+        // The local fake gateway needs no pacing
+        registry.add("apisix.reconcile.requests-per-second", () -> "0");
+        // Statement counts are read from Hibernate statistics; keep the job heartbeat out of them
+        registry.add("spring.jpa.properties.hibernate.generate_statistics", () -> "true");
+        registry.add("apisix.deploy.async.heartbeat-interval", () -> "3600000");
+    }
+
+    private static EmbeddedPostgres start() {
+        try {
+            return EmbeddedPostgres.builder().start();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to start embedded PostgreSQL", e);
+        }
+    }
+}